@@ -8,16 +8,20 @@ import com.example.pashuRakshak.entity.UserRole;
 import com.example.pashuRakshak.repository.AnimalReportRepository;
 import com.example.pashuRakshak.repository.NgoRepository;
 import com.example.pashuRakshak.repository.UserRepository;
+import com.example.pashuRakshak.service.TrackingIdGenerator;
+import com.example.pashuRakshak.util.GeoHash;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.UUID;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
@@ -34,6 +38,14 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TrackingIdGenerator trackingIdGenerator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static final int GEO_CELL_BACKFILL_BATCH = 500;
+
     @Override
     public void run(String... args) throws Exception {
         // Initialize with some sample NGOs if database is empty
@@ -50,6 +62,32 @@ public class DataInitializer implements CommandLineRunner {
         if (reportRepository.count() == 0) {
             createSampleReports();
         }
+
+        // Reports saved before the geo_cell column existed are invisible to nearby search
+        backfillReportGeoCells();
+    }
+
+    private void backfillReportGeoCells() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int backfilled = 0;
+        int batch;
+        do {
+            // One transaction per batch; updated rows no longer match, so always page 0
+            batch = transactionTemplate.execute(status -> {
+                List<AnimalReport> reports = reportRepository.findMissingGeoCells(
+                        PageRequest.of(0, GEO_CELL_BACKFILL_BATCH));
+                for (AnimalReport report : reports) {
+                    report.setGeoCell(GeoHash.encode(report.getLatitude(), report.getLongitude(),
+                            AnimalReport.GEO_CELL_PRECISION));
+                }
+                return reports.size();
+            });
+            backfilled += batch;
+        } while (batch == GEO_CELL_BACKFILL_BATCH);
+
+        if (backfilled > 0) {
+            System.out.println("Backfilled geo cells for " + backfilled + " reports");
+        }
     }
 
     private void createSampleNgos() {
@@ -95,9 +133,8 @@ public class DataInitializer implements CommandLineRunner {
         ngo3.setCreatedAt(LocalDateTime.now());
         ngo3.setUpdatedAt(LocalDateTime.now());
 
-        Ngo savedNgo1 = ngoRepository.save(ngo1);
-        ngoRepository.save(ngo2);
-        ngoRepository.save(ngo3);
+        // One saveAll (one transaction) per entity type, so the inserts go out as JDBC batches
+        Ngo savedNgo1 = ngoRepository.saveAll(List.of(ngo1, ngo2, ngo3)).get(0);
 
         System.out.println("Sample NGOs initialized successfully!");
 
@@ -145,9 +182,7 @@ public class DataInitializer implements CommandLineRunner {
         userRoles.add(UserRole.USER);
         regularUser.setRoles(userRoles);
 
-        userRepository.save(admin);
-        userRepository.save(ngoUser);
-        userRepository.save(regularUser);
+        userRepository.saveAll(List.of(admin, ngoUser, regularUser));
 
         System.out.println("Sample users initialized successfully!");
         System.out.println("Test credentials:");
@@ -159,7 +194,7 @@ public class DataInitializer implements CommandLineRunner {
     private void createSampleReports() {
         // Sample Report 1 - Injured Dog
         AnimalReport report1 = new AnimalReport();
-        report1.setTrackingId("PR-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        report1.setTrackingId(trackingIdGenerator.nextTrackingId());
         report1.setAnimalType("Dog");
         report1.setCondition("Critical");
         report1.setInjuryDescription("Injured leg, unable to walk");
@@ -177,7 +212,7 @@ public class DataInitializer implements CommandLineRunner {
 
         // Sample Report 2 - Cat stuck on tree
         AnimalReport report2 = new AnimalReport();
-        report2.setTrackingId("PR-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        report2.setTrackingId(trackingIdGenerator.nextTrackingId());
         report2.setAnimalType("Cat");
         report2.setCondition("Stressed");
         report2.setInjuryDescription("Stuck on a high tree branch, meowing constantly");
@@ -197,7 +232,7 @@ public class DataInitializer implements CommandLineRunner {
 
         // Sample Report 3 - Cow with wound
         AnimalReport report3 = new AnimalReport();
-        report3.setTrackingId("PR-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        report3.setTrackingId(trackingIdGenerator.nextTrackingId());
         report3.setAnimalType("Cow");
         report3.setCondition("Moderate");
         report3.setInjuryDescription("Open wound on left side, possibly from an accident");
@@ -213,9 +248,7 @@ public class DataInitializer implements CommandLineRunner {
         report3.setCreatedAt(LocalDateTime.now().minusDays(5));
         report3.setUpdatedAt(LocalDateTime.now().minusDays(3));
 
-        reportRepository.save(report1);
-        reportRepository.save(report2);
-        reportRepository.save(report3);
+        reportRepository.saveAll(List.of(report1, report2, report3));
 
         System.out.println("Sample animal reports initialized successfully!");
     }
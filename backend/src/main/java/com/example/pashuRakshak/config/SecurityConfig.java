@@ -1,6 +1,7 @@
 package com.example.pashuRakshak.config;
 
 import com.example.pashuRakshak.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -73,11 +74,17 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
+                        // Completes a streamed (StreamingResponseBody) response; the request
+                        // itself was authorised when it came in, and the JWT filter does not rerun
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api").permitAll()
                         .requestMatchers("/api/health").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/upload/**").permitAll()
                         .requestMatchers("/api/reports/**").permitAll()
+                        // STOMP/SockJS handshake; browsers cannot attach the JWT header here,
+                        // so it is checked on the STOMP CONNECT frame instead (StompAuthChannelInterceptor)
+                        .requestMatchers("/ws/**").permitAll()
                         // Allow public GET for NGO listing and creation POST, but protect admin
                         // endpoints
                         .requestMatchers(HttpMethod.GET, "/api/ngos", "/api/ngos/*", "/api/ngos/nearby",
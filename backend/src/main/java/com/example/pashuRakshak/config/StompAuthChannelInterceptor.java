@@ -0,0 +1,132 @@
+package com.example.pashuRakshak.config;
+
+import com.example.pashuRakshak.entity.AnimalReport;
+import com.example.pashuRakshak.entity.UserRole;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.service.AvailableReportsFeed;
+import com.example.pashuRakshak.service.UserDetailsServiceImpl;
+import com.example.pashuRakshak.service.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Authenticates and authorises STOMP traffic on /ws. The SockJS handshake itself
+ * is open (browsers cannot attach headers to it), so the JWT travels in the
+ * CONNECT frame's Authorization header instead; the user it names becomes the
+ * session's Principal. SUBSCRIBE is then checked against that user's role and
+ * NGO, and clients may only SEND to application (/app) destinations, never
+ * straight to a broker topic.
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    // /topic/ngos/{ngoId}/offers and /topic/ngos/{ngoId}/escalations
+    private static final Pattern NGO_TOPIC = Pattern.compile("/topic/ngos/(\\d{1,18})/(offers|escalations)");
+    // Live worker positions for one case (LocationController)
+    private static final Pattern CASE_TOPIC = Pattern.compile("/topic/case/([^/]+)");
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor));
+            case SUBSCRIBE -> {
+                String destination = accessor.getDestination();
+                if (destination == null || !maySubscribe(requireUser(accessor), destination)) {
+                    throw new AccessDeniedException("Not allowed to subscribe to " + destination);
+                }
+            }
+            case SEND -> {
+                requireUser(accessor);
+                String destination = accessor.getDestination();
+                if (destination == null || !destination.startsWith("/app/")) {
+                    throw new AccessDeniedException("Clients may only send to /app destinations");
+                }
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (!StringUtils.hasText(header) || !header.startsWith("Bearer ")) {
+            throw new BadCredentialsException("STOMP CONNECT needs an Authorization: Bearer <token> header");
+        }
+        String jwt = header.substring(7);
+        if (!jwtUtils.validateJwtToken(jwt)) {
+            throw new BadCredentialsException("Invalid or expired token");
+        }
+        UserPrincipal user = (UserPrincipal) userDetailsService.loadUserByUsername(jwtUtils.getUserNameFromJwtToken(jwt));
+        if (!user.isEnabled()) {
+            throw new BadCredentialsException("Account is not enabled");
+        }
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    /**
+     * The session's user, as set on CONNECT
+     */
+    private static UserPrincipal requireUser(StompHeaderAccessor accessor) {
+        Principal principal = accessor.getUser();
+        if (principal instanceof UsernamePasswordAuthenticationToken authentication
+                && authentication.getPrincipal() instanceof UserPrincipal user) {
+            return user;
+        }
+        throw new AccessDeniedException("Not authenticated");
+    }
+
+    private boolean maySubscribe(UserPrincipal user, String destination) {
+        if (user.hasRole(UserRole.ADMIN)) {
+            return true;
+        }
+        if (AvailableReportsFeed.TOPIC.equals(destination)) {
+            return user.hasRole(UserRole.NGO);
+        }
+        Matcher ngoTopic = NGO_TOPIC.matcher(destination);
+        if (ngoTopic.matches()) {
+            return user.hasRole(UserRole.NGO) && Long.valueOf(ngoTopic.group(1)).equals(user.getNgoId());
+        }
+        Matcher caseTopic = CASE_TOPIC.matcher(destination);
+        if (caseTopic.matches()) {
+            // The NGO holding the case and its workers
+            return user.getNgoId() != null
+                    && (user.hasRole(UserRole.NGO) || user.hasRole(UserRole.NGO_WORKER))
+                    && user.getNgoId().equals(assignedNgoId(caseTopic.group(1)));
+        }
+        // ReportEscalationService.ESCALATIONS_TOPIC and anything else: admins only
+        return false;
+    }
+
+    private Long assignedNgoId(String trackingId) {
+        return reportRepository.findByTrackingId(trackingId)
+                .map(AnimalReport::getAssignedNgoId)
+                .orElse(null);
+    }
+}
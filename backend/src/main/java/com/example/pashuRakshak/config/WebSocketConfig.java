@@ -1,6 +1,8 @@
 package com.example.pashuRakshak.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -10,6 +12,9 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple memory-based message broker to carry messages back to the
@@ -19,6 +24,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // Designate the prefix for messages that are bound for methods annotated with
         // @MessageMapping
         config.setApplicationDestinationPrefixes("/app");
+
+        // Deliver to each client in publish order; the available-reports delta
+        // feed relies on sequence numbers arriving in order
+        config.setPreservePublishOrder(true);
     }
 
     @Override
@@ -34,4 +43,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                                                                                                               // here
                 .withSockJS();
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // JWT on CONNECT, role/NGO checks on SUBSCRIBE and SEND
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
 }
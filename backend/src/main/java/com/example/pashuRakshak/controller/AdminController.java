@@ -2,21 +2,31 @@ package com.example.pashuRakshak.controller;
 
 import com.example.pashuRakshak.dto.DashboardStatsResponse;
 import com.example.pashuRakshak.dto.NgoStatsResponse;
-import com.example.pashuRakshak.dto.ReportResponse;
 import com.example.pashuRakshak.dto.UserStatsResponse;
 import com.example.pashuRakshak.service.AdminService;
 import com.example.pashuRakshak.service.AnimalReportService;
 import com.example.pashuRakshak.service.ExportService;
 import com.example.pashuRakshak.service.NgoService;
+import com.example.pashuRakshak.service.ReportArchiveService;
+import com.example.pashuRakshak.service.ReportEscalationService;
+import com.example.pashuRakshak.service.ReportIntakeQueue;
+import com.example.pashuRakshak.service.ReportStatusHistoryService;
+import com.example.pashuRakshak.service.ReportStreamService;
+import com.example.pashuRakshak.service.TrackingLookupCache;
+import com.example.pashuRakshak.util.ReportCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +48,27 @@ public class AdminController {
     @Autowired
     private ExportService exportService;
 
+    @Autowired
+    private TrackingLookupCache trackingLookupCache;
+
+    @Autowired
+    private ReportStatusHistoryService statusHistoryService;
+
+    @Autowired
+    private ReportArchiveService reportArchiveService;
+
+    @Autowired
+    private ReportIntakeQueue reportIntakeQueue;
+
+    @Autowired
+    private ReportEscalationService reportEscalationService;
+
+    @Autowired
+    private ReportStreamService reportStreamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // ==================== DASHBOARD STATISTICS ====================
 
     /**
@@ -67,6 +98,38 @@ public class AdminController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Hit/miss counters for the public tracking lookup cache
+     */
+    @GetMapping("/cache/tracking")
+    public ResponseEntity<Map<String, Object>> getTrackingCacheStats() {
+        return ResponseEntity.ok(trackingLookupCache.stats());
+    }
+
+    /**
+     * Async report intake: queue depth, throughput and lag
+     */
+    @GetMapping("/intake/stats")
+    public ResponseEntity<Map<String, Object>> getIntakeStats() {
+        return ResponseEntity.ok(reportIntakeQueue.stats());
+    }
+
+    /**
+     * Escalation timers: pending deadlines and escalations so far
+     */
+    @GetMapping("/escalations/stats")
+    public ResponseEntity<Map<String, Object>> getEscalationStats() {
+        return ResponseEntity.ok(reportEscalationService.stats());
+    }
+
+    /**
+     * Run the resolved-report archival now instead of waiting for the schedule
+     */
+    @PostMapping("/archive/run")
+    public ResponseEntity<Map<String, Object>> runArchive() {
+        return ResponseEntity.ok(Map.of("archived", reportArchiveService.archiveResolvedReports()));
+    }
+
     // ==================== NGO REPRESENTATIVE MANAGEMENT ====================
 
     /**
@@ -109,87 +172,183 @@ public class AdminController {
     // ==================== REPORTS MANAGEMENT ====================
 
     /**
-     * Get all reports (admin only - bypasses user filtering)
+     * Get all reports (admin only - bypasses user filtering), one keyset page.
+     * Without cursor and limit the full list is streamed (streamAllReports).
      */
     @GetMapping("/reports")
-    public ResponseEntity<List<ReportResponse>> getAllReports() {
-        List<ReportResponse> reports = animalReportService.getAllReports();
-        return ResponseEntity.ok(reports);
+    public ResponseEntity<?> getAllReports(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(animalReportService.getAllReports(cursor, ReportCursor.clampLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+        }
     }
 
     /**
-     * Get reports by status
+     * Get all reports, streamed from a database cursor as it is read
+     */
+    @GetMapping(value = "/reports", params = { "!cursor", "!limit" })
+    public ResponseEntity<StreamingResponseBody> streamAllReports() {
+        return streamReports(null);
+    }
+
+    /**
+     * Get reports by status, one keyset page.
+     * Without cursor and limit the full list is streamed (streamReportsByStatus).
      */
     @GetMapping("/reports/status/{status}")
-    public ResponseEntity<?> getReportsByStatus(@PathVariable String status) {
+    public ResponseEntity<?> getReportsByStatus(@PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        com.example.pashuRakshak.entity.ReportStatus reportStatus = parseStatus(status);
+        if (reportStatus == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid status: " + status));
+        }
         try {
-            com.example.pashuRakshak.entity.ReportStatus reportStatus = com.example.pashuRakshak.entity.ReportStatus
-                    .valueOf(status.toUpperCase());
-            List<ReportResponse> reports = adminService.getReportsByStatus(reportStatus);
-            return ResponseEntity.ok(reports);
+            return ResponseEntity.ok(
+                    adminService.getReportsByStatus(reportStatus, cursor, ReportCursor.clampLimit(limit)));
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Invalid status: " + status));
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+        }
+    }
+
+    /**
+     * Get reports by status, streamed as for all reports
+     */
+    @GetMapping(value = "/reports/status/{status}", params = { "!cursor", "!limit" })
+    public ResponseEntity<StreamingResponseBody> streamReportsByStatus(@PathVariable String status) {
+        com.example.pashuRakshak.entity.ReportStatus reportStatus = parseStatus(status);
+        if (reportStatus == null) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, Map.of("error", "Invalid status: " + status)));
+        }
+        return streamReports(reportStatus);
+    }
+
+    private static com.example.pashuRakshak.entity.ReportStatus parseStatus(String status) {
+        try {
+            return com.example.pashuRakshak.entity.ReportStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Same JSON array as the list, written chunk by chunk with nothing held in
+    // memory, off the request thread. A failure part way through reaches the
+    // container after the response is committed, which aborts the connection,
+    // so a client never takes a cut-off list for a complete one.
+    private ResponseEntity<StreamingResponseBody> streamReports(com.example.pashuRakshak.entity.ReportStatus status) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> reportStreamService.writeJsonArray(status, out));
+    }
+
+    /**
+     * Search reports by words in their description, notes, address or animal
+     * type, best match first. The last word also matches as a prefix. Optional
+     * filters: one or more statuses (comma-separated) and a creation time range.
+     */
+    @GetMapping("/reports/search")
+    public ResponseEntity<?> searchReports(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        List<com.example.pashuRakshak.entity.ReportStatus> statuses = null;
+        if (status != null && !status.isEmpty()) {
+            statuses = new ArrayList<>();
+            for (String s : status) {
+                try {
+                    statuses.add(com.example.pashuRakshak.entity.ReportStatus.valueOf(s.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid status: " + s));
+                }
+            }
+        }
+        if (page < 0) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid page: " + page));
+        }
+        try {
+            return ResponseEntity.ok(adminService.searchReports(q, statuses, from, to, page,
+                    ReportCursor.clampLimit(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Report status changes in a time range, newest first, for analytics such as
+     * time-to-accept. Optionally only changes into one status. Always paged.
+     */
+    @GetMapping("/reports/transitions")
+    public ResponseEntity<?> getStatusTransitions(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        com.example.pashuRakshak.entity.ReportStatus reportStatus = null;
+        if (status != null) {
+            try {
+                reportStatus = com.example.pashuRakshak.entity.ReportStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid status: " + status));
+            }
+        }
+        try {
+            return ResponseEntity.ok(statusHistoryService.getTransitions(from, to != null ? to : LocalDateTime.now(),
+                    reportStatus, cursor, ReportCursor.clampLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
     // ==================== EXPORT ENDPOINTS ====================
 
     /**
-     * Export all reports to CSV
+     * Export all reports to CSV, streamed as rows are read
      */
     @GetMapping("/export/reports")
-    public ResponseEntity<byte[]> exportReports() {
-        byte[] csvData = exportService.exportReportsToCsv();
-        String filename = "reports_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"))
-                + ".csv";
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .body(csvData);
+    public ResponseEntity<StreamingResponseBody> exportReports() {
+        return csvDownload("reports_", exportService::exportReportsToCsv);
     }
 
     /**
      * Export all users to CSV
      */
     @GetMapping("/export/users")
-    public ResponseEntity<byte[]> exportUsers() {
-        byte[] csvData = exportService.exportUsersToCsv();
-        String filename = "users_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"))
-                + ".csv";
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .body(csvData);
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return csvDownload("users_", exportService::exportUsersToCsv);
     }
 
     /**
      * Export all NGOs to CSV
      */
     @GetMapping("/export/ngos")
-    public ResponseEntity<byte[]> exportNgos() {
-        byte[] csvData = exportService.exportNgosToCsv();
-        String filename = "ngos_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".csv";
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .body(csvData);
+    public ResponseEntity<StreamingResponseBody> exportNgos() {
+        return csvDownload("ngos_", exportService::exportNgosToCsv);
     }
 
     /**
      * Export pending NGO representatives to CSV
      */
     @GetMapping("/export/ngo-representatives/pending")
-    public ResponseEntity<byte[]> exportPendingNgoRepresentatives() {
-        byte[] csvData = exportService.exportPendingNgoRepresentativesToCsv();
-        String filename = "pending_ngo_reps_"
-                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".csv";
+    public ResponseEntity<StreamingResponseBody> exportPendingNgoRepresentatives() {
+        return csvDownload("pending_ngo_reps_", exportService::exportPendingNgoRepresentativesToCsv);
+    }
 
+    // Written off the request thread like the streamed listings, so a failure
+    // part way aborts the download instead of ending it as if it were complete
+    private static ResponseEntity<StreamingResponseBody> csvDownload(String filenamePrefix, StreamingResponseBody csv) {
+        String filename = filenamePrefix
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".csv";
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                 .contentType(MediaType.parseMediaType("text/csv"))
-                .body(csvData);
+                .body(csv);
     }
 }
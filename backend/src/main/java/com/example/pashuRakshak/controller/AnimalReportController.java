@@ -1,15 +1,44 @@
 package com.example.pashuRakshak.controller;
 
+import com.example.pashuRakshak.dto.AvailableReportsSnapshot;
+import com.example.pashuRakshak.dto.BulkIngestResponse;
+import com.example.pashuRakshak.dto.CursorPage;
+import com.example.pashuRakshak.dto.NearbyWorker;
 import com.example.pashuRakshak.dto.ReportRequest;
 import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.dto.ReportStatusChangeResponse;
 import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.entity.UserRole;
 import com.example.pashuRakshak.service.AnimalReportService;
+import com.example.pashuRakshak.service.BulkReportIngestService;
+import com.example.pashuRakshak.service.IdempotentReportService;
+import com.example.pashuRakshak.service.IntakeQueueFullException;
+import com.example.pashuRakshak.service.NgoService;
+import com.example.pashuRakshak.service.ReportConflictException;
+import com.example.pashuRakshak.service.ReportEventStream;
+import com.example.pashuRakshak.service.ReportIntakeQueue;
+import com.example.pashuRakshak.service.ReportStatusHistoryService;
+import com.example.pashuRakshak.service.ResourceVersions;
+import com.example.pashuRakshak.service.UserPrincipal;
+import com.example.pashuRakshak.util.ReportCursor;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -18,29 +47,145 @@ import java.util.Optional;
 @RequestMapping("/api/reports")
 public class AnimalReportController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    // RFC 7240: "Prefer: respond-async" asks for the queued intake (202)
+    public static final String RESPOND_ASYNC = "respond-async";
+
     @Autowired
     private AnimalReportService reportService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private ReportEventStream reportEventStream;
+
+    @Autowired
+    private BulkReportIngestService bulkReportIngestService;
+
+    @Autowired
+    private IdempotentReportService idempotentReportService;
+
+    @Autowired
+    private ReportStatusHistoryService statusHistoryService;
+
+    @Autowired
+    private ReportIntakeQueue reportIntakeQueue;
+
+    @Autowired
+    private NgoService ngoService;
+
     @PostMapping
     public ResponseEntity<ReportResponse> createReport(@Valid @RequestBody ReportRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             java.security.Principal principal) {
         System.out.println("working--------------------------------------------------");
         if (principal != null) {
             request.setReporterEmail(principal.getName());
         }
+        if (idempotencyKey == null && prefer != null && prefer.contains(RESPOND_ASYNC)
+                && reportIntakeQueue.isEnabled()) {
+            // Surge mode: queued for a background writer; tracking works right away
+            ReportResponse queued = reportIntakeQueue.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/reports/track/" + queued.getTrackingId()))
+                    .header("Preference-Applied", RESPOND_ASYNC)
+                    .body(queued);
+        }
+        if (idempotencyKey != null) {
+            // A retry gets the report its first attempt created, not a second one
+            IdempotentReportService.Result result = idempotentReportService.createReport(idempotencyKey, request);
+            ResponseEntity.BodyBuilder created = ResponseEntity.status(HttpStatus.CREATED);
+            if (result.isReplayed()) {
+                created.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+            }
+            return created.body(result.getReport());
+        }
         ReportResponse response = reportService.createReport(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Bulk ingest for partner helplines: a JSON array or an NDJSON stream
+     * (application/x-ndjson) of reports. Returns one result per item, in input order.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, BulkReportIngestService.NDJSON })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkIngestResponse> bulkIngest(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        boolean ndjson = MediaType.parseMediaType(contentType).isCompatibleWith(
+                MediaType.parseMediaType(BulkReportIngestService.NDJSON));
+        return ResponseEntity.ok(bulkReportIngestService.ingest(body, ndjson));
+    }
+
     @GetMapping("/track/{trackingId}")
-    public ResponseEntity<ReportResponse> getReportByTrackingId(@PathVariable String trackingId) {
-        Optional<ReportResponse> report = reportService.getReportByTrackingId(trackingId);
-        return report.map(r -> ResponseEntity.ok(r))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<ReportResponse> getReportByTrackingId(@PathVariable String trackingId,
+            WebRequest webRequest) {
+        Optional<ReportResponse> report = findReport(trackingId);
+        if (report.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Served from the tracking cache, so a 304 here costs no query at all
+        String etag = reportTag(report.get());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(report.get().withoutReporterContact());
     }
 
+    /**
+     * Status history of a report, oldest first. Every write to a report adds an
+     * entry and bumps updatedAt, so the report's ETag versions this too.
+     */
+    @GetMapping("/track/{trackingId}/timeline")
+    public ResponseEntity<List<ReportStatusChangeResponse>> getReportTimeline(@PathVariable String trackingId,
+            WebRequest webRequest) {
+        Optional<ReportResponse> report = findReport(trackingId);
+        if (report.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = reportTag(report.get());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(statusHistoryService.getTimeline(trackingId));
+    }
+
+    /**
+     * Live updates for the tracking page as Server-Sent Events: the current report
+     * first, then one "report" event per status / NGO / worker change. Browsers
+     * resend Last-Event-ID on reconnect and get the events they missed. Like the
+     * tracking read, events carry no reporter contact details.
+     */
+    @GetMapping(value = "/track/{trackingId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamReportEvents(@PathVariable String trackingId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = reportEventStream.subscribe(trackingId, lastEventId,
+                () -> reportService.getReportByTrackingId(trackingId));
+        if (emitter == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    // List endpoints return a plain array unless a cursor or limit is given, in
+    // which case they return one keyset page (see CursorPage)
     @GetMapping
-    public ResponseEntity<List<ReportResponse>> getAllReports(java.security.Principal principal) {
+    public ResponseEntity<?> getAllReports(java.security.Principal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (isPaged(cursor, limit)) {
+            if (principal == null) {
+                return ResponseEntity.ok(new CursorPage<ReportResponse>(java.util.Collections.emptyList(), null));
+            }
+            return ResponseEntity.ok(
+                    reportService.getReportsForUser(principal.getName(), cursor, ReportCursor.clampLimit(limit)));
+        }
         if (principal != null) {
             return ResponseEntity.ok(reportService.getReportsForUser(principal.getName()));
         }
@@ -48,15 +193,53 @@ public class AnimalReportController {
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<ReportResponse>> getAvailableReports() {
+    public ResponseEntity<?> getAvailableReports(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (isPaged(cursor, limit)) {
+            return ResponseEntity.ok(reportService.getAvailableReports(cursor, ReportCursor.clampLimit(limit)));
+        }
         List<ReportResponse> reports = reportService.getAvailableReports();
         return ResponseEntity.ok(reports);
     }
 
+    /**
+     * Available reports plus the sequence number of the STOMP delta feed on
+     * /topic/reports/available they are current as of
+     */
+    @GetMapping("/available/snapshot")
+    public ResponseEntity<AvailableReportsSnapshot> getAvailableReportsSnapshot() {
+        return ResponseEntity.ok(reportService.getAvailableReportsSnapshot());
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<ReportResponse>> getNearbyReports(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "5") Double radiusKm) {
+        if (radiusKm <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<ReportResponse> reports = reportService.getNearbyReports(latitude, longitude, radiusKm);
+        return ResponseEntity.ok(reports);
+    }
+
     @GetMapping("/ngo/{ngoId}")
-    public ResponseEntity<List<ReportResponse>> getReportsByNgo(@PathVariable Long ngoId) {
+    public ResponseEntity<?> getReportsByNgo(@PathVariable Long ngoId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        // Tag is taken before the query, so a write racing the read only costs a refetch
+        String etag = resourceVersions.reportsTag("ngo" + ngoId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+        if (isPaged(cursor, limit)) {
+            return ok.body(reportService.getReportsByNgo(ngoId, cursor, ReportCursor.clampLimit(limit)));
+        }
         List<ReportResponse> reports = reportService.getReportsByNgo(ngoId);
-        return ResponseEntity.ok(reports);
+        return ok.body(reports);
     }
 
     @PostMapping("/{trackingId}/accept")
@@ -74,7 +257,9 @@ public class AnimalReportController {
 
             Optional<ReportResponse> report = reportService.acceptReportByTrackingId(trackingId, ngoId, ngoName);
             return report.map(r -> ResponseEntity.ok(r))
-                    .orElse(ResponseEntity.badRequest().build()); // Returns 400 if report not found or status invalid
+                    .orElse(ResponseEntity.badRequest().build()); // Returns 400 if report not found
+        } catch (ReportConflictException e) {
+            throw e; // 409, see handleConflict
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -94,6 +279,30 @@ public class AnimalReportController {
                 .orElse(ResponseEntity.badRequest().build());
     }
 
+    /**
+     * Workers of the NGO handling the report, nearest first by their last known
+     * position, to help pick one for assign. NGO users only see their own
+     * NGO's workers.
+     */
+    @GetMapping("/{trackingId}/nearest-workers")
+    @PreAuthorize("hasRole('NGO') or hasRole('ADMIN')")
+    public ResponseEntity<List<NearbyWorker>> getNearestWorkers(@PathVariable String trackingId,
+            @RequestParam(defaultValue = "5") int limit,
+            @AuthenticationPrincipal UserPrincipal user) {
+        Optional<ReportResponse> report = reportService.getReportByTrackingId(trackingId);
+        if (report.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (report.get().getAssignedNgoId() == null) {
+            throw new ReportConflictException("Report has not been accepted by an NGO yet");
+        }
+        if (!user.hasRole(UserRole.ADMIN) && !report.get().getAssignedNgoId().equals(user.getNgoId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(ngoService.findNearestWorkers(report.get().getAssignedNgoId(),
+                report.get().getLatitude(), report.get().getLongitude(), Math.max(1, Math.min(limit, 50))));
+    }
+
     @GetMapping("/worker/my-tasks")
     public ResponseEntity<List<ReportResponse>> getWorkerTasks(java.security.Principal principal) {
         // In a real app, we'd get the worker ID from the Principal/User details.
@@ -111,7 +320,13 @@ public class AnimalReportController {
     // Changing getWorkerTasks to accept query param for simplicity as per previous
     // patterns
     @GetMapping("/worker/{workerId}/tasks")
-    public ResponseEntity<List<ReportResponse>> getWorkerTasksById(@PathVariable Long workerId) {
+    public ResponseEntity<?> getWorkerTasksById(@PathVariable Long workerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (isPaged(cursor, limit)) {
+            return ResponseEntity.ok(
+                    reportService.getReportsAssignedToWorker(workerId, cursor, ReportCursor.clampLimit(limit)));
+        }
         List<ReportResponse> reports = reportService.getReportsAssignedToWorker(workerId);
         return ResponseEntity.ok(reports);
     }
@@ -130,4 +345,37 @@ public class AnimalReportController {
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    // Reports still in the async intake queue are found too
+    private Optional<ReportResponse> findReport(String trackingId) {
+        return reportIntakeQueue.findQueued(trackingId).or(() -> reportService.getReportByTrackingId(trackingId));
+    }
+
+    private static String reportTag(ReportResponse report) {
+        LocalDateTime updatedAt = report.getUpdatedAt();
+        String version = updatedAt == null ? "0"
+                : updatedAt.toEpochSecond(ZoneOffset.UTC) + "." + updatedAt.getNano();
+        return "\"r" + report.getId() + "-" + version + "\"";
+    }
+
+    private boolean isPaged(String cursor, Integer limit) {
+        return cursor != null || limit != null;
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    @ExceptionHandler(IntakeQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleIntakeFull(IntakeQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(ReportConflictException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(ReportConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+}
@@ -1,20 +1,64 @@
 package com.example.pashuRakshak.controller;
 
 import com.example.pashuRakshak.dto.LocationUpdate;
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.UserRole;
+import com.example.pashuRakshak.service.AnimalReportService;
+import com.example.pashuRakshak.service.UserPrincipal;
+import com.example.pashuRakshak.service.WorkerLocationStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
+import java.util.Optional;
+
 @Controller
 public class LocationController {
 
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private WorkerLocationStore workerLocationStore;
+
+    @Autowired
+    private AnimalReportService reportService;
+
+    /**
+     * A worker's position. The worker is the session's user (see
+     * StompAuthChannelInterceptor), whatever workerId the message carries, and
+     * only NGO workers may send these.
+     */
     @MessageMapping("/location.update")
-    public void sendLocationUpdate(@Payload LocationUpdate update) {
+    public void sendLocationUpdate(@Payload LocationUpdate update, Principal principal) {
+        if (!(principal instanceof UsernamePasswordAuthenticationToken authentication)
+                || !(authentication.getPrincipal() instanceof UserPrincipal user)
+                || !user.hasRole(UserRole.NGO_WORKER)) {
+            throw new AccessDeniedException("Only NGO workers send location updates");
+        }
+        update.setWorkerId(user.getId());
+
+        // Remember it for worker recommendations (see NgoService.findNearestWorkers)
+        if (update.getLatitude() != null && update.getLongitude() != null) {
+            workerLocationStore.update(user.getId(), update.getLatitude(), update.getLongitude());
+        }
+
+        // Idle workers send updates without a case; there is no one to broadcast those to
+        if (update.getTrackingId() == null) {
+            return;
+        }
+
+        // Only the worker assigned to a case may move its marker
+        Optional<ReportResponse> report = reportService.getReportByTrackingId(update.getTrackingId());
+        if (report.isEmpty() || !user.getId().equals(report.get().getAssignedWorkerId())) {
+            throw new AccessDeniedException("Not assigned to case " + update.getTrackingId());
+        }
+
         // Broadcast the update to subscribers of this specific case
         String destination = "/topic/case/" + update.getTrackingId();
         messagingTemplate.convertAndSend(destination, update);
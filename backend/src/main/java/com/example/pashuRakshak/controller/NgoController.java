@@ -3,12 +3,15 @@ package com.example.pashuRakshak.controller;
 import com.example.pashuRakshak.dto.NgoRequest;
 import com.example.pashuRakshak.entity.Ngo;
 import com.example.pashuRakshak.service.NgoService;
+import com.example.pashuRakshak.service.ResourceVersions;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
 import java.util.HashMap;
@@ -23,6 +26,9 @@ public class NgoController {
     @Autowired
     private NgoService ngoService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @PostMapping
     public ResponseEntity<Ngo> createNgo(@Valid @RequestBody NgoRequest request) {
         Ngo ngo = ngoService.createNgo(request);
@@ -30,9 +36,14 @@ public class NgoController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Ngo>> getAllActiveNgos() {
+    public ResponseEntity<List<Ngo>> getAllActiveNgos(WebRequest webRequest) {
+        // Version stamp is in memory, so a matching If-None-Match skips the query
+        String etag = resourceVersions.ngosTag("active");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         List<Ngo> ngos = ngoService.getAllActiveNgos();
-        return ResponseEntity.ok(ngos);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(ngos);
     }
 
     // Admin endpoints - require ADMIN role
@@ -163,9 +174,25 @@ public class NgoController {
     public ResponseEntity<List<Ngo>> getNearbyNgos(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam(defaultValue = "0.1") Double radius) {
+            @RequestParam(defaultValue = "10") Double radiusKm) {
+
+        if (radiusKm <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Ngo> ngos = ngoService.getNearbyNgos(latitude, longitude, radiusKm);
+        return ResponseEntity.ok(ngos);
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<List<Ngo>> getNearestNgos(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "5") Integer k) {
 
-        List<Ngo> ngos = ngoService.getNearbyNgos(latitude, longitude, radius);
+        if (k <= 0 || k > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Ngo> ngos = ngoService.getNearestNgos(latitude, longitude, k);
         return ResponseEntity.ok(ngos);
     }
 
@@ -0,0 +1,70 @@
+package com.example.pashuRakshak.dto;
+
+/**
+ * One change to the set of reports open for NGOs, as sent on
+ * /topic/reports/available. report is null for REMOVED.
+ */
+public class AvailableReportDelta {
+
+    public enum Type {
+        ADDED, UPDATED, REMOVED
+    }
+
+    private long sequence;
+    private Type type;
+    private Long reportId;
+    private String trackingId;
+    private ReportResponse report;
+
+    public AvailableReportDelta() {
+    }
+
+    public AvailableReportDelta(long sequence, Type type, Long reportId, String trackingId, ReportResponse report) {
+        this.sequence = sequence;
+        this.type = type;
+        this.reportId = reportId;
+        this.trackingId = trackingId;
+        this.report = report;
+    }
+
+    // Getters and Setters
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getReportId() {
+        return reportId;
+    }
+
+    public void setReportId(Long reportId) {
+        this.reportId = reportId;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public void setTrackingId(String trackingId) {
+        this.trackingId = trackingId;
+    }
+
+    public ReportResponse getReport() {
+        return report;
+    }
+
+    public void setReport(ReportResponse report) {
+        this.report = report;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.pashuRakshak.dto;
+
+import java.util.List;
+
+/**
+ * Open reports plus the feed sequence they are current as of. Clients apply
+ * deltas with a higher sequence on top.
+ */
+public class AvailableReportsSnapshot {
+    private long sequence;
+    private List<ReportResponse> reports;
+
+    public AvailableReportsSnapshot() {
+    }
+
+    public AvailableReportsSnapshot(long sequence, List<ReportResponse> reports) {
+        this.sequence = sequence;
+        this.reports = reports;
+    }
+
+    // Getters and Setters
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public List<ReportResponse> getReports() {
+        return reports;
+    }
+
+    public void setReports(List<ReportResponse> reports) {
+        this.reports = reports;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.pashuRakshak.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of one item of a bulk ingest, by its position in the input (0-based)
+ */
+public class BulkIngestItemResult {
+
+    public enum Status {
+        CREATED, INVALID, FAILED
+    }
+
+    private int index;
+    private Status status;
+    private String trackingId;
+    private List<String> errors;
+
+    public BulkIngestItemResult() {
+    }
+
+    public BulkIngestItemResult(int index, Status status, String trackingId, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.trackingId = trackingId;
+        this.errors = errors;
+    }
+
+    public static BulkIngestItemResult created(int index, String trackingId) {
+        return new BulkIngestItemResult(index, Status.CREATED, trackingId, null);
+    }
+
+    public static BulkIngestItemResult invalid(int index, List<String> errors) {
+        return new BulkIngestItemResult(index, Status.INVALID, null, errors);
+    }
+
+    public static BulkIngestItemResult failed(int index, String error) {
+        return new BulkIngestItemResult(index, Status.FAILED, null, List.of(error));
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public void setTrackingId(String trackingId) {
+        this.trackingId = trackingId;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.pashuRakshak.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkIngestResponse {
+    private int received;
+    private int created;
+    private int failed;
+    // True if input was cut off at the item limit; items past it were not read
+    private boolean truncated;
+    private List<BulkIngestItemResult> results = new ArrayList<>();
+
+    public BulkIngestResponse() {
+    }
+
+    public void add(BulkIngestItemResult result) {
+        results.add(result);
+        received++;
+        if (result.getStatus() == BulkIngestItemResult.Status.CREATED) {
+            created++;
+        } else {
+            failed++;
+        }
+    }
+
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<BulkIngestItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkIngestItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.pashuRakshak.dto;
+
+/**
+ * A new case offered to one NGO by the auto-dispatch, as sent on
+ * /topic/ngos/{ngoId}/offers. rank is 1 for the best-placed NGO; the case goes
+ * to whichever offered NGO accepts first.
+ */
+public class DispatchOffer {
+    private Long ngoId;
+    private int rank;
+    private double distanceKm;
+    private int openCases;
+    private ReportResponse report;
+
+    public DispatchOffer() {
+    }
+
+    public DispatchOffer(Long ngoId, int rank, double distanceKm, int openCases, ReportResponse report) {
+        this.ngoId = ngoId;
+        this.rank = rank;
+        this.distanceKm = distanceKm;
+        this.openCases = openCases;
+        this.report = report;
+    }
+
+    // Getters and Setters
+    public Long getNgoId() {
+        return ngoId;
+    }
+
+    public void setNgoId(Long ngoId) {
+        this.ngoId = ngoId;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public int getOpenCases() {
+        return openCases;
+    }
+
+    public void setOpenCases(int openCases) {
+        this.openCases = openCases;
+    }
+
+    public ReportResponse getReport() {
+        return report;
+    }
+
+    public void setReport(ReportResponse report) {
+        this.report = report;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.pashuRakshak.dto;
+
+/**
+ * Sent when a case escalates, on /topic/escalations for admins and, for a
+ * stalled case, on /topic/ngos/{ngoId}/escalations for the NGO holding it.
+ * type is UNCLAIMED (nobody has accepted it; radiusKm is how far the search has
+ * widened and offeredNgos how many NGOs have now been offered it) or STALLED
+ * (accepted, but its status has not moved for a while). level counts the
+ * escalations so far, from 1.
+ */
+public class EscalationNotice {
+    private String type;
+    private int level;
+    private Double radiusKm;
+    private int offeredNgos;
+    private ReportResponse report;
+
+    public EscalationNotice() {
+    }
+
+    public EscalationNotice(String type, int level, Double radiusKm, int offeredNgos, ReportResponse report) {
+        this.type = type;
+        this.level = level;
+        this.radiusKm = radiusKm;
+        this.offeredNgos = offeredNgos;
+        this.report = report;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public Double getRadiusKm() {
+        return radiusKm;
+    }
+
+    public void setRadiusKm(Double radiusKm) {
+        this.radiusKm = radiusKm;
+    }
+
+    public int getOfferedNgos() {
+        return offeredNgos;
+    }
+
+    public void setOfferedNgos(int offeredNgos) {
+        this.offeredNgos = offeredNgos;
+    }
+
+    public ReportResponse getReport() {
+        return report;
+    }
+
+    public void setReport(ReportResponse report) {
+        this.report = report;
+    }
+}
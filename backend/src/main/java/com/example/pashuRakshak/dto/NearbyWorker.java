@@ -0,0 +1,77 @@
+package com.example.pashuRakshak.dto;
+
+import java.time.Instant;
+
+/**
+ * A worker with a recent known position and their distance to a report
+ */
+public class NearbyWorker {
+    private Long workerId;
+    private String name;
+    private double latitude;
+    private double longitude;
+    private double distanceKm;
+    private Instant lastSeenAt;
+
+    public NearbyWorker() {
+    }
+
+    public NearbyWorker(Long workerId, String name, double latitude, double longitude, double distanceKm,
+            Instant lastSeenAt) {
+        this.workerId = workerId;
+        this.name = name;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.distanceKm = distanceKm;
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    // Getters and Setters
+    public Long getWorkerId() {
+        return workerId;
+    }
+
+    public void setWorkerId(Long workerId) {
+        this.workerId = workerId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public Instant getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(Instant lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+}
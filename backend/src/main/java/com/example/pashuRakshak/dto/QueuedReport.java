@@ -0,0 +1,48 @@
+package com.example.pashuRakshak.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A report accepted by the async intake but not yet written: the request plus
+ * the tracking ID and receipt time it was given at intake. Also the line
+ * format of the intake journal.
+ */
+public class QueuedReport {
+    private String trackingId;
+    private LocalDateTime receivedAt;
+    private ReportRequest request;
+
+    public QueuedReport() {
+    }
+
+    public QueuedReport(String trackingId, LocalDateTime receivedAt, ReportRequest request) {
+        this.trackingId = trackingId;
+        this.receivedAt = receivedAt;
+        this.request = request;
+    }
+
+    // Getters and Setters
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public void setTrackingId(String trackingId) {
+        this.trackingId = trackingId;
+    }
+
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+
+    public void setReceivedAt(LocalDateTime receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+
+    public ReportRequest getRequest() {
+        return request;
+    }
+
+    public void setRequest(ReportRequest request) {
+        this.request = request;
+    }
+}
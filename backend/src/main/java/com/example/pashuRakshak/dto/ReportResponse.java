@@ -27,11 +27,53 @@ public class ReportResponse {
     private String assignedNgoName;
     private Long assignedWorkerId;
     private String assignedWorkerName;
+    private String duplicateOf;
 
     // Constructors
     public ReportResponse() {
     }
 
+    // Used by the JPQL constructor projections in AnimalReportRepository
+    public ReportResponse(Long id, String trackingId, String animalType, String condition,
+            String injuryDescription, String additionalNotes, Double latitude, Double longitude,
+            String address, ReportStatus status, String reporterName, String reporterPhone,
+            String reporterEmail, LocalDateTime createdAt, LocalDateTime updatedAt,
+            Long assignedNgoId, String assignedNgoName, Long assignedWorkerId, String assignedWorkerName,
+            String duplicateOf) {
+        this.id = id;
+        this.trackingId = trackingId;
+        this.animalType = animalType;
+        this.condition = condition;
+        this.injuryDescription = injuryDescription;
+        this.additionalNotes = additionalNotes;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.address = address;
+        setStatus(status);
+        this.reporterName = reporterName;
+        this.reporterPhone = reporterPhone;
+        this.reporterEmail = reporterEmail;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.assignedNgoId = assignedNgoId;
+        this.assignedNgoName = assignedNgoName;
+        this.assignedWorkerId = assignedWorkerId;
+        this.assignedWorkerName = assignedWorkerName;
+        this.duplicateOf = duplicateOf;
+    }
+
+    /**
+     * Copy for the public tracking page and its event stream, which need no login:
+     * everything but the reporter's name, phone and email
+     */
+    public ReportResponse withoutReporterContact() {
+        ReportResponse copy = new ReportResponse(id, trackingId, animalType, condition, injuryDescription,
+                additionalNotes, latitude, longitude, address, status, null, null, null, createdAt, updatedAt,
+                assignedNgoId, assignedNgoName, assignedWorkerId, assignedWorkerName, duplicateOf);
+        copy.setImageUrls(imageUrls);
+        return copy;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -201,4 +243,12 @@ public class ReportResponse {
     public void setAssignedWorkerName(String assignedWorkerName) {
         this.assignedWorkerName = assignedWorkerName;
     }
-}
\ No newline at end of file
+
+    public String getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    public void setDuplicateOf(String duplicateOf) {
+        this.duplicateOf = duplicateOf;
+    }
+}
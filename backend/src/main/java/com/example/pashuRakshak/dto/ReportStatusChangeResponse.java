@@ -0,0 +1,85 @@
+package com.example.pashuRakshak.dto;
+
+import com.example.pashuRakshak.entity.ReportStatus;
+import java.time.LocalDateTime;
+
+public class ReportStatusChangeResponse {
+
+    private Long id;
+    private String trackingId;
+    private ReportStatus status;
+    private String statusDisplayName;
+    private LocalDateTime changedAt;
+    private Long assignedNgoId;
+    private Long assignedWorkerId;
+
+    // Constructors
+    public ReportStatusChangeResponse() {
+    }
+
+    // Used by the JPQL constructor projections in ReportStatusChangeRepository
+    public ReportStatusChangeResponse(Long id, String trackingId, ReportStatus status, LocalDateTime changedAt,
+            Long assignedNgoId, Long assignedWorkerId) {
+        this.id = id;
+        this.trackingId = trackingId;
+        this.status = status;
+        this.statusDisplayName = status != null ? status.getDisplayName() : null;
+        this.changedAt = changedAt;
+        this.assignedNgoId = assignedNgoId;
+        this.assignedWorkerId = assignedWorkerId;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public void setTrackingId(String trackingId) {
+        this.trackingId = trackingId;
+    }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReportStatus status) {
+        this.status = status;
+        this.statusDisplayName = status != null ? status.getDisplayName() : null;
+    }
+
+    public String getStatusDisplayName() {
+        return statusDisplayName;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public Long getAssignedNgoId() {
+        return assignedNgoId;
+    }
+
+    public void setAssignedNgoId(Long assignedNgoId) {
+        this.assignedNgoId = assignedNgoId;
+    }
+
+    public Long getAssignedWorkerId() {
+        return assignedWorkerId;
+    }
+
+    public void setAssignedWorkerId(Long assignedWorkerId) {
+        this.assignedWorkerId = assignedWorkerId;
+    }
+}
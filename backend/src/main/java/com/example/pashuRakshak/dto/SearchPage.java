@@ -0,0 +1,67 @@
+package com.example.pashuRakshak.dto;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results. Unlike CursorPage this is offset-based:
+ * results are ordered by relevance, which has no stable key to page after.
+ */
+public class SearchPage<T> {
+    private List<T> items;
+    private long total;
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    public SearchPage() {
+    }
+
+    public SearchPage(List<T> items, long total, int page, int size) {
+        this.items = items;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.hasMore = (long) (page + 1) * size < total;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.pashuRakshak.entity;
 
+import com.example.pashuRakshak.util.GeoHash;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -7,11 +8,21 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "animal_reports")
+@Table(name = "animal_reports", indexes = {
+        @Index(name = "idx_report_geo_cell", columnList = "geo_cell"),
+        @Index(name = "idx_report_geo_cell_created", columnList = "geo_cell, created_at"),
+        @Index(name = "idx_report_duplicate_of", columnList = "duplicate_of")
+})
 public class AnimalReport {
 
+    // Geohash precision of geoCell (~4.9km x 4.9km cells)
+    public static final int GEO_CELL_PRECISION = 5;
+
+    // Pooled sequence (see V3 migration): ids are reserved 50 at a time, which
+    // lets Hibernate batch inserts; IDENTITY would force one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "animal_reports_seq")
+    @SequenceGenerator(name = "animal_reports_seq", sequenceName = "animal_reports_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Tracking ID is required")
@@ -41,6 +52,10 @@ public class AnimalReport {
     @Column(length = 500)
     private String address;
 
+    // Geohash grid cell of (latitude, longitude), kept in sync on every write
+    @Column(name = "geo_cell", length = 12)
+    private String geoCell;
+
     @ElementCollection
     @CollectionTable(name = "report_images", joinColumns = @JoinColumn(name = "report_id"))
     @Column(name = "image_url")
@@ -64,10 +79,25 @@ public class AnimalReport {
     private Long assignedWorkerId;
     private String assignedWorkerName;
 
+    // Tracking ID of the case this report was linked to as a likely duplicate
+    // (same incident, reported again); null for a case of its own
+    @Column(name = "duplicate_of", length = 32)
+    private String duplicateOf;
+
     // Constructors
     public AnimalReport() {
     }
 
+    @PrePersist
+    @PreUpdate
+    void updateGeoCell() {
+        if (latitude != null && longitude != null) {
+            this.geoCell = GeoHash.encode(latitude, longitude, GEO_CELL_PRECISION);
+        } else {
+            this.geoCell = null;
+        }
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -141,6 +171,14 @@ public class AnimalReport {
         this.address = address;
     }
 
+    public String getGeoCell() {
+        return geoCell;
+    }
+
+    public void setGeoCell(String geoCell) {
+        this.geoCell = geoCell;
+    }
+
     public List<String> getImageUrls() {
         return imageUrls;
     }
@@ -229,4 +267,12 @@ public class AnimalReport {
     public void setAssignedWorkerName(String assignedWorkerName) {
         this.assignedWorkerName = assignedWorkerName;
     }
-}
\ No newline at end of file
+
+    public String getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    public void setDuplicateOf(String duplicateOf) {
+        this.duplicateOf = duplicateOf;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.pashuRakshak.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A resolved report moved out of animal_reports by the archival job. Rows are
+ * written only by the job's INSERT ... SELECT and never change afterwards, so
+ * the mapping is read-only.
+ */
+@Entity
+@Immutable
+@Table(name = "animal_reports_archive")
+public class ArchivedReport {
+
+    @Id
+    private Long id;
+
+    @Column(name = "tracking_id", unique = true, nullable = false)
+    private String trackingId;
+
+    private String animalType;
+
+    private String condition;
+
+    @Column(length = 1000)
+    private String injuryDescription;
+
+    @Column(length = 1000)
+    private String additionalNotes;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(length = 500)
+    private String address;
+
+    @Column(name = "geo_cell", length = 12)
+    private String geoCell;
+
+    @ElementCollection
+    @CollectionTable(name = "report_images_archive", joinColumns = @JoinColumn(name = "report_id"))
+    @Column(name = "image_url")
+    private List<String> imageUrls;
+
+    @Enumerated(EnumType.STRING)
+    private ReportStatus status;
+
+    private String reporterName;
+    private String reporterPhone;
+    private String reporterEmail;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private Long assignedNgoId;
+    private String assignedNgoName;
+
+    private Long assignedWorkerId;
+    private String assignedWorkerName;
+
+    @Column(name = "duplicate_of", length = 32)
+    private String duplicateOf;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Constructors
+    protected ArchivedReport() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public String getAnimalType() {
+        return animalType;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public String getInjuryDescription() {
+        return injuryDescription;
+    }
+
+    public String getAdditionalNotes() {
+        return additionalNotes;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getGeoCell() {
+        return geoCell;
+    }
+
+    public List<String> getImageUrls() {
+        return imageUrls;
+    }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public String getReporterName() {
+        return reporterName;
+    }
+
+    public String getReporterPhone() {
+        return reporterPhone;
+    }
+
+    public String getReporterEmail() {
+        return reporterEmail;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getAssignedNgoId() {
+        return assignedNgoId;
+    }
+
+    public String getAssignedNgoName() {
+        return assignedNgoName;
+    }
+
+    public Long getAssignedWorkerId() {
+        return assignedWorkerId;
+    }
+
+    public String getAssignedWorkerName() {
+        return assignedWorkerName;
+    }
+
+    public String getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
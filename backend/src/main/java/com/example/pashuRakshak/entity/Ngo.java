@@ -10,8 +10,10 @@ import java.time.LocalDateTime;
 @Table(name = "ngos")
 public class Ngo {
 
+    // Pooled sequence (see V8 migration), like AnimalReport
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ngos_seq")
+    @SequenceGenerator(name = "ngos_seq", sequenceName = "ngos_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -0,0 +1,85 @@
+package com.example.pashuRakshak.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One entry in a report's status history. Written once, never updated.
+ */
+@Entity
+@Table(name = "report_status_history", indexes = {
+        @Index(name = "idx_status_history_tracking", columnList = "tracking_id, changed_at, id"),
+        @Index(name = "idx_status_history_changed", columnList = "changed_at DESC, id DESC"),
+        @Index(name = "idx_status_history_status_changed", columnList = "status, changed_at DESC, id DESC")
+})
+public class ReportStatusChange {
+
+    // Pooled like animal_reports, so bulk ingest can batch these inserts too
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_status_history_seq")
+    @SequenceGenerator(name = "report_status_history_seq", sequenceName = "report_status_history_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "report_id", nullable = false, updatable = false)
+    private Long reportId;
+
+    @Column(name = "tracking_id", length = 32, nullable = false, updatable = false)
+    private String trackingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32, nullable = false, updatable = false)
+    private ReportStatus status;
+
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    // Who held the report once it reached this status
+    @Column(name = "assigned_ngo_id", updatable = false)
+    private Long assignedNgoId;
+
+    @Column(name = "assigned_worker_id", updatable = false)
+    private Long assignedWorkerId;
+
+    // Constructors
+    public ReportStatusChange() {
+    }
+
+    public ReportStatusChange(Long reportId, String trackingId, ReportStatus status, LocalDateTime changedAt,
+            Long assignedNgoId, Long assignedWorkerId) {
+        this.reportId = reportId;
+        this.trackingId = trackingId;
+        this.status = status;
+        this.changedAt = changedAt;
+        this.assignedNgoId = assignedNgoId;
+        this.assignedWorkerId = assignedWorkerId;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getReportId() {
+        return reportId;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public Long getAssignedNgoId() {
+        return assignedNgoId;
+    }
+
+    public Long getAssignedWorkerId() {
+        return assignedWorkerId;
+    }
+}
@@ -14,8 +14,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Table(name = "users")
 public class User {
 
+    // Pooled sequence (see V8 migration), like AnimalReport
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Username is required")
@@ -1,20 +1,50 @@
 package com.example.pashuRakshak.repository;
 
+import com.example.pashuRakshak.dto.ReportResponse;
 import com.example.pashuRakshak.entity.AnimalReport;
 import com.example.pashuRakshak.entity.ReportStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface AnimalReportRepository extends JpaRepository<AnimalReport, Long> {
 
+       // Selects straight into the read-only ReportResponse shape (no managed
+       // entities, no dirty-checking snapshots). imageUrls is left null; callers
+       // fill it in with findImageUrlsByReportIds.
+       String RESPONSE_PROJECTION = "SELECT new com.example.pashuRakshak.dto.ReportResponse(" +
+                     "r.id, r.trackingId, r.animalType, r.condition, r.injuryDescription, r.additionalNotes, " +
+                     "r.latitude, r.longitude, r.address, r.status, " +
+                     "r.reporterName, r.reporterPhone, r.reporterEmail, r.createdAt, r.updatedAt, " +
+                     "r.assignedNgoId, r.assignedNgoName, r.assignedWorkerId, r.assignedWorkerName, r.duplicateOf) " +
+                     "FROM AnimalReport r ";
+
+       // Keyset continuation shared by the paged listings: rows strictly after
+       // (createdAt, id) in newest-first order
+       String AFTER_CURSOR = "(r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+                     "ORDER BY r.createdAt DESC, r.id DESC";
+
+       // Rows per JDBC round trip for the streamed listings
+       String STREAM_FETCH_SIZE = "500";
+
        Optional<AnimalReport> findByTrackingId(String trackingId);
 
+       boolean existsByTrackingId(String trackingId);
+
        List<AnimalReport> findByStatus(ReportStatus status);
 
        List<AnimalReport> findByAssignedNgoId(Long ngoId);
@@ -26,12 +56,204 @@ public interface AnimalReportRepository extends JpaRepository<AnimalReport, Long
        @Query("SELECT r FROM AnimalReport r WHERE r.status IN :statuses ORDER BY r.createdAt DESC")
        List<AnimalReport> findByStatusIn(@Param("statuses") List<ReportStatus> statuses);
 
+       // Projected listings
+       @Query(RESPONSE_PROJECTION)
+       List<ReportResponse> findAllResponses();
+
+       @Query(RESPONSE_PROJECTION + "WHERE r.reporterEmail = :email")
+       List<ReportResponse> findResponsesByReporterEmail(@Param("email") String reporterEmail);
+
+       @Query(RESPONSE_PROJECTION + "WHERE r.status IN :statuses ORDER BY r.createdAt DESC")
+       List<ReportResponse> findResponsesByStatusIn(@Param("statuses") List<ReportStatus> statuses);
+
+       // The same two listings read through a JDBC cursor, STREAM_FETCH_SIZE rows
+       // per round trip, for writing out as they arrive. Close the stream, inside
+       // the transaction that opened it.
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+       @Query(RESPONSE_PROJECTION)
+       Stream<ReportResponse> streamAllResponses();
+
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+       @Query(RESPONSE_PROJECTION + "WHERE r.status IN :statuses ORDER BY r.createdAt DESC")
+       Stream<ReportResponse> streamResponsesByStatusIn(@Param("statuses") List<ReportStatus> statuses);
+
+       // Available = in one of the given states and not linked to another case as a duplicate
+       @Query(RESPONSE_PROJECTION + "WHERE r.status IN :statuses AND r.duplicateOf IS NULL ORDER BY r.createdAt DESC")
+       List<ReportResponse> findAvailableResponses(@Param("statuses") List<ReportStatus> statuses);
+
+       @Query(RESPONSE_PROJECTION + "WHERE r.id IN :ids")
+       List<ReportResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+       @Query(RESPONSE_PROJECTION + "WHERE r.duplicateOf = :trackingId")
+       List<ReportResponse> findResponsesByDuplicateOf(@Param("trackingId") String trackingId);
+
+       @Query(RESPONSE_PROJECTION + "WHERE r.assignedNgoId = :ngoId")
+       List<ReportResponse> findResponsesByAssignedNgoId(@Param("ngoId") Long ngoId);
+
+       @Query(RESPONSE_PROJECTION + "WHERE r.assignedWorkerId = :workerId")
+       List<ReportResponse> findResponsesByAssignedWorkerId(@Param("workerId") Long workerId);
+
+       // Keyset-paged projected listings; pass ReportCursor.fetchWindow(limit) as the page
+       @Query(RESPONSE_PROJECTION + "WHERE " + AFTER_CURSOR)
+       List<ReportResponse> findResponsePage(@Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id,
+                     Pageable page);
+
+       @Query(RESPONSE_PROJECTION + "WHERE r.reporterEmail = :email AND " + AFTER_CURSOR)
+       List<ReportResponse> findResponsePageByReporterEmail(@Param("email") String reporterEmail,
+                     @Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id,
+                     Pageable page);
+
+       @Query(RESPONSE_PROJECTION + "WHERE r.status IN :statuses AND " + AFTER_CURSOR)
+       List<ReportResponse> findResponsePageByStatusIn(@Param("statuses") List<ReportStatus> statuses,
+                     @Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id,
+                     Pageable page);
+
+       @Query(RESPONSE_PROJECTION + "WHERE r.status IN :statuses AND r.duplicateOf IS NULL AND " + AFTER_CURSOR)
+       List<ReportResponse> findAvailableResponsePage(@Param("statuses") List<ReportStatus> statuses,
+                     @Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id,
+                     Pageable page);
+
+       @Query(RESPONSE_PROJECTION + "WHERE r.assignedNgoId = :ngoId AND " + AFTER_CURSOR)
+       List<ReportResponse> findResponsePageByAssignedNgoId(@Param("ngoId") Long ngoId,
+                     @Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id,
+                     Pageable page);
+
+       @Query(RESPONSE_PROJECTION + "WHERE r.assignedWorkerId = :workerId AND " + AFTER_CURSOR)
+       List<ReportResponse> findResponsePageByAssignedWorkerId(@Param("workerId") Long workerId,
+                     @Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id,
+                     Pageable page);
+
+       // Open reports in the given geohash cells, narrowed to the bounding box.
+       // Callers still apply the exact great-circle distance check.
+       @Query(RESPONSE_PROJECTION + "WHERE " +
+                     "r.status IN ('SUBMITTED', 'SEARCHING_FOR_HELP') AND r.duplicateOf IS NULL AND " +
+                     "r.geoCell IN :cells AND " +
+                     "r.latitude BETWEEN :minLat AND :maxLat AND " +
+                     "r.longitude BETWEEN :minLng AND :maxLng")
+       List<ReportResponse> findNearbyReports(@Param("cells") Collection<String> cells,
+                     @Param("minLat") Double minLat,
+                     @Param("maxLat") Double maxLat,
+                     @Param("minLng") Double minLng,
+                     @Param("maxLng") Double maxLng);
+
+       // Fallback for radii too large to enumerate cells for
+       @Query(RESPONSE_PROJECTION + "WHERE " +
+                     "r.status IN ('SUBMITTED', 'SEARCHING_FOR_HELP') AND r.duplicateOf IS NULL AND " +
+                     "r.latitude BETWEEN :minLat AND :maxLat AND " +
+                     "r.longitude BETWEEN :minLng AND :maxLng")
+       List<ReportResponse> findOpenReportsInBox(@Param("minLat") Double minLat,
+                     @Param("maxLat") Double maxLat,
+                     @Param("minLng") Double minLng,
+                     @Param("maxLng") Double maxLng);
+
+       // Candidate cases for duplicate detection: primary (unlinked) reports in the
+       // given states created since a cut-off, in the given cells and box. Served
+       // by idx_report_geo_cell_created; callers check distance and animal type.
        @Query("SELECT r FROM AnimalReport r WHERE " +
-                     "r.status IN ('SUBMITTED', 'SEARCHING_FOR_HELP') AND " +
-                     "SQRT(POWER(r.latitude - :lat, 2) + POWER(r.longitude - :lng, 2)) <= :radius")
-       List<AnimalReport> findNearbyReports(@Param("lat") Double latitude,
-                     @Param("lng") Double longitude,
-                     @Param("radius") Double radius);
+                     "r.geoCell IN :cells AND r.createdAt >= :since AND " +
+                     "r.status IN :statuses AND r.duplicateOf IS NULL AND " +
+                     "r.latitude BETWEEN :minLat AND :maxLat AND " +
+                     "r.longitude BETWEEN :minLng AND :maxLng")
+       List<AnimalReport> findRecentCasesNear(@Param("cells") Collection<String> cells,
+                     @Param("since") LocalDateTime since,
+                     @Param("statuses") Collection<ReportStatus> statuses,
+                     @Param("minLat") Double minLat,
+                     @Param("maxLat") Double maxLat,
+                     @Param("minLng") Double minLng,
+                     @Param("maxLng") Double maxLng);
+
+       // Reports with coordinates but no geo cell (saved before geo_cell existed),
+       // for the startup backfill. Filled-in rows drop out, so callers re-read the first page.
+       @Query("SELECT r FROM AnimalReport r WHERE r.geoCell IS NULL " +
+                     "AND r.latitude IS NOT NULL AND r.longitude IS NOT NULL ORDER BY r.id")
+       List<AnimalReport> findMissingGeoCells(Pageable page);
+
+       // (reportId, ngoId, updatedAt) for cases an NGO is still working on; duplicates are not cases of their own
+       @Query("SELECT r.id, r.assignedNgoId, r.updatedAt FROM AnimalReport r WHERE r.assignedNgoId IS NOT NULL " +
+                     "AND r.duplicateOf IS NULL AND r.status IN :statuses")
+       List<Object[]> findOpenCaseOwners(@Param("statuses") List<ReportStatus> statuses);
+
+       // Workers of an NGO currently out on a case of its own
+       @Query("SELECT DISTINCT r.assignedWorkerId FROM AnimalReport r WHERE r.assignedNgoId = :ngoId " +
+                     "AND r.assignedWorkerId IS NOT NULL AND r.duplicateOf IS NULL AND r.status IN :statuses")
+       Set<Long> findBusyWorkerIds(@Param("ngoId") Long ngoId, @Param("statuses") Collection<ReportStatus> statuses);
+
+       // (reportId, imageUrl) pairs for a batch of reports, to map lists without N+1
+       @Query("SELECT r.id, i FROM AnimalReport r JOIN r.imageUrls i WHERE r.id IN :ids")
+       List<Object[]> findImageUrlsByReportIds(@Param("ids") Collection<Long> ids);
+
+       // Compare-and-set claim: only succeeds while the report is still open (and
+       // is a case of its own, not a linked duplicate), so two NGOs racing for the
+       // same case cannot both win. Returns rows updated.
+       @Modifying(flushAutomatically = true, clearAutomatically = true)
+       @Query("UPDATE AnimalReport r SET r.assignedNgoId = :ngoId, r.assignedNgoName = :ngoName, " +
+                     "r.status = :newStatus, r.updatedAt = :now " +
+                     "WHERE r.trackingId = :trackingId AND r.status IN :openStatuses AND r.duplicateOf IS NULL")
+       int claimForNgo(@Param("trackingId") String trackingId,
+                     @Param("ngoId") Long ngoId,
+                     @Param("ngoName") String ngoName,
+                     @Param("newStatus") ReportStatus newStatus,
+                     @Param("openStatuses") Collection<ReportStatus> openStatuses,
+                     @Param("now") LocalDateTime now);
+
+       // Status change guarded on the current status, for a case of its own
+       // (escalation of unclaimed reports). Returns rows updated.
+       @Modifying(flushAutomatically = true, clearAutomatically = true)
+       @Query("UPDATE AnimalReport r SET r.status = :newStatus, r.updatedAt = :now " +
+                     "WHERE r.trackingId = :trackingId AND r.status = :expectedStatus AND r.duplicateOf IS NULL")
+       int updateStatusIfCurrent(@Param("trackingId") String trackingId,
+                     @Param("expectedStatus") ReportStatus expectedStatus,
+                     @Param("newStatus") ReportStatus newStatus,
+                     @Param("now") LocalDateTime now);
+
+       // Worker (re)assignment, guarded on the report being held by an NGO and
+       // still in an assignable state. Returns rows updated.
+       @Modifying(flushAutomatically = true, clearAutomatically = true)
+       @Query("UPDATE AnimalReport r SET r.assignedWorkerId = :workerId, r.assignedWorkerName = :workerName, " +
+                     "r.status = :newStatus, r.updatedAt = :now " +
+                     "WHERE r.trackingId = :trackingId AND r.assignedNgoId IS NOT NULL " +
+                     "AND r.status IN :assignableStatuses AND r.duplicateOf IS NULL")
+       int assignWorkerIfAssignable(@Param("trackingId") String trackingId,
+                     @Param("workerId") Long workerId,
+                     @Param("workerName") String workerName,
+                     @Param("newStatus") ReportStatus newStatus,
+                     @Param("assignableStatuses") Collection<ReportStatus> assignableStatuses,
+                     @Param("now") LocalDateTime now);
+
+       // Copy a case's progress onto the reports linked to it as duplicates, so
+       // their reporters see the same status and team. Returns rows updated.
+       @Modifying(flushAutomatically = true, clearAutomatically = true)
+       @Query("UPDATE AnimalReport r SET r.status = :status, " +
+                     "r.assignedNgoId = :ngoId, r.assignedNgoName = :ngoName, " +
+                     "r.assignedWorkerId = :workerId, r.assignedWorkerName = :workerName, r.updatedAt = :now " +
+                     "WHERE r.duplicateOf = :trackingId")
+       int mirrorOntoDuplicates(@Param("trackingId") String trackingId,
+                     @Param("status") ReportStatus status,
+                     @Param("ngoId") Long ngoId,
+                     @Param("ngoName") String ngoName,
+                     @Param("workerId") Long workerId,
+                     @Param("workerName") String workerName,
+                     @Param("now") LocalDateTime now);
+
+       // Next batch of resolved reports due for archival, locked so a concurrent
+       // status change waits until the batch has moved
+       @Query(value = "SELECT id FROM animal_reports WHERE status = 'CASE_RESOLVED' AND updated_at < :cutoff " +
+                     "ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+       List<Long> lockArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+       @Modifying
+       @Query(value = "DELETE FROM report_images WHERE report_id IN (:ids)", nativeQuery = true)
+       int deleteImagesByReportIds(@Param("ids") Collection<Long> ids);
+
+       @Modifying
+       @Query(value = "DELETE FROM animal_reports WHERE id IN (:ids)", nativeQuery = true)
+       int deleteByIds(@Param("ids") Collection<Long> ids);
 
        // Count methods for statistics
        long countByStatus(ReportStatus status);
@@ -0,0 +1,89 @@
+package com.example.pashuRakshak.repository;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.ArchivedReport;
+import com.example.pashuRakshak.entity.ReportStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedReportRepository extends JpaRepository<ArchivedReport, Long> {
+
+       // Same shape as AnimalReportRepository.RESPONSE_PROJECTION, over the archive
+       String RESPONSE_PROJECTION = "SELECT new com.example.pashuRakshak.dto.ReportResponse(" +
+                     "a.id, a.trackingId, a.animalType, a.condition, a.injuryDescription, a.additionalNotes, " +
+                     "a.latitude, a.longitude, a.address, a.status, " +
+                     "a.reporterName, a.reporterPhone, a.reporterEmail, a.createdAt, a.updatedAt, " +
+                     "a.assignedNgoId, a.assignedNgoName, a.assignedWorkerId, a.assignedWorkerName, a.duplicateOf) " +
+                     "FROM ArchivedReport a ";
+
+       String AFTER_CURSOR = "(a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+                     "ORDER BY a.createdAt DESC, a.id DESC";
+
+       String REPORT_COLUMNS = "id, tracking_id, animal_type, condition, injury_description, additional_notes, " +
+                     "latitude, longitude, address, geo_cell, status, reporter_name, reporter_phone, reporter_email, " +
+                     "created_at, updated_at, assigned_ngo_id, assigned_ngo_name, assigned_worker_id, " +
+                     "assigned_worker_name, duplicate_of";
+
+       @Query(RESPONSE_PROJECTION + "WHERE a.trackingId = :trackingId")
+       Optional<ReportResponse> findResponseByTrackingId(@Param("trackingId") String trackingId);
+
+       boolean existsByTrackingId(String trackingId);
+
+       @Query(RESPONSE_PROJECTION + "ORDER BY a.createdAt DESC, a.id DESC")
+       List<ReportResponse> findAllResponses();
+
+       @Query(RESPONSE_PROJECTION + "WHERE a.id IN :ids")
+       List<ReportResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AnimalReportRepository.STREAM_FETCH_SIZE))
+       @Query(RESPONSE_PROJECTION + "ORDER BY a.createdAt DESC, a.id DESC")
+       Stream<ReportResponse> streamAllResponses();
+
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AnimalReportRepository.STREAM_FETCH_SIZE))
+       @Query(RESPONSE_PROJECTION + "WHERE a.status = :status ORDER BY a.createdAt DESC, a.id DESC")
+       Stream<ReportResponse> streamResponsesByStatus(@Param("status") ReportStatus status);
+
+       @Query(RESPONSE_PROJECTION + "WHERE " + AFTER_CURSOR)
+       List<ReportResponse> findResponsePage(@Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id,
+                     Pageable page);
+
+       @Query(RESPONSE_PROJECTION + "WHERE a.status = :status AND " + AFTER_CURSOR)
+       List<ReportResponse> findResponsePageByStatus(@Param("status") ReportStatus status,
+                     @Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id,
+                     Pageable page);
+
+       @Query("SELECT a.id, i FROM ArchivedReport a JOIN a.imageUrls i WHERE a.id IN :ids")
+       List<Object[]> findImageUrlsByReportIds(@Param("ids") Collection<Long> ids);
+
+       long countByStatus(ReportStatus status);
+
+       // Archival moves, run by ReportArchiveService with the source rows locked.
+       // Plain column lists so the same SQL works on H2 and PostgreSQL.
+       @Modifying
+       @Query(value = "INSERT INTO animal_reports_archive (" + REPORT_COLUMNS + ", archived_at) " +
+                     "SELECT " + REPORT_COLUMNS + ", :archivedAt FROM animal_reports WHERE id IN (:ids)",
+                     nativeQuery = true)
+       int copyReports(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+       @Modifying
+       @Query(value = "INSERT INTO report_images_archive (report_id, image_url) " +
+                     "SELECT report_id, image_url FROM report_images WHERE report_id IN (:ids)",
+                     nativeQuery = true)
+       int copyImages(@Param("ids") Collection<Long> ids);
+}
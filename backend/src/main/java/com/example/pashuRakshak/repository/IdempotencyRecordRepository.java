@@ -0,0 +1,25 @@
+package com.example.pashuRakshak.repository;
+
+import com.example.pashuRakshak.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+       @Modifying
+       @Query("DELETE FROM IdempotencyRecord k WHERE k.expiresAt < :now")
+       int deleteExpired(@Param("now") LocalDateTime now);
+
+       // An expired row for the key that purgeExpired has not got to yet. Clears
+       // the persistence context, where the lookup before it may have left the
+       // row, so a new record with the same key can be persisted
+       @Modifying(clearAutomatically = true)
+       @Query("DELETE FROM IdempotencyRecord k WHERE k.key = :key AND k.expiresAt < :now")
+       int deleteExpiredKey(@Param("key") String key, @Param("now") LocalDateTime now);
+}
@@ -2,13 +2,16 @@ package com.example.pashuRakshak.repository;
 
 import com.example.pashuRakshak.entity.Ngo;
 import com.example.pashuRakshak.entity.VerificationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface NgoRepository extends JpaRepository<Ngo, Long> {
@@ -19,12 +22,16 @@ public interface NgoRepository extends JpaRepository<Ngo, Long> {
 
        List<Ngo> findByVerificationStatus(VerificationStatus status);
 
-       // Find NGOs within a certain radius (simplified version using basic math)
-       @Query("SELECT n FROM Ngo n WHERE n.isActive = true AND " +
-                     "SQRT(POWER(n.latitude - :lat, 2) + POWER(n.longitude - :lng, 2)) <= :radius")
-       List<Ngo> findNearbyNgos(@Param("lat") Double latitude,
-                     @Param("lng") Double longitude,
-                     @Param("radius") Double radius);
+       List<Ngo> findByIsActiveTrueAndVerificationStatus(VerificationStatus status);
+
+       // Every NGO through a cursor, read-only (no dirty-checking snapshots), for
+       // the CSV export
+       @QueryHints({
+                     @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AnimalReportRepository.STREAM_FETCH_SIZE),
+                     @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+       })
+       @Query("SELECT n FROM Ngo n ORDER BY n.id")
+       Stream<Ngo> streamAll();
 
        // Count methods for statistics
        long countByVerificationStatus(VerificationStatus status);
@@ -0,0 +1,47 @@
+package com.example.pashuRakshak.repository;
+
+import com.example.pashuRakshak.dto.ReportStatusChangeResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.entity.ReportStatusChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReportStatusChangeRepository extends JpaRepository<ReportStatusChange, Long> {
+
+       String RESPONSE_PROJECTION = "SELECT new com.example.pashuRakshak.dto.ReportStatusChangeResponse(" +
+                     "c.id, c.trackingId, c.status, c.changedAt, c.assignedNgoId, c.assignedWorkerId) " +
+                     "FROM ReportStatusChange c ";
+
+       // Transitions in [from, to), newest first, after the (changedAt, id) keyset position
+       String IN_RANGE_AFTER_CURSOR = "c.changedAt >= :from AND c.changedAt < :to AND " +
+                     "(c.changedAt < :changedAt OR (c.changedAt = :changedAt AND c.id < :id)) " +
+                     "ORDER BY c.changedAt DESC, c.id DESC";
+
+       // Oldest first; served by idx_status_history_tracking
+       @Query(RESPONSE_PROJECTION + "WHERE c.trackingId = :trackingId ORDER BY c.changedAt, c.id")
+       List<ReportStatusChangeResponse> findTimeline(@Param("trackingId") String trackingId);
+
+       // Range pages for analytics; served by idx_status_history_changed and
+       // idx_status_history_status_changed, never touching animal_reports
+       @Query(RESPONSE_PROJECTION + "WHERE " + IN_RANGE_AFTER_CURSOR)
+       List<ReportStatusChangeResponse> findPageBetween(@Param("from") LocalDateTime from,
+                     @Param("to") LocalDateTime to,
+                     @Param("changedAt") LocalDateTime changedAt,
+                     @Param("id") Long id,
+                     Pageable page);
+
+       @Query(RESPONSE_PROJECTION + "WHERE c.status = :status AND " + IN_RANGE_AFTER_CURSOR)
+       List<ReportStatusChangeResponse> findPageBetweenByStatus(@Param("status") ReportStatus status,
+                     @Param("from") LocalDateTime from,
+                     @Param("to") LocalDateTime to,
+                     @Param("changedAt") LocalDateTime changedAt,
+                     @Param("id") Long id,
+                     Pageable page);
+}
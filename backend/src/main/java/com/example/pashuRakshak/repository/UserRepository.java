@@ -1,9 +1,18 @@
 package com.example.pashuRakshak.repository;
 
 import com.example.pashuRakshak.entity.User;
+import com.example.pashuRakshak.entity.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -18,6 +27,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     java.util.List<User> findByNgoId(Long ngoId);
 
+    // (id, fullName) of an NGO's enabled users with the given role
+    @Query("SELECT u.id, u.fullName FROM User u JOIN u.roles role " +
+            "WHERE u.ngoId = :ngoId AND u.enabled = true AND role = :role")
+    java.util.List<Object[]> findEnabledMemberNames(@Param("ngoId") Long ngoId, @Param("role") UserRole role);
+
+    // CSV export rows, read through a cursor: (id, username, email, fullName,
+    // phone, age, gender, ngoId, enabled, createdAt, updatedAt), roles apart
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AnimalReportRepository.STREAM_FETCH_SIZE))
+    @Query("SELECT u.id, u.username, u.email, u.fullName, u.phone, u.age, u.gender, u.ngoId, u.enabled, " +
+            "u.createdAt, u.updatedAt FROM User u ORDER BY u.id")
+    Stream<Object[]> streamExportRows();
+
+    // (id, username, email, fullName, phone, ngoId, createdAt) of disabled users
+    // with the given role, e.g. NGO representatives awaiting approval
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AnimalReportRepository.STREAM_FETCH_SIZE))
+    @Query("SELECT u.id, u.username, u.email, u.fullName, u.phone, u.ngoId, u.createdAt FROM User u " +
+            "JOIN u.roles role WHERE u.enabled = false AND role = :role ORDER BY u.id")
+    Stream<Object[]> streamDisabledMemberRows(@Param("role") UserRole role);
+
+    // (user id, role) pairs for the given users
+    @Query("SELECT u.id, role FROM User u JOIN u.roles role WHERE u.id IN :ids")
+    java.util.List<Object[]> findRolesByUserIds(@Param("ids") Collection<Long> ids);
+
     // Count methods for statistics
     long countByEnabled(Boolean enabled);
 }
\ No newline at end of file
@@ -1,25 +1,28 @@
 package com.example.pashuRakshak.service;
 
+import com.example.pashuRakshak.dto.CursorPage;
 import com.example.pashuRakshak.dto.DashboardStatsResponse;
 import com.example.pashuRakshak.dto.NgoStatsResponse;
 import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.dto.SearchPage;
 import com.example.pashuRakshak.dto.UserStatsResponse;
-import com.example.pashuRakshak.entity.AnimalReport;
 import com.example.pashuRakshak.entity.ReportStatus;
 import com.example.pashuRakshak.entity.User;
 import com.example.pashuRakshak.entity.UserRole;
 import com.example.pashuRakshak.repository.AnimalReportRepository;
 import com.example.pashuRakshak.repository.NgoRepository;
 import com.example.pashuRakshak.repository.UserRepository;
+import com.example.pashuRakshak.util.ReportCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.UnaryOperator;
 
 @Service
 public class AdminService {
@@ -36,9 +39,18 @@ public class AdminService {
     @Autowired
     private NgoService ngoService;
 
+    @Autowired
+    private AnimalReportService animalReportService;
+
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private ReportArchiveService reportArchiveService;
+
+    @Autowired
+    private ReportSearchIndex reportSearchIndex;
+
     /**
      * Get comprehensive dashboard statistics
      */
@@ -47,14 +59,15 @@ public class AdminService {
         NgoStatsResponse ngoStats = ngoService.getNgoStats();
 
         // Report statistics
-        long totalReports = reportRepository.count();
+        long totalReports = reportRepository.count() + reportArchiveService.count();
         long pendingReports = reportRepository.countByStatus(ReportStatus.SUBMITTED);
         // Count reports that are assigned/being processed by NGOs (all active statuses)
         long assignedReports = reportRepository.countByStatus(ReportStatus.SEARCHING_FOR_HELP)
                 + reportRepository.countByStatus(ReportStatus.HELP_ON_THE_WAY)
                 + reportRepository.countByStatus(ReportStatus.TEAM_DISPATCHED)
                 + reportRepository.countByStatus(ReportStatus.ANIMAL_RESCUED);
-        long resolvedReports = reportRepository.countByStatus(ReportStatus.CASE_RESOLVED);
+        long resolvedReports = reportRepository.countByStatus(ReportStatus.CASE_RESOLVED)
+                + reportArchiveService.countByStatus(ReportStatus.CASE_RESOLVED);
 
         return new DashboardStatsResponse(
                 userStats, ngoStats,
@@ -154,37 +167,53 @@ public class AdminService {
     }
 
     /**
-     * Get reports by status for admin filtering
+     * Get one keyset page of reports with the given status, newest first
      */
-    public List<ReportResponse> getReportsByStatus(ReportStatus status) {
-        List<AnimalReport> reports = reportRepository.findByStatus(status);
-        return reports.stream()
-                .map(this::convertToReportResponse)
-                .collect(Collectors.toList());
+    public CursorPage<ReportResponse> getReportsByStatus(ReportStatus status, String cursor, int limit) {
+        ReportCursor after = ReportCursor.decode(cursor);
+        List<ReportResponse> hot = animalReportService.withImages(reportRepository.findResponsePageByStatusIn(
+                List.of(status), after.getCreatedAt(), after.getId(), ReportCursor.fetchWindow(limit)));
+        return ReportCursor.toPage(reportArchiveService.mergeArchivedWindow(hot, status, after, limit),
+                limit, UnaryOperator.identity());
     }
 
-    private ReportResponse convertToReportResponse(AnimalReport report) {
-        ReportResponse response = new ReportResponse();
-        response.setId(report.getId());
-        response.setTrackingId(report.getTrackingId());
-        response.setAnimalType(report.getAnimalType());
-        response.setCondition(report.getCondition());
-        response.setInjuryDescription(report.getInjuryDescription());
-        response.setAdditionalNotes(report.getAdditionalNotes());
-        response.setLatitude(report.getLatitude());
-        response.setLongitude(report.getLongitude());
-        response.setAddress(report.getAddress());
-        response.setImageUrls(report.getImageUrls());
-        response.setStatus(report.getStatus());
-        response.setReporterName(report.getReporterName());
-        response.setReporterPhone(report.getReporterPhone());
-        response.setReporterEmail(report.getReporterEmail());
-        response.setCreatedAt(report.getCreatedAt());
-        response.setUpdatedAt(report.getUpdatedAt());
-        response.setAssignedNgoId(report.getAssignedNgoId());
-        response.setAssignedNgoName(report.getAssignedNgoName());
-        response.setAssignedWorkerId(report.getAssignedWorkerId());
-        response.setAssignedWorkerName(report.getAssignedWorkerName());
-        return response;
+    /**
+     * Full-text search over report descriptions, notes, addresses and animal
+     * types, best match first. statuses may be null (any); from/to bound the
+     * creation time and may be null.
+     */
+    public SearchPage<ReportResponse> searchReports(String query, List<ReportStatus> statuses,
+            LocalDateTime from, LocalDateTime to, int page, int size) {
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        ReportSearchIndex.Hits hits = reportSearchIndex.search(query, statuses, from, to, offset, size);
+        List<Long> ids = hits.getIds();
+        if (ids.isEmpty()) {
+            return new SearchPage<>(new ArrayList<>(), hits.getTotal(), page, size);
+        }
+
+        Map<Long, ReportResponse> byId = new HashMap<>();
+        for (ReportResponse report : animalReportService.withImages(reportRepository.findResponsesByIdIn(ids))) {
+            byId.put(report.getId(), report);
+        }
+        if (byId.size() < ids.size()) {
+            List<Long> missing = new ArrayList<>();
+            for (Long id : ids) {
+                if (!byId.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+            for (ReportResponse report : reportArchiveService.findByIds(missing)) {
+                byId.put(report.getId(), report);
+            }
+        }
+
+        List<ReportResponse> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ReportResponse report = byId.get(id);
+            if (report != null) {
+                items.add(report);
+            }
+        }
+        return new SearchPage<>(items, hits.getTotal(), page, size);
     }
 }
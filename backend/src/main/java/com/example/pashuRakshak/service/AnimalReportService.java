@@ -1,169 +1,449 @@
 package com.example.pashuRakshak.service;
 
+import com.example.pashuRakshak.dto.AvailableReportsSnapshot;
+import com.example.pashuRakshak.dto.CursorPage;
+import com.example.pashuRakshak.dto.QueuedReport;
 import com.example.pashuRakshak.dto.ReportRequest;
 import com.example.pashuRakshak.dto.ReportResponse;
 import com.example.pashuRakshak.entity.AnimalReport;
 import com.example.pashuRakshak.entity.ReportStatus;
 import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.util.GeoHash;
+import com.example.pashuRakshak.util.GeoUtils;
+import com.example.pashuRakshak.util.ReportCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Service
 public class AnimalReportService {
 
+    // Above this many covering cells the IN-list costs more than it saves
+    private static final int MAX_COVERING_CELLS = 400;
+
+    // States in which an NGO may still claim a report ("available" reports)
+    static final List<ReportStatus> OPEN_STATUSES =
+            List.of(ReportStatus.SUBMITTED, ReportStatus.SEARCHING_FOR_HELP);
+
+    // States in which the owning NGO may (re)assign a worker
+    private static final List<ReportStatus> ASSIGNABLE_STATUSES =
+            List.of(ReportStatus.HELP_ON_THE_WAY, ReportStatus.TEAM_DISPATCHED);
+
     @Autowired
     private AnimalReportRepository reportRepository;
 
-    public ReportResponse createReport(ReportRequest request) {
-        AnimalReport report = new AnimalReport();
-        report.setTrackingId(generateTrackingId());
-        report.setAnimalType(request.getAnimalType());
-        report.setCondition(request.getCondition());
-        report.setInjuryDescription(request.getInjuryDescription());
-        report.setAdditionalNotes(request.getAdditionalNotes());
-        report.setLatitude(request.getLatitude());
-        report.setLongitude(request.getLongitude());
-        report.setAddress(request.getAddress());
-        report.setImageUrls(request.getImageUrls());
-        report.setReporterName(request.getReporterName());
-        report.setReporterPhone(request.getReporterPhone());
-        report.setReporterEmail(request.getReporterEmail());
-        report.setStatus(ReportStatus.SUBMITTED);
-        report.setCreatedAt(LocalDateTime.now());
-        report.setUpdatedAt(LocalDateTime.now());
+    @Autowired
+    private TrackingIdGenerator trackingIdGenerator;
+
+    @Autowired
+    private TrackingLookupCache trackingLookupCache;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private ReportEventStream reportEventStream;
+
+    @Autowired
+    private AvailableReportsFeed availableReportsFeed;
+
+    @Autowired
+    private DuplicateReportDetector duplicateReportDetector;
+
+    @Autowired
+    private ReportStatusHistoryService statusHistory;
+
+    @Autowired
+    private ReportArchiveService reportArchiveService;
+
+    @Autowired
+    private ReportSearchIndex reportSearchIndex;
+
+    @Autowired
+    private NgoCaseloadCounters ngoCaseloads;
+
+    @Autowired
+    private AutoDispatchService autoDispatchService;
 
+    @Autowired
+    private EscalationTimers escalationTimers;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * File a report. If it looks like another report of an incident that already
+     * has a case, it is linked to that case (see DuplicateReportDetector) and
+     * follows its status instead of showing up as a separate available report.
+     */
+    @Transactional
+    public ReportResponse createReport(ReportRequest request) {
+        AnimalReport report = newReport(request);
+        duplicateReportDetector.findCase(report).ifPresent(existing -> linkToCase(report, existing));
         AnimalReport savedReport = reportRepository.save(report);
-        return convertToResponse(savedReport);
+        return reportCreated(reportChanged(false, convertToResponse(savedReport)));
     }
 
-    public Optional<ReportResponse> getReportByTrackingId(String trackingId) {
-        return reportRepository.findByTrackingId(trackingId)
-                .map(this::convertToResponse);
+    /**
+     * Insert several already-validated reports in one transaction. Ids come from a
+     * pooled sequence, so the rows (and their image rows) go out as JDBC batches.
+     */
+    @Transactional
+    public List<ReportResponse> createReports(List<ReportRequest> requests) {
+        List<AnimalReport> reports = new ArrayList<>(requests.size());
+        for (ReportRequest request : requests) {
+            reports.add(newReport(request));
+        }
+        return saveBatch(reports);
+    }
+
+    /**
+     * Write reports accepted by ReportIntakeQueue, keeping the tracking ID and
+     * receipt time they were given at intake. One transaction for the batch;
+     * each report is checked for duplicates against the cases already written
+     * and the ones ahead of it in the batch, so a burst of reports of one
+     * incident draining together still becomes one case.
+     */
+    @Transactional
+    public List<ReportResponse> createQueuedReports(List<QueuedReport> queued) {
+        List<AnimalReport> reports = new ArrayList<>(queued.size());
+        for (QueuedReport item : queued) {
+            AnimalReport report = newReport(item.getRequest(), item.getTrackingId(), item.getReceivedAt());
+            duplicateReportDetector.findCase(report, reports).ifPresent(existing -> linkToCase(report, existing));
+            reports.add(report);
+        }
+        return saveBatch(reports);
+    }
+
+    /**
+     * What a queued report will look like once written (no id yet), for the
+     * 202 response and tracking lookups in the meantime
+     */
+    public ReportResponse queuedResponse(QueuedReport queued) {
+        return convertToResponse(newReport(queued.getRequest(), queued.getTrackingId(), queued.getReceivedAt()));
     }
 
-    public List<ReportResponse> getAllReports() {
-        return reportRepository.findAll().stream()
+    private List<ReportResponse> saveBatch(List<AnimalReport> reports) {
+        List<ReportResponse> responses = new ArrayList<>(reports.size());
+        for (AnimalReport saved : reportRepository.saveAll(reports)) {
+            responses.add(reportCreated(reportChanged(false, convertToResponse(saved))));
+        }
+        // Write the batch now and drop it from the (request-scoped) persistence
+        // context so a long ingest does not keep every entity in memory
+        entityManager.flush();
+        entityManager.clear();
+        return responses;
+    }
+
+    // Falls back to the archive for resolved reports that have been moved there
+    public Optional<ReportResponse> getReportByTrackingId(String trackingId) {
+        return trackingLookupCache.get(trackingId, id -> reportRepository.findByTrackingId(id)
                 .map(this::convertToResponse)
-                .collect(Collectors.toList());
+                .or(() -> reportArchiveService.findByTrackingId(id)));
+    }
+
+    // Admin listings include archived reports (the full list is ReportStreamService)
+    public CursorPage<ReportResponse> getAllReports(String cursor, int limit) {
+        ReportCursor after = ReportCursor.decode(cursor);
+        List<ReportResponse> hot = withImages(
+                reportRepository.findResponsePage(after.getCreatedAt(), after.getId(), ReportCursor.fetchWindow(limit)));
+        return ReportCursor.toPage(reportArchiveService.mergeArchivedWindow(hot, after, limit),
+                limit, UnaryOperator.identity());
     }
 
     public List<ReportResponse> getReportsForUser(String email) {
-        return reportRepository.findByReporterEmail(email).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return withImages(reportRepository.findResponsesByReporterEmail(email));
     }
 
-    public List<ReportResponse> getAvailableReports() {
-        List<ReportStatus> availableStatuses = List.of(
-                ReportStatus.SUBMITTED,
-                ReportStatus.SEARCHING_FOR_HELP);
-        return reportRepository.findByStatusIn(availableStatuses).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<ReportResponse> getReportsForUser(String email, String cursor, int limit) {
+        ReportCursor after = ReportCursor.decode(cursor);
+        return ReportCursor.toPage(
+                reportRepository.findResponsePageByReporterEmail(email, after.getCreatedAt(), after.getId(),
+                        ReportCursor.fetchWindow(limit)),
+                limit, this::withImages);
     }
 
-    public List<ReportResponse> getReportsByNgo(Long ngoId) {
-        return reportRepository.findByAssignedNgoId(ngoId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<ReportResponse> getAvailableReports() {
+        return withImages(reportRepository.findAvailableResponses(OPEN_STATUSES));
     }
 
-    public Optional<ReportResponse> acceptReport(Long reportId, Long ngoId, String ngoName) {
-        Optional<AnimalReport> reportOpt = reportRepository.findById(reportId);
-        if (reportOpt.isPresent()) {
-            AnimalReport report = reportOpt.get();
-            if (report.getStatus() == ReportStatus.SUBMITTED ||
-                    report.getStatus() == ReportStatus.SEARCHING_FOR_HELP) {
+    /**
+     * Available reports together with the delta-feed sequence they reflect. The
+     * sequence is read first, so every delta at or below it is already included.
+     */
+    public AvailableReportsSnapshot getAvailableReportsSnapshot() {
+        long sequence = availableReportsFeed.currentSequence();
+        return new AvailableReportsSnapshot(sequence, getAvailableReports());
+    }
 
-                report.setAssignedNgoId(ngoId);
-                report.setAssignedNgoName(ngoName);
-                report.setStatus(ReportStatus.HELP_ON_THE_WAY);
-                report.setUpdatedAt(LocalDateTime.now());
+    public CursorPage<ReportResponse> getAvailableReports(String cursor, int limit) {
+        ReportCursor after = ReportCursor.decode(cursor);
+        return ReportCursor.toPage(
+                reportRepository.findAvailableResponsePage(OPEN_STATUSES, after.getCreatedAt(), after.getId(),
+                        ReportCursor.fetchWindow(limit)),
+                limit, this::withImages);
+    }
 
-                AnimalReport savedReport = reportRepository.save(report);
-                return Optional.of(convertToResponse(savedReport));
-            }
+    /**
+     * Open reports within radiusKm of a point, nearest first
+     */
+    public List<ReportResponse> getNearbyReports(Double latitude, Double longitude, Double radiusKm) {
+        List<ReportResponse> candidates = new ArrayList<>();
+        for (double[] box : GeoUtils.boundingBoxes(latitude, longitude, radiusKm)) {
+            Set<String> cells = GeoHash.coveringCells(box[0], box[1], box[2], box[3],
+                    AnimalReport.GEO_CELL_PRECISION, MAX_COVERING_CELLS);
+            candidates.addAll(cells != null
+                    ? reportRepository.findNearbyReports(cells, box[0], box[1], box[2], box[3])
+                    : reportRepository.findOpenReportsInBox(box[0], box[1], box[2], box[3]));
         }
-        return Optional.empty();
+
+        return withImages(candidates.stream()
+                .filter(r -> distanceKm(r, latitude, longitude) <= radiusKm)
+                .sorted(Comparator.comparingDouble(r -> distanceKm(r, latitude, longitude)))
+                .collect(Collectors.toList()));
+    }
+
+    public List<ReportResponse> getReportsByNgo(Long ngoId) {
+        return withImages(reportRepository.findResponsesByAssignedNgoId(ngoId));
+    }
+
+    public CursorPage<ReportResponse> getReportsByNgo(Long ngoId, String cursor, int limit) {
+        ReportCursor after = ReportCursor.decode(cursor);
+        return ReportCursor.toPage(
+                reportRepository.findResponsePageByAssignedNgoId(ngoId, after.getCreatedAt(), after.getId(),
+                        ReportCursor.fetchWindow(limit)),
+                limit, this::withImages);
     }
 
+    @Transactional
+    public Optional<ReportResponse> acceptReport(Long reportId, Long ngoId, String ngoName) {
+        return reportRepository.findById(reportId)
+                .flatMap(report -> acceptReportByTrackingId(report.getTrackingId(), ngoId, ngoName));
+    }
+
+    @Transactional
     public Optional<ReportResponse> updateReportStatus(Long reportId, ReportStatus status) {
         Optional<AnimalReport> reportOpt = reportRepository.findById(reportId);
         if (reportOpt.isPresent()) {
             AnimalReport report = reportOpt.get();
+            boolean wasAvailable = isAvailable(report.getStatus(), report.getDuplicateOf());
             report.setStatus(status);
             report.setUpdatedAt(LocalDateTime.now());
 
             AnimalReport savedReport = reportRepository.save(report);
-            return Optional.of(convertToResponse(savedReport));
+            return Optional.of(caseChanged(wasAvailable, convertToResponse(savedReport)));
         }
         return Optional.empty();
     }
 
+    /**
+     * Claim an open report for an NGO. Empty if the report does not exist;
+     * ReportConflictException if it is no longer open (e.g. another NGO got there first).
+     */
+    @Transactional
     public Optional<ReportResponse> acceptReportByTrackingId(String trackingId, Long ngoId, String ngoName) {
+        int updated = reportRepository.claimForNgo(trackingId, ngoId, ngoName,
+                ReportStatus.HELP_ON_THE_WAY, OPEN_STATUSES, LocalDateTime.now());
         Optional<AnimalReport> reportOpt = reportRepository.findByTrackingId(trackingId);
-        if (reportOpt.isPresent()) {
+        if (updated == 0 && reportOpt.isPresent()) {
             AnimalReport report = reportOpt.get();
-            if (report.getStatus() == ReportStatus.SUBMITTED ||
-                    report.getStatus() == ReportStatus.SEARCHING_FOR_HELP) {
-
-                report.setAssignedNgoId(ngoId);
-                report.setAssignedNgoName(ngoName);
-                report.setStatus(ReportStatus.HELP_ON_THE_WAY);
-                report.setUpdatedAt(LocalDateTime.now());
-
-                AnimalReport savedReport = reportRepository.save(report);
-                return Optional.of(convertToResponse(savedReport));
+            if (report.getDuplicateOf() != null) {
+                throw new ReportConflictException("Report is a duplicate of " + report.getDuplicateOf()
+                        + "; accept that case instead");
+            }
+            if (report.getAssignedNgoId() != null) {
+                throw new ReportConflictException("Report has already been accepted by "
+                        + report.getAssignedNgoName());
             }
+            throw new ReportConflictException("Report can no longer be accepted (status: "
+                    + report.getStatus().getDisplayName() + ")");
         }
-        return Optional.empty();
+        // A successful claim always takes the report out of the available set
+        return reportOpt.map(report -> caseChanged(true, convertToResponse(report)));
+    }
+
+    /**
+     * Move a case nobody has claimed from SUBMITTED to SEARCHING_FOR_HELP (see
+     * ReportEscalationService). Empty if it is no longer SUBMITTED.
+     */
+    @Transactional
+    public Optional<ReportResponse> markSearchingForHelp(String trackingId) {
+        int updated = reportRepository.updateStatusIfCurrent(trackingId, ReportStatus.SUBMITTED,
+                ReportStatus.SEARCHING_FOR_HELP, LocalDateTime.now());
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        // Available before and after
+        return reportRepository.findByTrackingId(trackingId).map(report -> caseChanged(true, convertToResponse(report)));
     }
 
+    @Transactional
     public Optional<ReportResponse> updateReportStatusByTrackingId(String trackingId, ReportStatus status) {
         Optional<AnimalReport> reportOpt = reportRepository.findByTrackingId(trackingId);
         if (reportOpt.isPresent()) {
             AnimalReport report = reportOpt.get();
+            boolean wasAvailable = isAvailable(report.getStatus(), report.getDuplicateOf());
             report.setStatus(status);
             report.setUpdatedAt(LocalDateTime.now());
 
             AnimalReport savedReport = reportRepository.save(report);
-            return Optional.of(convertToResponse(savedReport));
+            return Optional.of(caseChanged(wasAvailable, convertToResponse(savedReport)));
         }
         return Optional.empty();
     }
 
+    /**
+     * Assign (or reassign) a worker to a report held by an NGO. Empty if the report
+     * does not exist; ReportConflictException if it is not in an assignable state.
+     */
+    @Transactional
     public Optional<ReportResponse> assignReportToWorker(String trackingId, Long workerId, String workerName) {
+        int updated = reportRepository.assignWorkerIfAssignable(trackingId, workerId, workerName,
+                ReportStatus.TEAM_DISPATCHED, ASSIGNABLE_STATUSES, LocalDateTime.now());
         Optional<AnimalReport> reportOpt = reportRepository.findByTrackingId(trackingId);
-        if (reportOpt.isPresent()) {
+        if (updated == 0 && reportOpt.isPresent()) {
             AnimalReport report = reportOpt.get();
-            // Only allow assignment if report is assigned to an NGO
-            if (report.getAssignedNgoId() != null) {
-                report.setAssignedWorkerId(workerId);
-                report.setAssignedWorkerName(workerName);
-                report.setStatus(ReportStatus.TEAM_DISPATCHED);
-                report.setUpdatedAt(LocalDateTime.now());
-
-                AnimalReport savedReport = reportRepository.save(report);
-                return Optional.of(convertToResponse(savedReport));
+            if (report.getDuplicateOf() != null) {
+                throw new ReportConflictException("Report is a duplicate of " + report.getDuplicateOf()
+                        + "; assign that case instead");
+            }
+            if (report.getAssignedNgoId() == null) {
+                throw new ReportConflictException("Report has not been accepted by an NGO yet");
             }
+            throw new ReportConflictException("Report can no longer be assigned (status: "
+                    + report.getStatus().getDisplayName() + ")");
         }
-        return Optional.empty();
+        return reportOpt.map(report -> caseChanged(false, convertToResponse(report)));
     }
 
     public List<ReportResponse> getReportsAssignedToWorker(Long workerId) {
-        return reportRepository.findByAssignedWorkerId(workerId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return withImages(reportRepository.findResponsesByAssignedWorkerId(workerId));
+    }
+
+    public CursorPage<ReportResponse> getReportsAssignedToWorker(Long workerId, String cursor, int limit) {
+        ReportCursor after = ReportCursor.decode(cursor);
+        return ReportCursor.toPage(
+                reportRepository.findResponsePageByAssignedWorkerId(workerId, after.getCreatedAt(), after.getId(),
+                        ReportCursor.fetchWindow(limit)),
+                limit, this::withImages);
+    }
+
+    // Call after every write to a report, inside its transaction. Every such
+    // write sets the status, which goes into the status history; then cached
+    // reads, ETags and live subscribers move on. wasAvailable is whether the
+    // report was open for NGOs before the write. Returns the response for chaining.
+    private ReportResponse reportChanged(boolean wasAvailable, ReportResponse updated) {
+        statusHistory.record(updated);
+        reportSearchIndex.index(updated);
+        ngoCaseloads.update(updated);
+        escalationTimers.track(updated);
+        trackingLookupCache.invalidate(updated.getTrackingId());
+        resourceVersions.reportsChanged();
+        reportEventStream.publish(updated);
+        availableReportsFeed.publish(wasAvailable, updated);
+        return updated;
+    }
+
+    // After reportChanged for a newly filed report: offer it to nearby NGOs
+    private ReportResponse reportCreated(ReportResponse created) {
+        autoDispatchService.dispatch(created);
+        return created;
     }
 
-    private String generateTrackingId() {
-        return "PR-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    // reportChanged for a write that may move a case along: its linked
+    // duplicates take over the new status and team in the same transaction
+    private ReportResponse caseChanged(boolean wasAvailable, ReportResponse updated) {
+        reportChanged(wasAvailable, updated);
+        if (updated.getDuplicateOf() == null
+                && reportRepository.mirrorOntoDuplicates(updated.getTrackingId(), updated.getStatus(),
+                        updated.getAssignedNgoId(), updated.getAssignedNgoName(),
+                        updated.getAssignedWorkerId(), updated.getAssignedWorkerName(), LocalDateTime.now()) > 0) {
+            for (ReportResponse duplicate : withImages(reportRepository.findResponsesByDuplicateOf(updated.getTrackingId()))) {
+                reportChanged(false, duplicate);
+            }
+        }
+        return updated;
+    }
+
+    // A new report joins the existing case and starts out where that case is
+    private static void linkToCase(AnimalReport report, AnimalReport existing) {
+        report.setDuplicateOf(existing.getTrackingId());
+        report.setStatus(existing.getStatus());
+        report.setAssignedNgoId(existing.getAssignedNgoId());
+        report.setAssignedNgoName(existing.getAssignedNgoName());
+        report.setAssignedWorkerId(existing.getAssignedWorkerId());
+        report.setAssignedWorkerName(existing.getAssignedWorkerName());
+    }
+
+    // Whether NGOs see the report among available reports: open, and a case of
+    // its own rather than a linked duplicate
+    static boolean isAvailable(ReportStatus status, String duplicateOf) {
+        return OPEN_STATUSES.contains(status) && duplicateOf == null;
+    }
+
+    private double distanceKm(ReportResponse report, double latitude, double longitude) {
+        return GeoUtils.distanceKm(latitude, longitude, report.getLatitude(), report.getLongitude());
+    }
+
+    /**
+     * Fill in imageUrls for projected reports with one query for the whole list,
+     * instead of one lazy collection load per report
+     */
+    public List<ReportResponse> withImages(List<ReportResponse> reports) {
+        if (reports.isEmpty()) {
+            return reports;
+        }
+
+        List<Long> ids = new ArrayList<>(reports.size());
+        for (ReportResponse report : reports) {
+            ids.add(report.getId());
+        }
+        Map<Long, List<String>> imagesByReport = new HashMap<>();
+        for (Object[] row : reportRepository.findImageUrlsByReportIds(ids)) {
+            imagesByReport.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        for (ReportResponse report : reports) {
+            report.setImageUrls(imagesByReport.getOrDefault(report.getId(), new ArrayList<>()));
+        }
+        return reports;
+    }
+
+    private AnimalReport newReport(ReportRequest request) {
+        return newReport(request, trackingIdGenerator.nextTrackingId(), LocalDateTime.now());
+    }
+
+    private AnimalReport newReport(ReportRequest request, String trackingId, LocalDateTime createdAt) {
+        AnimalReport report = new AnimalReport();
+        report.setTrackingId(trackingId);
+        report.setAnimalType(request.getAnimalType());
+        report.setCondition(request.getCondition());
+        report.setInjuryDescription(request.getInjuryDescription());
+        report.setAdditionalNotes(request.getAdditionalNotes());
+        report.setLatitude(request.getLatitude());
+        report.setLongitude(request.getLongitude());
+        report.setAddress(request.getAddress());
+        report.setImageUrls(request.getImageUrls());
+        report.setReporterName(request.getReporterName());
+        report.setReporterPhone(request.getReporterPhone());
+        report.setReporterEmail(request.getReporterEmail());
+        report.setStatus(ReportStatus.SUBMITTED);
+        report.setCreatedAt(createdAt);
+        report.setUpdatedAt(createdAt);
+        return report;
     }
 
     private ReportResponse convertToResponse(AnimalReport report) {
@@ -177,7 +457,8 @@ public class AnimalReportService {
         response.setLatitude(report.getLatitude());
         response.setLongitude(report.getLongitude());
         response.setAddress(report.getAddress());
-        response.setImageUrls(report.getImageUrls());
+        // Copy so the response does not hold on to Hibernate's lazy collection
+        response.setImageUrls(report.getImageUrls() != null ? new ArrayList<>(report.getImageUrls()) : null);
         response.setStatus(report.getStatus());
         response.setReporterName(report.getReporterName());
         response.setReporterPhone(report.getReporterPhone());
@@ -188,6 +469,7 @@ public class AnimalReportService {
         response.setAssignedNgoName(report.getAssignedNgoName());
         response.setAssignedWorkerId(report.getAssignedWorkerId());
         response.setAssignedWorkerName(report.getAssignedWorkerName());
+        response.setDuplicateOf(report.getDuplicateOf());
         return response;
     }
 }
\ No newline at end of file
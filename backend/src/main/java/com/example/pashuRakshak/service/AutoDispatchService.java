@@ -0,0 +1,154 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.DispatchOffer;
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.Ngo;
+import com.example.pashuRakshak.util.GeoUtils;
+import com.example.pashuRakshak.util.Transactions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Offers each new case to the best-placed NGOs once it commits, instead of
+ * waiting for one to notice it among the available reports.
+ *
+ * Candidates are the app.dispatchCandidatePool nearest active, approved NGOs
+ * from NgoSpatialIndex, within app.dispatchMaxDistanceKm. Each is scored by
+ * great-circle distance plus app.dispatchKmPerOpenCase for every case it
+ * already has open (NgoCaseloadCounters), so a busy NGO next door can lose to
+ * an idle one a little further away. The app.dispatchOfferCount lowest scores
+ * get an offer on /topic/ngos/{ngoId}/offers; accepting still goes through the
+ * usual accept endpoint, first come first served. Everything is in memory, so
+ * ranking costs a k-d tree lookup and a few map reads.
+ */
+@Service
+public class AutoDispatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutoDispatchService.class);
+
+    public static final String OFFERS_TOPIC = "/topic/ngos/%d/offers";
+
+    @Autowired
+    private NgoSpatialIndex ngoSpatialIndex;
+
+    @Autowired
+    private NgoCaseloadCounters caseloads;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final boolean enabled;
+    private final int offerCount;
+    private final int candidatePool;
+    private final double maxDistanceKm;
+    private final double kmPerOpenCase;
+
+    public AutoDispatchService(@Value("${app.autoDispatch:true}") boolean enabled,
+                               @Value("${app.dispatchOfferCount:3}") int offerCount,
+                               @Value("${app.dispatchCandidatePool:32}") int candidatePool,
+                               @Value("${app.dispatchMaxDistanceKm:50}") double maxDistanceKm,
+                               @Value("${app.dispatchKmPerOpenCase:2}") double kmPerOpenCase) {
+        this.enabled = enabled;
+        this.offerCount = offerCount;
+        this.candidatePool = candidatePool;
+        this.maxDistanceKm = maxDistanceKm;
+        this.kmPerOpenCase = kmPerOpenCase;
+    }
+
+    /**
+     * Offer a newly filed report to the top NGOs once its transaction commits.
+     * Linked duplicates are skipped: their case was dispatched already.
+     */
+    public void dispatch(ReportResponse report) {
+        if (!enabled || report.getDuplicateOf() != null || report.getLatitude() == null
+                || report.getLongitude() == null
+                || !AnimalReportService.isAvailable(report.getStatus(), report.getDuplicateOf())) {
+            return;
+        }
+        Transactions.afterCommit(() -> offer(report));
+    }
+
+    /**
+     * The NGOs a report would be offered to, best first
+     */
+    public List<DispatchOffer> rank(ReportResponse report) {
+        return rank(report, maxDistanceKm, candidatePool, Set.of());
+    }
+
+    /**
+     * Offer a report that has gone unclaimed again, this time out to radiusKm
+     * and leaving out the NGOs in alreadyOffered (see ReportEscalationService).
+     * The candidate pool grows with the radius so a wider search reaches past
+     * the NGOs that filled it the first time. Returns the offers sent.
+     */
+    public List<DispatchOffer> reoffer(ReportResponse report, double radiusKm, Set<Long> alreadyOffered) {
+        if (!enabled || report.getLatitude() == null || report.getLongitude() == null) {
+            return List.of();
+        }
+        int pool = candidatePool + alreadyOffered.size()
+                + (int) Math.ceil(candidatePool * Math.max(0, radiusKm / maxDistanceKm - 1));
+        List<DispatchOffer> offers = rank(report, radiusKm, pool, alreadyOffered);
+        send(offers);
+        return offers;
+    }
+
+    public double getMaxDistanceKm() {
+        return maxDistanceKm;
+    }
+
+    private List<DispatchOffer> rank(ReportResponse report, double radiusKm, int pool, Set<Long> excluded) {
+        double latitude = report.getLatitude();
+        double longitude = report.getLongitude();
+        List<DispatchOffer> candidates = new ArrayList<>();
+        // Nearest first, so the first one past the limit ends the list
+        for (Ngo ngo : ngoSpatialIndex.findNearest(latitude, longitude, pool)) {
+            double distanceKm = GeoUtils.distanceKm(latitude, longitude, ngo.getLatitude(), ngo.getLongitude());
+            if (distanceKm > radiusKm) {
+                break;
+            }
+            if (excluded.contains(ngo.getId())) {
+                continue;
+            }
+            candidates.add(new DispatchOffer(ngo.getId(), 0, distanceKm, caseloads.openCases(ngo.getId()), report));
+        }
+        candidates.sort(Comparator.comparingDouble(this::score));
+
+        List<DispatchOffer> offers = candidates.size() > offerCount ? candidates.subList(0, offerCount) : candidates;
+        for (int i = 0; i < offers.size(); i++) {
+            offers.get(i).setRank(i + 1);
+        }
+        return offers;
+    }
+
+    private void offer(ReportResponse report) {
+        try {
+            List<DispatchOffer> offers = rank(report);
+            send(offers);
+            if (offers.isEmpty()) {
+                log.info("No NGO within {} km to offer report {} to", maxDistanceKm, report.getTrackingId());
+            }
+        } catch (RuntimeException e) {
+            // The report is filed either way and stays in the available list
+            log.warn("Auto-dispatch of report {} failed: {}", report.getTrackingId(), e.getMessage());
+        }
+    }
+
+    private void send(List<DispatchOffer> offers) {
+        for (DispatchOffer offer : offers) {
+            messagingTemplate.convertAndSend(String.format(OFFERS_TOPIC, offer.getNgoId()), offer);
+        }
+    }
+
+    private double score(DispatchOffer candidate) {
+        return candidate.getDistanceKm() + kmPerOpenCase * candidate.getOpenCases();
+    }
+}
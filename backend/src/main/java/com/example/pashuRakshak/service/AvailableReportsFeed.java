@@ -0,0 +1,58 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.AvailableReportDelta;
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.util.Transactions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sequence-numbered change stream of the reports NGOs can accept, on the shared
+ * STOMP broker. Dashboards load one snapshot (which carries the sequence it is
+ * current as of) and then apply only deltas with a higher sequence. Deltas are
+ * full upserts / removals, so applying one that the snapshot already reflects
+ * is harmless. A gap in the sequence means the client missed something and
+ * should reload the snapshot.
+ */
+@Component
+public class AvailableReportsFeed {
+
+    public static final String TOPIC = "/topic/reports/available";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private long sequence;
+
+    public synchronized long currentSequence() {
+        return sequence;
+    }
+
+    /**
+     * Emit the delta for a report that was written. wasAvailable says whether the
+     * report was available before the write; inside a transaction the delta goes out
+     * only once it commits.
+     */
+    public void publish(boolean wasAvailable, ReportResponse report) {
+        boolean available = AnimalReportService.isAvailable(report.getStatus(), report.getDuplicateOf());
+        AvailableReportDelta.Type type;
+        if (available) {
+            type = wasAvailable ? AvailableReportDelta.Type.UPDATED : AvailableReportDelta.Type.ADDED;
+        } else if (wasAvailable) {
+            type = AvailableReportDelta.Type.REMOVED;
+        } else {
+            return;
+        }
+
+        Transactions.afterCommit(() -> send(type, report));
+    }
+
+    // Numbering and sending under one lock keeps the topic in sequence order
+    private synchronized void send(AvailableReportDelta.Type type, ReportResponse report) {
+        sequence++;
+        messagingTemplate.convertAndSend(TOPIC, new AvailableReportDelta(sequence, type,
+                report.getId(), report.getTrackingId(),
+                type == AvailableReportDelta.Type.REMOVED ? null : report));
+    }
+}
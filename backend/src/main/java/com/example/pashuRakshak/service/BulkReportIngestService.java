@@ -0,0 +1,178 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.BulkIngestItemResult;
+import com.example.pashuRakshak.dto.BulkIngestResponse;
+import com.example.pashuRakshak.dto.ReportRequest;
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Replays partner call-centre logs: reads a JSON array or NDJSON stream of
+ * ReportRequest item by item, validates each one, and writes the valid ones in
+ * chunks (one transaction and a few JDBC batches per chunk). One bad item or a
+ * failed chunk does not stop the rest.
+ */
+@Service
+public class BulkReportIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkReportIngestService.class);
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private AnimalReportService animalReportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.bulkIngestChunkSize:100}")
+    private int chunkSize;
+
+    @Value("${app.bulkIngestMaxItems:10000}")
+    private int maxItems;
+
+    public BulkIngestResponse ingest(InputStream body, boolean ndjson) throws IOException {
+        Batch batch = new Batch();
+        if (ndjson) {
+            readNdjson(body, batch);
+        } else {
+            readArray(body, batch);
+        }
+        batch.flush();
+        batch.response.getResults().sort(Comparator.comparingInt(BulkIngestItemResult::getIndex));
+        return batch.response;
+    }
+
+    // One item per non-blank line; a malformed line only fails that item
+    private void readNdjson(InputStream body, Batch batch) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!batch.hasRoom()) {
+                return;
+            }
+            try {
+                batch.add(objectMapper.readValue(line, ReportRequest.class));
+            } catch (JsonProcessingException e) {
+                batch.reject("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // Streams the array element by element; a syntax error ends the read, since
+    // there is no safe place to resume from
+    private void readArray(InputStream body, Batch batch) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of reports");
+            }
+            while (true) {
+                JsonNode node;
+                try {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        return;
+                    }
+                    node = parser.readValueAsTree();
+                } catch (JsonProcessingException e) {
+                    batch.reject("Malformed JSON, input not read past this point: " + e.getOriginalMessage());
+                    return;
+                }
+                if (!batch.hasRoom()) {
+                    return;
+                }
+                try {
+                    batch.add(objectMapper.treeToValue(node, ReportRequest.class));
+                } catch (JsonProcessingException e) {
+                    batch.reject("Invalid report: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private final class Batch {
+        final BulkIngestResponse response = new BulkIngestResponse();
+        final List<ReportRequest> pending = new ArrayList<>();
+        final List<Integer> pendingIndexes = new ArrayList<>();
+        int nextIndex;
+
+        boolean hasRoom() {
+            if (nextIndex < maxItems) {
+                return true;
+            }
+            response.setTruncated(true);
+            return false;
+        }
+
+        void add(ReportRequest request) {
+            int index = nextIndex++;
+            Set<ConstraintViolation<ReportRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                List<String> errors = new ArrayList<>();
+                for (ConstraintViolation<ReportRequest> violation : violations) {
+                    errors.add(violation.getMessage());
+                }
+                errors.sort(null);
+                response.add(BulkIngestItemResult.invalid(index, errors));
+                return;
+            }
+            pending.add(request);
+            pendingIndexes.add(index);
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(String error) {
+            response.add(BulkIngestItemResult.invalid(nextIndex++, List.of(error)));
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                List<ReportResponse> saved = animalReportService.createReports(pending);
+                for (int i = 0; i < saved.size(); i++) {
+                    response.add(BulkIngestItemResult.created(pendingIndexes.get(i), saved.get(i).getTrackingId()));
+                }
+            } catch (RuntimeException e) {
+                // The chunk's transaction rolled back as a whole. The database's
+                // message (SQL, constraint names) goes to the log, not the client.
+                log.error("Bulk ingest chunk of {} reports (items {} to {}) could not be saved",
+                        pendingIndexes.size(), pendingIndexes.get(0), pendingIndexes.get(pendingIndexes.size() - 1), e);
+                for (Integer index : pendingIndexes) {
+                    response.add(BulkIngestItemResult.failed(index, "Could not be saved"));
+                }
+            }
+            pending.clear();
+            pendingIndexes.clear();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.entity.AnimalReport;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.util.GeoHash;
+import com.example.pashuRakshak.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Spots reports of an incident that already has a case: one incident (an injured
+ * cow on a highway) often brings in many reports within minutes and a few hundred
+ * metres of each other. A new report matches the nearest active case of the same
+ * animal type within app.duplicateRadiusMeters that was created in the last
+ * app.duplicateWindowMinutes.
+ *
+ * Candidates come from the (geo_cell, created_at) index, the same geohash cells
+ * the nearby search uses, so the check never scans the table.
+ */
+@Component
+public class DuplicateReportDetector {
+
+    // Cases still being worked on; a report near a closed case is a new incident
+    static final List<ReportStatus> ACTIVE_STATUSES = List.of(ReportStatus.SUBMITTED,
+            ReportStatus.SEARCHING_FOR_HELP, ReportStatus.HELP_ON_THE_WAY, ReportStatus.TEAM_DISPATCHED);
+
+    // Plenty for the few-hundred-metre radii this is meant for
+    private static final int MAX_COVERING_CELLS = 16;
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    private final boolean enabled;
+    private final double radiusKm;
+    private final long windowMinutes;
+
+    public DuplicateReportDetector(@Value("${app.duplicateDetection:true}") boolean enabled,
+                                   @Value("${app.duplicateRadiusMeters:300}") double radiusMeters,
+                                   @Value("${app.duplicateWindowMinutes:30}") long windowMinutes) {
+        this.enabled = enabled;
+        this.radiusKm = radiusMeters / 1000.0;
+        this.windowMinutes = windowMinutes;
+    }
+
+    /**
+     * The existing case a new (not yet saved) report most likely duplicates, if any
+     */
+    public Optional<AnimalReport> findCase(AnimalReport report) {
+        return findCase(report, List.of());
+    }
+
+    /**
+     * The same, also matching cases not yet written: the reports filed before
+     * this one in the same batch, which the database cannot see yet
+     */
+    public Optional<AnimalReport> findCase(AnimalReport report, List<AnimalReport> unsaved) {
+        if (!enabled || report.getLatitude() == null || report.getLongitude() == null
+                || report.getAnimalType() == null) {
+            return Optional.empty();
+        }
+        double latitude = report.getLatitude();
+        double longitude = report.getLongitude();
+        LocalDateTime since = report.getCreatedAt().minusMinutes(windowMinutes);
+        List<AnimalReport> candidates = new ArrayList<>();
+        for (double[] box : GeoUtils.boundingBoxes(latitude, longitude, radiusKm)) {
+            Set<String> cells = GeoHash.coveringCells(box[0], box[1], box[2], box[3],
+                    AnimalReport.GEO_CELL_PRECISION, MAX_COVERING_CELLS);
+            if (cells == null) {
+                // Radius configured too large to look up by cell; not worth a scan
+                return Optional.empty();
+            }
+            candidates.addAll(reportRepository.findRecentCasesNear(cells, since, ACTIVE_STATUSES,
+                    box[0], box[1], box[2], box[3]));
+        }
+        for (AnimalReport other : unsaved) {
+            // Same conditions findRecentCasesNear puts on saved cases
+            if (other.getDuplicateOf() == null && ACTIVE_STATUSES.contains(other.getStatus())
+                    && other.getLatitude() != null && other.getLongitude() != null
+                    && other.getAnimalType() != null && !other.getCreatedAt().isBefore(since)) {
+                candidates.add(other);
+            }
+        }
+
+        String animalType = report.getAnimalType().trim();
+        return candidates.stream()
+                .filter(existing -> animalType.equalsIgnoreCase(existing.getAnimalType().trim()))
+                .filter(existing -> distanceKm(existing, latitude, longitude) <= radiusKm)
+                .min(Comparator.comparingDouble(existing -> distanceKm(existing, latitude, longitude)));
+    }
+
+    private static double distanceKm(AnimalReport report, double latitude, double longitude) {
+        return GeoUtils.distanceKm(latitude, longitude, report.getLatitude(), report.getLongitude());
+    }
+}
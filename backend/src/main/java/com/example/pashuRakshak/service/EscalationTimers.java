@@ -0,0 +1,241 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.util.TimingWheel;
+import com.example.pashuRakshak.util.Transactions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * One pending escalation deadline per open case, in a TimingWheel, so nothing
+ * has to re-scan the reports table to find stale ones. Filing, moving and
+ * dropping a deadline are O(1); a single ticker thread advances the wheel
+ * every app.escalationTickMs and hands due escalations to the handler given to
+ * start() (ReportEscalationService).
+ *
+ * A case nobody has claimed (SUBMITTED or SEARCHING_FOR_HELP) is due
+ * app.escalateSubmittedAfterMinutes after it was filed, or
+ * app.escalateSearchingAfterMinutes after it last changed if it is already
+ * searching. A case an NGO holds (HELP_ON_THE_WAY or TEAM_DISPATCHED) is due
+ * app.escalateStalledAfterMinutes after its last write. Kept current from
+ * AnimalReportService's writes once they commit, and rebuilt from the open
+ * reports at startup.
+ */
+@Component
+public class EscalationTimers {
+
+    private static final Logger log = LoggerFactory.getLogger(EscalationTimers.class);
+
+    private static final List<ReportStatus> WATCHED_STATUSES = List.of(ReportStatus.SUBMITTED,
+            ReportStatus.SEARCHING_FOR_HELP, ReportStatus.HELP_ON_THE_WAY, ReportStatus.TEAM_DISPATCHED);
+
+    enum Phase { UNCLAIMED, STALLED }
+
+    /**
+     * What to do when a deadline passes. level counts the escalations already
+     * done; offeredNgoIds are the NGOs an unclaimed case has been offered to.
+     */
+    static final class Escalation {
+        final String trackingId;
+        final Phase phase;
+        final ReportStatus status;
+        final int level;
+        final Set<Long> offeredNgoIds;
+
+        Escalation(String trackingId, Phase phase, ReportStatus status, int level, Set<Long> offeredNgoIds) {
+            this.trackingId = trackingId;
+            this.phase = phase;
+            this.status = status;
+            this.level = level;
+            this.offeredNgoIds = offeredNgoIds;
+        }
+    }
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    private final boolean enabled;
+    private final long tickMs;
+    private final Duration submittedAfter;
+    private final Duration searchingAfter;
+    private final Duration stalledAfter;
+    private final TimingWheel<Escalation> wheel;
+    private final Map<String, TimingWheel.Timeout<Escalation>> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+
+    public EscalationTimers(@Value("${app.escalation:true}") boolean enabled,
+                            @Value("${app.escalationTickMs:1000}") long tickMs,
+                            @Value("${app.escalationWheelSize:64}") int wheelSize,
+                            @Value("${app.escalateSubmittedAfterMinutes:10}") long submittedAfterMinutes,
+                            @Value("${app.escalateSearchingAfterMinutes:15}") long searchingAfterMinutes,
+                            @Value("${app.escalateStalledAfterMinutes:240}") long stalledAfterMinutes) {
+        this.enabled = enabled;
+        this.tickMs = tickMs;
+        this.submittedAfter = Duration.ofMinutes(submittedAfterMinutes);
+        this.searchingAfter = Duration.ofMinutes(searchingAfterMinutes);
+        this.stalledAfter = Duration.ofMinutes(stalledAfterMinutes);
+        this.wheel = new TimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * File a deadline for every open case and start the ticker
+     */
+    void start(Consumer<Escalation> handler) {
+        if (!enabled) {
+            return;
+        }
+        List<ReportResponse> open = reportRepository.findResponsesByStatusIn(WATCHED_STATUSES);
+        open.forEach(this::apply);
+        log.info("Escalation timers rebuilt: {} pending", wheel.size());
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-escalation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(() -> wheel.advance(System.currentTimeMillis(),
+                escalation -> expire(escalation, handler)), tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Move a report's deadline after a write. Inside a transaction this waits
+     * for the commit.
+     */
+    public void track(ReportResponse report) {
+        if (!enabled) {
+            return;
+        }
+        Transactions.afterCommit(() -> apply(report));
+    }
+
+    /**
+     * File the next step for a case that has just escalated, replacing whatever
+     * its own writes filed in the meantime
+     */
+    void refile(Escalation next) {
+        Duration delay = next.phase == Phase.UNCLAIMED ? searchingAfter : stalledAfter;
+        long deadline = System.currentTimeMillis() + delay.toMillis();
+        pending.compute(next.trackingId, (id, existing) -> {
+            if (existing != null) {
+                existing.cancel();
+            }
+            return wheel.schedule(next, deadline);
+        });
+    }
+
+    /**
+     * Drop a case's deadline, e.g. once it has escalated as far as it goes
+     */
+    void drop(String trackingId) {
+        TimingWheel.Timeout<Escalation> timeout = pending.remove(trackingId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    static Phase phaseOf(ReportResponse report) {
+        if (report.getDuplicateOf() != null || report.getStatus() == null) {
+            return null;
+        }
+        switch (report.getStatus()) {
+            case SUBMITTED:
+            case SEARCHING_FOR_HELP:
+                return Phase.UNCLAIMED;
+            case HELP_ON_THE_WAY:
+            case TEAM_DISPATCHED:
+                return Phase.STALLED;
+            default:
+                return null;
+        }
+    }
+
+    public int pendingCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Pending deadlines per phase (a scan; for the admin stats only)
+     */
+    Map<Phase, Integer> pendingByPhase() {
+        Map<Phase, Integer> counts = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            counts.put(phase, 0);
+        }
+        for (TimingWheel.Timeout<Escalation> timeout : new ArrayList<>(pending.values())) {
+            counts.merge(timeout.getPayload().phase, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private void apply(ReportResponse report) {
+        Phase phase = phaseOf(report);
+        pending.compute(report.getTrackingId(), (id, existing) -> {
+            if (existing != null) {
+                // An unclaimed case keeps its clock, and escalation level, through
+                // SUBMITTED -> SEARCHING_FOR_HELP; any other write starts it over
+                if (phase == Phase.UNCLAIMED && existing.getPayload().phase == Phase.UNCLAIMED) {
+                    return existing;
+                }
+                existing.cancel();
+            }
+            if (phase == null) {
+                return null;
+            }
+            Escalation escalation = new Escalation(id, phase, report.getStatus(), 0, Set.of());
+            return wheel.schedule(escalation, firstDeadline(report, phase));
+        });
+    }
+
+    private long firstDeadline(ReportResponse report, Phase phase) {
+        if (phase == Phase.UNCLAIMED && report.getStatus() == ReportStatus.SUBMITTED) {
+            return epochMillis(report.getCreatedAt(), submittedAfter);
+        }
+        return epochMillis(report.getUpdatedAt() != null ? report.getUpdatedAt() : report.getCreatedAt(),
+                phase == Phase.UNCLAIMED ? searchingAfter : stalledAfter);
+    }
+
+    private static long epochMillis(LocalDateTime since, Duration delay) {
+        if (since == null) {
+            return System.currentTimeMillis() + delay.toMillis();
+        }
+        return since.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + delay.toMillis();
+    }
+
+    private void expire(Escalation escalation, Consumer<Escalation> handler) {
+        pending.computeIfPresent(escalation.trackingId,
+                (id, timeout) -> timeout.getPayload() == escalation ? null : timeout);
+        try {
+            handler.accept(escalation);
+        } catch (RuntimeException e) {
+            // Keep the ticker alive; the case stays open and visible either way
+            log.warn("Escalation of report {} failed: {}", escalation.trackingId, e.getMessage());
+        }
+    }
+}
@@ -1,24 +1,42 @@
 package com.example.pashuRakshak.service;
 
-import com.example.pashuRakshak.entity.AnimalReport;
+import com.example.pashuRakshak.dto.ReportResponse;
 import com.example.pashuRakshak.entity.Ngo;
-import com.example.pashuRakshak.entity.User;
-import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.entity.UserRole;
 import com.example.pashuRakshak.repository.NgoRepository;
 import com.example.pashuRakshak.repository.UserRepository;
+import com.example.pashuRakshak.util.CsvWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-
-import java.io.ByteArrayOutputStream;
-import java.io.PrintWriter;
-import java.time.format.DateTimeFormatter;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * CSV exports, written to the response as rows come off a database cursor:
+ * only one chunk of rows (and one output buffer) is in memory at a time,
+ * whatever the size of the table. Rows are encoded by CsvWriter.
+ */
 @Service
 public class ExportService {
 
-    @Autowired
-    private AnimalReportRepository reportRepository;
+    private static final int CHUNK_SIZE = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
 
     @Autowired
     private UserRepository userRepository;
@@ -26,157 +44,171 @@ public class ExportService {
     @Autowired
     private NgoRepository ngoRepository;
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    @Autowired
+    private ReportStreamService reportStreamService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
-     * Export all reports to CSV format
+     * Export all reports, archived ones included, to CSV
      */
-    public byte[] exportReportsToCsv() {
-        List<AnimalReport> reports = reportRepository.findAll();
-
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(out);
-
-        // CSV Header
-        writer.println(
-                "Tracking ID,Animal Type,Condition,Injury Description,Address,Latitude,Longitude,Status,Reporter Name,Reporter Phone,Reporter Email,Assigned NGO,Assigned Worker,Created At,Updated At");
-
-        // CSV Data
-        for (AnimalReport report : reports) {
-            writer.println(String.format(
-                    "\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%s,%s,\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\"",
-                    escapeCsv(report.getTrackingId()),
-                    escapeCsv(report.getAnimalType()),
-                    escapeCsv(report.getCondition()),
-                    escapeCsv(report.getInjuryDescription()),
-                    escapeCsv(report.getAddress()),
-                    report.getLatitude(),
-                    report.getLongitude(),
-                    report.getStatus() != null ? report.getStatus().name() : "",
-                    escapeCsv(report.getReporterName()),
-                    escapeCsv(report.getReporterPhone()),
-                    escapeCsv(report.getReporterEmail()),
-                    escapeCsv(report.getAssignedNgoName()),
-                    escapeCsv(report.getAssignedWorkerName()),
-                    report.getCreatedAt() != null ? report.getCreatedAt().format(DATE_FORMATTER) : "",
-                    report.getUpdatedAt() != null ? report.getUpdatedAt().format(DATE_FORMATTER) : ""));
-        }
-
-        writer.flush();
-        return out.toByteArray();
+    public void exportReportsToCsv(OutputStream out) throws IOException {
+        CsvWriter csv = csvWriter(out);
+        csv.line("Tracking ID,Animal Type,Condition,Injury Description,Address,Latitude,Longitude,Status,"
+                + "Reporter Name,Reporter Phone,Reporter Email,Assigned NGO,Assigned Worker,Created At,Updated At");
+
+        reportStreamService.forEachChunk(null, false, chunk -> {
+            for (ReportResponse report : chunk) {
+                csv.text(report.getTrackingId())
+                        .text(report.getAnimalType())
+                        .text(report.getCondition())
+                        .text(report.getInjuryDescription())
+                        .text(report.getAddress())
+                        .number(report.getLatitude())
+                        .number(report.getLongitude())
+                        .text(report.getStatus() != null ? report.getStatus().name() : null)
+                        .text(report.getReporterName())
+                        .text(report.getReporterPhone())
+                        .text(report.getReporterEmail())
+                        .text(report.getAssignedNgoName())
+                        .text(report.getAssignedWorkerName())
+                        .dateTime(report.getCreatedAt())
+                        .dateTime(report.getUpdatedAt())
+                        .endRow();
+            }
+        });
+        csv.flush();
     }
 
     /**
-     * Export all users to CSV format
+     * Export all users to CSV
      */
-    public byte[] exportUsersToCsv() {
-        List<User> users = userRepository.findAll();
-
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(out);
-
-        // CSV Header
-        writer.println("ID,Username,Email,Full Name,Phone,Age,Gender,Roles,NGO ID,Enabled,Created At,Updated At");
-
-        // CSV Data
-        for (User user : users) {
-            String roles = user.getRoles() != null
-                    ? user.getRoles().stream().map(Enum::name).reduce((a, b) -> a + "; " + b).orElse("")
-                    : "";
-
-            writer.println(String.format("%d,\"%s\",\"%s\",\"%s\",\"%s\",%s,\"%s\",\"%s\",%s,%s,\"%s\",\"%s\"",
-                    user.getId(),
-                    escapeCsv(user.getUsername()),
-                    escapeCsv(user.getEmail()),
-                    escapeCsv(user.getFullName()),
-                    escapeCsv(user.getPhone()),
-                    user.getAge() != null ? user.getAge() : "",
-                    escapeCsv(user.getGender()),
-                    roles,
-                    user.getNgoId() != null ? user.getNgoId() : "",
-                    user.isEnabled(),
-                    user.getCreatedAt() != null ? user.getCreatedAt().format(DATE_FORMATTER) : "",
-                    user.getUpdatedAt() != null ? user.getUpdatedAt().format(DATE_FORMATTER) : ""));
+    @Transactional(readOnly = true)
+    public void exportUsersToCsv(OutputStream out) throws IOException {
+        CsvWriter csv = csvWriter(out);
+        csv.line("ID,Username,Email,Full Name,Phone,Age,Gender,Roles,NGO ID,Enabled,Created At,Updated At");
+
+        try (Stream<Object[]> rows = userRepository.streamExportRows()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            List<Object[]> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    Map<Long, Set<UserRole>> roles = rolesOf(chunk);
+                    for (Object[] row : chunk) {
+                        csv.number((Long) row[0])
+                                .text((String) row[1])
+                                .text((String) row[2])
+                                .text((String) row[3])
+                                .text((String) row[4])
+                                .number((Integer) row[5])
+                                .text((String) row[6])
+                                .text(joinRoles(roles.get((Long) row[0])))
+                                .number((Long) row[7])
+                                .bool((Boolean) row[8])
+                                .dateTime((LocalDateTime) row[9])
+                                .dateTime((LocalDateTime) row[10])
+                                .endRow();
+                    }
+                    chunk.clear();
+                }
+            }
         }
-
-        writer.flush();
-        return out.toByteArray();
+        csv.flush();
     }
 
     /**
-     * Export all NGOs to CSV format
+     * Export all NGOs to CSV
      */
-    public byte[] exportNgosToCsv() {
-        List<Ngo> ngos = ngoRepository.findAll();
-
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(out);
-
-        // CSV Header
-        writer.println(
-                "ID,Unique ID,Name,Email,Phone,Address,Latitude,Longitude,Verification Status,Is Active,Verified By,Verified At,Rejection Reason,Created At,Updated At");
-
-        // CSV Data
-        for (Ngo ngo : ngos) {
-            writer.println(String.format(
-                    "%d,\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%s,%s,\"%s\",%s,%s,\"%s\",\"%s\",\"%s\",\"%s\"",
-                    ngo.getId(),
-                    escapeCsv(ngo.getUniqueId()),
-                    escapeCsv(ngo.getName()),
-                    escapeCsv(ngo.getEmail()),
-                    escapeCsv(ngo.getPhone()),
-                    escapeCsv(ngo.getAddress()),
-                    ngo.getLatitude(),
-                    ngo.getLongitude(),
-                    ngo.getVerificationStatus() != null ? ngo.getVerificationStatus().name() : "",
-                    ngo.getIsActive(),
-                    ngo.getVerifiedBy() != null ? ngo.getVerifiedBy() : "",
-                    ngo.getVerifiedAt() != null ? ngo.getVerifiedAt().format(DATE_FORMATTER) : "",
-                    escapeCsv(ngo.getRejectionReason()),
-                    ngo.getCreatedAt() != null ? ngo.getCreatedAt().format(DATE_FORMATTER) : "",
-                    ngo.getUpdatedAt() != null ? ngo.getUpdatedAt().format(DATE_FORMATTER) : ""));
+    @Transactional(readOnly = true)
+    public void exportNgosToCsv(OutputStream out) throws IOException {
+        CsvWriter csv = csvWriter(out);
+        csv.line("ID,Unique ID,Name,Email,Phone,Address,Latitude,Longitude,Verification Status,Is Active,"
+                + "Verified By,Verified At,Rejection Reason,Created At,Updated At");
+
+        try (Stream<Ngo> ngos = ngoRepository.streamAll()) {
+            int inContext = 0;
+            for (Iterator<Ngo> iterator = ngos.iterator(); iterator.hasNext(); ) {
+                Ngo ngo = iterator.next();
+                csv.number(ngo.getId())
+                        .text(ngo.getUniqueId())
+                        .text(ngo.getName())
+                        .text(ngo.getEmail())
+                        .text(ngo.getPhone())
+                        .text(ngo.getAddress())
+                        .number(ngo.getLatitude())
+                        .number(ngo.getLongitude())
+                        .text(ngo.getVerificationStatus() != null ? ngo.getVerificationStatus().name() : null)
+                        .bool(ngo.getIsActive())
+                        .number(ngo.getVerifiedBy())
+                        .dateTime(ngo.getVerifiedAt())
+                        .text(ngo.getRejectionReason())
+                        .dateTime(ngo.getCreatedAt())
+                        .dateTime(ngo.getUpdatedAt())
+                        .endRow();
+                // Written rows are done with; don't let the persistence context grow
+                if (++inContext == CHUNK_SIZE) {
+                    entityManager.clear();
+                    inContext = 0;
+                }
+            }
         }
-
-        writer.flush();
-        return out.toByteArray();
+        csv.flush();
     }
 
     /**
-     * Export pending NGO representatives to CSV format
+     * Export pending NGO representatives (disabled users with the NGO role) to CSV
      */
-    public byte[] exportPendingNgoRepresentativesToCsv() {
-        List<User> users = userRepository.findAll().stream()
-                .filter(user -> user.getRoles().stream().anyMatch(role -> role.name().equals("NGO")))
-                .filter(user -> !user.isEnabled())
-                .toList();
-
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(out);
-
-        // CSV Header
-        writer.println("ID,Username,Email,Full Name,Phone,NGO ID,Created At");
-
-        // CSV Data
-        for (User user : users) {
-            writer.println(String.format("%d,\"%s\",\"%s\",\"%s\",\"%s\",%s,\"%s\"",
-                    user.getId(),
-                    escapeCsv(user.getUsername()),
-                    escapeCsv(user.getEmail()),
-                    escapeCsv(user.getFullName()),
-                    escapeCsv(user.getPhone()),
-                    user.getNgoId() != null ? user.getNgoId() : "",
-                    user.getCreatedAt() != null ? user.getCreatedAt().format(DATE_FORMATTER) : ""));
+    @Transactional(readOnly = true)
+    public void exportPendingNgoRepresentativesToCsv(OutputStream out) throws IOException {
+        CsvWriter csv = csvWriter(out);
+        csv.line("ID,Username,Email,Full Name,Phone,NGO ID,Created At");
+
+        try (Stream<Object[]> rows = userRepository.streamDisabledMemberRows(UserRole.NGO)) {
+            for (Iterator<Object[]> iterator = rows.iterator(); iterator.hasNext(); ) {
+                Object[] row = iterator.next();
+                csv.number((Long) row[0])
+                        .text((String) row[1])
+                        .text((String) row[2])
+                        .text((String) row[3])
+                        .text((String) row[4])
+                        .number((Long) row[5])
+                        .dateTime((LocalDateTime) row[6])
+                        .endRow();
+            }
         }
+        csv.flush();
+    }
 
-        writer.flush();
-        return out.toByteArray();
+    // One buffered writer per export, reused for every row
+    private static CsvWriter csvWriter(OutputStream out) {
+        return new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
     }
 
-    private String escapeCsv(String value) {
-        if (value == null) {
+    private Map<Long, Set<UserRole>> rolesOf(List<Object[]> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+        }
+        Map<Long, Set<UserRole>> roles = new HashMap<>();
+        for (Object[] pair : userRepository.findRolesByUserIds(ids)) {
+            roles.computeIfAbsent((Long) pair[0], id -> EnumSet.noneOf(UserRole.class)).add((UserRole) pair[1]);
+        }
+        return roles;
+    }
+
+    private static String joinRoles(Set<UserRole> roles) {
+        if (roles == null) {
             return "";
         }
-        // Escape double quotes by doubling them
-        return value.replace("\"", "\"\"").replace("\n", " ").replace("\r", " ");
+        StringBuilder joined = new StringBuilder();
+        for (UserRole role : roles) {
+            if (joined.length() > 0) {
+                joined.append("; ");
+            }
+            joined.append(role.name());
+        }
+        return joined.toString();
     }
 }
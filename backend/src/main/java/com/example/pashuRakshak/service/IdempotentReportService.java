@@ -0,0 +1,200 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportRequest;
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.IdempotencyRecord;
+import com.example.pashuRakshak.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Idempotency-Key support for report creation, so a client retrying after a
+ * timeout or dropped connection does not file the same rescue twice.
+ *
+ * Keys map to the tracking ID their first request created. Known keys are held
+ * in a bounded in-memory map, read without locking; the idempotency_keys table
+ * is the source of truth across restarts and instances. The key row is written
+ * in the same transaction as the report, so two racing requests with one key
+ * cannot both commit a report. Keys expire after app.idempotencyTtlHours and
+ * can be used again from then on, whether or not their row has been purged.
+ */
+@Service
+public class IdempotentReportService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private AnimalReportService animalReportService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxSize;
+    private final Duration ttl;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public IdempotentReportService(PlatformTransactionManager transactionManager,
+                                   @Value("${app.idempotencyCacheMaxSize:10000}") int maxSize,
+                                   @Value("${app.idempotencyTtlHours:24}") long ttlHours) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxSize = maxSize;
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    public Result createReport(String key, ReportRequest request) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+
+        Optional<Result> replay = replay(key, requestHash);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        try {
+            ReportResponse created = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                // replay ignores an expired row, but it keeps the key taken
+                // until purgeExpired runs; clear it so this insert can go in
+                idempotencyRecordRepository.deleteExpiredKey(key, now);
+                ReportResponse response = animalReportService.createReport(request);
+                // Flushed here so a duplicate key fails this transaction, taking
+                // its report insert down with it
+                idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(
+                        key, requestHash, response.getTrackingId(), now, now.plus(ttl)));
+                return response;
+            });
+            remember(key, new Entry(requestHash, created.getTrackingId(), expiry()));
+            return new Result(created, false);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with another request carrying the same key (the key row's
+            // primary key). Any other database failure propagates and becomes a 5xx.
+            entries.remove(key);
+            return replay(key, requestHash).orElseThrow(() -> new ReportConflictException(
+                    "A request with this Idempotency-Key is still being processed"));
+        }
+    }
+
+    // Memory first (no locks); on a miss the table, whose answer is then cached
+    private Optional<Result> replay(String key, String requestHash) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(key)
+                    .filter(r -> r.getExpiresAt().isAfter(LocalDateTime.now()));
+            if (record.isEmpty()) {
+                return Optional.empty();
+            }
+            entry = new Entry(record.get().getRequestHash(), record.get().getTrackingId(),
+                    record.get().getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            remember(key, entry);
+        }
+
+        if (!entry.requestHash.equals(requestHash)) {
+            throw new ReportConflictException("Idempotency-Key was already used for a different report");
+        }
+        return Optional.of(new Result(animalReportService.getReportByTrackingId(entry.trackingId)
+                .orElseThrow(() -> new ReportConflictException(
+                        "The report created with this Idempotency-Key no longer exists")),
+                true));
+    }
+
+    private void remember(String key, Entry entry) {
+        entries.put(key, entry);
+        if (entries.size() > maxSize) {
+            trim();
+        }
+    }
+
+    // Expired entries go first; if that is not enough, arbitrary ones do (the
+    // table still has them, so dropping one only costs a query on its next retry)
+    private void trim() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt < now);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotencyPurgeMs:3600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt < now);
+        transactionTemplate.executeWithoutResult(
+                status -> idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+    }
+
+    private long expiry() {
+        return System.currentTimeMillis() + ttl.toMillis();
+    }
+
+    private String hash(ReportRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint report request", e);
+        }
+    }
+
+    private static final class Entry {
+        final String requestHash;
+        final String trackingId;
+        final long expiresAt;
+
+        Entry(String requestHash, String trackingId, long expiresAt) {
+            this.requestHash = requestHash;
+            this.trackingId = trackingId;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static final class Result {
+        private final ReportResponse report;
+        private final boolean replayed;
+
+        Result(ReportResponse report, boolean replayed) {
+            this.report = report;
+            this.replayed = replayed;
+        }
+
+        public ReportResponse getReport() {
+            return report;
+        }
+
+        // True when this is the report an earlier request with the same key created
+        public boolean isReplayed() {
+            return replayed;
+        }
+    }
+}
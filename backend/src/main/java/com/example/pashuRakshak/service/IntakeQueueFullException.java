@@ -0,0 +1,19 @@
+package com.example.pashuRakshak.service;
+
+/**
+ * Thrown when the async report intake cannot take another report right now
+ * (queue full, or shutting down). Controllers map this to 503 with Retry-After.
+ */
+public class IntakeQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IntakeQueueFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.util.Transactions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live count of open cases per NGO (accepted, not yet resolved), so dispatch
+ * ranking never has to count rows. Loaded at startup, then moved along by
+ * AnimalReportService's writes once they commit. Linked duplicates follow
+ * their case and are not counted.
+ *
+ * Commit hooks can run out of commit order, so each report's last applied
+ * updatedAt is kept and an older write for it is ignored. The counters are
+ * also reloaded every app.caseloadRebuildMs, which bounds any drift left and
+ * drops the remembered versions of closed cases.
+ */
+@Component
+public class NgoCaseloadCounters {
+
+    // Accepted by an NGO and still being worked on
+    static final List<ReportStatus> OPEN_CASE_STATUSES = List.of(ReportStatus.HELP_ON_THE_WAY,
+            ReportStatus.TEAM_DISPATCHED, ReportStatus.ANIMAL_RESCUED);
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    // Guarded by this: report id -> owning NGO (null once closed) and the
+    // version it was seen at
+    private Map<Long, CaseState> cases = new HashMap<>();
+    private volatile Map<Long, AtomicInteger> openCases = new ConcurrentHashMap<>();
+    // Writes applied while a rebuild is loading, replayed on top of it
+    private List<ReportResponse> appliedDuringRebuild;
+
+    /**
+     * Reload the counters from the database. The query runs without the lock,
+     * so writes committing meanwhile are not held up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.caseloadRebuildMs:600000}", initialDelayString = "${app.caseloadRebuildMs:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            if (appliedDuringRebuild != null) {
+                return; // another rebuild is loading
+            }
+            appliedDuringRebuild = new ArrayList<>();
+        }
+        List<Object[]> rows;
+        try {
+            rows = reportRepository.findOpenCaseOwners(OPEN_CASE_STATUSES);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                appliedDuringRebuild = null;
+            }
+            throw e;
+        }
+        Map<Long, CaseState> loadedCases = new HashMap<>();
+        Map<Long, AtomicInteger> loadedCounts = new ConcurrentHashMap<>();
+        for (Object[] row : rows) {
+            move(loadedCases, loadedCounts, (Long) row[0], (Long) row[1], (LocalDateTime) row[2]);
+        }
+        synchronized (this) {
+            // Writes the query may have missed; versions skip those it already saw
+            for (ReportResponse report : appliedDuringRebuild) {
+                apply(loadedCases, loadedCounts, report);
+            }
+            appliedDuringRebuild = null;
+            cases = loadedCases;
+            openCases = loadedCounts;
+        }
+    }
+
+    /**
+     * Account for a report that was just written; inside a transaction this
+     * waits for the commit
+     */
+    public void update(ReportResponse report) {
+        Transactions.afterCommit(() -> apply(report));
+    }
+
+    public int openCases(Long ngoId) {
+        AtomicInteger count = openCases.get(ngoId);
+        return count == null ? 0 : count.get();
+    }
+
+    private synchronized void apply(ReportResponse report) {
+        if (appliedDuringRebuild != null) {
+            appliedDuringRebuild.add(report);
+        }
+        apply(cases, openCases, report);
+    }
+
+    private static void apply(Map<Long, CaseState> cases, Map<Long, AtomicInteger> counts, ReportResponse report) {
+        boolean open = report.getAssignedNgoId() != null && report.getDuplicateOf() == null
+                && OPEN_CASE_STATUSES.contains(report.getStatus());
+        move(cases, counts, report.getId(), open ? report.getAssignedNgoId() : null, report.getUpdatedAt());
+    }
+
+    private static void move(Map<Long, CaseState> cases, Map<Long, AtomicInteger> counts,
+                             Long reportId, Long ngoId, LocalDateTime version) {
+        CaseState previous = cases.get(reportId);
+        if (previous != null && previous.isNewerThan(version)) {
+            return; // a later write to this report got here first
+        }
+        cases.put(reportId, new CaseState(ngoId, version));
+        Long previousNgo = previous == null ? null : previous.ngoId;
+        if (Objects.equals(previousNgo, ngoId)) {
+            return;
+        }
+        if (previousNgo != null) {
+            counts.get(previousNgo).decrementAndGet();
+        }
+        if (ngoId != null) {
+            counts.computeIfAbsent(ngoId, id -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    private static final class CaseState {
+        final Long ngoId;
+        final LocalDateTime version;
+
+        CaseState(Long ngoId, LocalDateTime version) {
+            this.ngoId = ngoId;
+            this.version = version;
+        }
+
+        boolean isNewerThan(LocalDateTime other) {
+            return version != null && other != null && version.isAfter(other);
+        }
+    }
+}
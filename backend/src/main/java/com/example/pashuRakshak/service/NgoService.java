@@ -1,17 +1,24 @@
 package com.example.pashuRakshak.service;
 
+import com.example.pashuRakshak.dto.NearbyWorker;
 import com.example.pashuRakshak.dto.NgoRequest;
 import com.example.pashuRakshak.entity.Ngo;
+import com.example.pashuRakshak.entity.ReportStatus;
 import com.example.pashuRakshak.entity.User;
 import com.example.pashuRakshak.entity.UserRole;
 import com.example.pashuRakshak.entity.VerificationStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
 import com.example.pashuRakshak.repository.NgoRepository;
 import com.example.pashuRakshak.repository.UserRepository;
+import com.example.pashuRakshak.util.GeoUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -19,6 +26,9 @@ import java.util.Set;
 @Service
 public class NgoService {
 
+    // A worker assigned to a case in this state is out on it
+    private static final List<ReportStatus> BUSY_WORKER_STATUSES = List.of(ReportStatus.TEAM_DISPATCHED);
+
     @Autowired
     private NgoRepository ngoRepository;
 
@@ -31,6 +41,18 @@ public class NgoService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private NgoSpatialIndex ngoSpatialIndex;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private WorkerLocationStore workerLocations;
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
     public Ngo createNgo(NgoRequest request) {
         Ngo ngo = new Ngo();
         ngo.setName(request.getName());
@@ -58,7 +80,7 @@ public class NgoService {
                 if (ngo.getIsActive() == null) {
                     ngo.setIsActive(true);
                 }
-                ngoRepository.save(ngo);
+                ngoChanged(ngoRepository.save(ngo));
             }
         }
         return allNgos;
@@ -80,8 +102,12 @@ public class NgoService {
         return ngoRepository.findByEmail(email);
     }
 
-    public List<Ngo> getNearbyNgos(Double latitude, Double longitude, Double radiusInDegrees) {
-        return ngoRepository.findNearbyNgos(latitude, longitude, radiusInDegrees);
+    public List<Ngo> getNearbyNgos(Double latitude, Double longitude, Double radiusKm) {
+        return ngoSpatialIndex.findWithinRadius(latitude, longitude, radiusKm);
+    }
+
+    public List<Ngo> getNearestNgos(Double latitude, Double longitude, int k) {
+        return ngoSpatialIndex.findNearest(latitude, longitude, k);
     }
 
     public Optional<Ngo> approveNgo(Long id, Long adminId) {
@@ -106,6 +132,7 @@ public class NgoService {
             ngo.setUpdatedAt(LocalDateTime.now());
 
             Ngo savedNgo = ngoRepository.save(ngo);
+            ngoChanged(savedNgo);
 
             // Also enable the corresponding User account for login
             Optional<User> userOpt = userRepository.findByEmail(ngo.getEmail());
@@ -136,6 +163,7 @@ public class NgoService {
             ngo.setUpdatedAt(LocalDateTime.now());
 
             Ngo savedNgo = ngoRepository.save(ngo);
+            ngoChanged(savedNgo);
 
             // Send rejection email
             emailService.sendNgoRejectionEmail(ngo.getEmail(), ngo.getName(), reason);
@@ -158,7 +186,9 @@ public class NgoService {
             ngo.setDescription(request.getDescription());
             ngo.setUpdatedAt(LocalDateTime.now());
 
-            return Optional.of(ngoRepository.save(ngo));
+            Ngo savedNgo = ngoRepository.save(ngo);
+            ngoChanged(savedNgo);
+            return Optional.of(savedNgo);
         }
         return Optional.empty();
     }
@@ -169,7 +199,7 @@ public class NgoService {
             Ngo ngo = ngoOpt.get();
             ngo.setIsActive(false);
             ngo.setUpdatedAt(LocalDateTime.now());
-            ngoRepository.save(ngo);
+            ngoChanged(ngoRepository.save(ngo));
             return true;
         }
         return false;
@@ -189,7 +219,7 @@ public class NgoService {
             Ngo ngo = ngoOpt.get();
             ngo.setIsActive(!ngo.getIsActive());
             ngo.setUpdatedAt(LocalDateTime.now());
-            ngoRepository.save(ngo);
+            ngoChanged(ngoRepository.save(ngo));
             return true;
         }
         return false;
@@ -248,6 +278,30 @@ public class NgoService {
         return userRepository.findByNgoId(ngoId);
     }
 
+    /**
+     * The NGO's available workers (enabled, with a recent known position and
+     * not out on another case), nearest to the point first
+     */
+    public List<NearbyWorker> findNearestWorkers(Long ngoId, double latitude, double longitude, int limit) {
+        Set<Long> busy = reportRepository.findBusyWorkerIds(ngoId, BUSY_WORKER_STATUSES);
+        List<NearbyWorker> nearby = new ArrayList<>();
+        for (Object[] row : userRepository.findEnabledMemberNames(ngoId, UserRole.NGO_WORKER)) {
+            if (busy.contains((Long) row[0])) {
+                continue;
+            }
+            WorkerLocationStore.Position position = workerLocations.get((Long) row[0]);
+            if (position == null) {
+                continue; // not seen lately: off shift, or out of signal
+            }
+            nearby.add(new NearbyWorker((Long) row[0], (String) row[1],
+                    position.getLatitude(), position.getLongitude(),
+                    GeoUtils.distanceKm(latitude, longitude, position.getLatitude(), position.getLongitude()),
+                    Instant.ofEpochMilli(position.getUpdatedAtMillis())));
+        }
+        nearby.sort(Comparator.comparingDouble(NearbyWorker::getDistanceKm));
+        return nearby.size() > limit ? nearby.subList(0, limit) : nearby;
+    }
+
     public boolean toggleWorkerStatus(Long ngoId, Long workerId) {
         Optional<User> workerOpt = userRepository.findById(workerId);
         if (workerOpt.isEmpty()) {
@@ -267,4 +321,10 @@ public class NgoService {
 
         return true;
     }
+
+    // Call after every save of an existing NGO so the spatial index and ETags follow
+    private void ngoChanged(Ngo saved) {
+        ngoSpatialIndex.update(saved);
+        resourceVersions.ngosChanged();
+    }
 }
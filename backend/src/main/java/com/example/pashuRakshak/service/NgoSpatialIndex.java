@@ -0,0 +1,369 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.entity.Ngo;
+import com.example.pashuRakshak.entity.VerificationStatus;
+import com.example.pashuRakshak.repository.NgoRepository;
+import com.example.pashuRakshak.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * In-memory k-d tree over active, approved NGOs.
+ *
+ * Points are stored as 3D unit vectors so that straight-line (chord) distance
+ * orders the same way as great-circle distance, anywhere on the globe. Reads go
+ * against an immutable snapshot: a tree plus the few NGOs written since it was
+ * built, which are checked one by one and hide their stale tree entries. Once
+ * enough writes pile up they are folded into a new tree. A rebuild loads a
+ * fresh tree off to the side while reads keep using the old snapshot, replays
+ * the writes that arrived meanwhile onto it, and swaps it in.
+ */
+@Component
+public class NgoSpatialIndex {
+
+    // Writes kept beside the tree before it is rebuilt with them
+    private static final int MAX_PATCHES = 64;
+
+    @Autowired
+    private NgoRepository ngoRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(KdTree.build(new Ngo[0]), Map.of(), 0);
+    // Writes seen while a rebuild is loading, replayed onto the new tree; null otherwise
+    private Map<Long, Ngo> missedByRebuild;
+    private final Object rebuildLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                missedByRebuild = new HashMap<>();
+            }
+            Snapshot rebuilt;
+            try {
+                List<Ngo> ngos = new ArrayList<>();
+                for (Ngo ngo : ngoRepository.findByIsActiveTrueAndVerificationStatus(VerificationStatus.APPROVED)) {
+                    if (isIndexable(ngo)) {
+                        ngos.add(ngo);
+                    }
+                }
+                KdTree tree = KdTree.build(ngos.toArray(new Ngo[0]));
+                rebuilt = new Snapshot(tree, Map.of(), tree.size());
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    missedByRebuild = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                for (Map.Entry<Long, Ngo> missed : missedByRebuild.entrySet()) {
+                    rebuilt = rebuilt.patch(missed.getKey(), missed.getValue());
+                }
+                missedByRebuild = null;
+                snapshot = rebuilt;
+            }
+        }
+    }
+
+    /**
+     * Add, move or drop a single NGO after it has been saved
+     */
+    public void update(Ngo ngo) {
+        if (ngo == null || ngo.getId() == null) {
+            return;
+        }
+        put(ngo.getId(), isIndexable(ngo) ? ngo : null);
+    }
+
+    public void remove(Long ngoId) {
+        if (ngoId != null) {
+            put(ngoId, null);
+        }
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    /**
+     * NGOs within radiusKm of the point, nearest first
+     */
+    public List<Ngo> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        Snapshot current = snapshot;
+        double[] target = toUnitVector(latitude, longitude);
+        double chord = chordForDistance(radiusKm);
+        double maxChordSquared = chord * chord;
+
+        List<Neighbour> found = current.withoutPatched(current.tree.withinChord(target, maxChordSquared));
+        for (Neighbour patched : current.patchedNeighbours(target)) {
+            if (patched.chordSquared <= maxChordSquared) {
+                found.add(patched);
+            }
+        }
+        found.sort(Comparator.comparingDouble(n -> n.chordSquared));
+        return toNgos(found);
+    }
+
+    /**
+     * The k NGOs nearest to the point, nearest first
+     */
+    public List<Ngo> findNearest(double latitude, double longitude, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        double[] target = toUnitVector(latitude, longitude);
+
+        // Each patched id can hide at most one of the tree's nearest
+        List<Neighbour> found = current.withoutPatched(current.tree.nearest(target, k + current.patches.size()));
+        found.addAll(current.patchedNeighbours(target));
+        found.sort(Comparator.comparingDouble(n -> n.chordSquared));
+        return toNgos(found.size() > k ? found.subList(0, k) : found);
+    }
+
+    // ngo is null to drop the entry
+    private synchronized void put(Long ngoId, Ngo ngo) {
+        snapshot = snapshot.patch(ngoId, ngo);
+        if (missedByRebuild != null) {
+            missedByRebuild.put(ngoId, ngo);
+        }
+    }
+
+    private static boolean isIndexable(Ngo ngo) {
+        return Boolean.TRUE.equals(ngo.getIsActive())
+                && ngo.getVerificationStatus() == VerificationStatus.APPROVED
+                && ngo.getLatitude() != null
+                && ngo.getLongitude() != null;
+    }
+
+    private static List<Ngo> toNgos(List<Neighbour> neighbours) {
+        List<Ngo> ngos = new ArrayList<>(neighbours.size());
+        for (Neighbour n : neighbours) {
+            ngos.add(n.ngo);
+        }
+        return ngos;
+    }
+
+    private static double chordForDistance(double distanceKm) {
+        double angle = Math.min(Math.PI, distanceKm / GeoUtils.EARTH_RADIUS_KM);
+        return 2 * Math.sin(angle / 2);
+    }
+
+    private static double[] toUnitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lng = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[] { cosLat * Math.cos(lng), cosLat * Math.sin(lng), Math.sin(lat) };
+    }
+
+    /**
+     * A tree and the writes made since it was built, keyed by NGO id. A null
+     * value drops the NGO; either way the id's tree entry is stale.
+     */
+    private static final class Snapshot {
+        final KdTree tree;
+        final Map<Long, Ngo> patches;
+        final int size;
+
+        Snapshot(KdTree tree, Map<Long, Ngo> patches, int size) {
+            this.tree = tree;
+            this.patches = patches;
+            this.size = size;
+        }
+
+        Snapshot patch(Long ngoId, Ngo ngo) {
+            boolean present = patches.containsKey(ngoId) ? patches.get(ngoId) != null : tree.contains(ngoId);
+            if (ngo == null && !present) {
+                return this;
+            }
+            Map<Long, Ngo> patched = new HashMap<>(patches);
+            patched.put(ngoId, ngo);
+            if (patched.size() > MAX_PATCHES) {
+                return fold(patched);
+            }
+            return new Snapshot(tree, patched, size + (ngo != null ? 1 : 0) - (present ? 1 : 0));
+        }
+
+        private Snapshot fold(Map<Long, Ngo> patched) {
+            List<Ngo> ngos = new ArrayList<>(tree.size() + patched.size());
+            for (Ngo ngo : tree.ngos) {
+                if (!patched.containsKey(ngo.getId())) {
+                    ngos.add(ngo);
+                }
+            }
+            for (Ngo ngo : patched.values()) {
+                if (ngo != null) {
+                    ngos.add(ngo);
+                }
+            }
+            KdTree folded = KdTree.build(ngos.toArray(new Ngo[0]));
+            return new Snapshot(folded, Map.of(), folded.size());
+        }
+
+        List<Neighbour> withoutPatched(List<Neighbour> fromTree) {
+            if (!patches.isEmpty()) {
+                fromTree.removeIf(n -> patches.containsKey(n.ngo.getId()));
+            }
+            return fromTree;
+        }
+
+        List<Neighbour> patchedNeighbours(double[] target) {
+            List<Neighbour> neighbours = new ArrayList<>();
+            for (Ngo ngo : patches.values()) {
+                if (ngo != null) {
+                    double[] point = toUnitVector(ngo.getLatitude(), ngo.getLongitude());
+                    neighbours.add(new Neighbour(ngo, KdTree.squaredDistance(point, target)));
+                }
+            }
+            return neighbours;
+        }
+    }
+
+    private static final class Neighbour {
+        final Ngo ngo;
+        final double chordSquared;
+
+        Neighbour(Ngo ngo, double chordSquared) {
+            this.ngo = ngo;
+            this.chordSquared = chordSquared;
+        }
+    }
+
+    /**
+     * Balanced, immutable k-d tree laid out implicitly in an array: the node for
+     * range [lo, hi) sits at the median index, with its subtrees on either side.
+     */
+    private static final class KdTree {
+        private final Ngo[] ngos;
+        private final double[][] points;
+        private final Set<Long> ids;
+
+        private KdTree(Ngo[] ngos, double[][] points) {
+            this.ngos = ngos;
+            this.points = points;
+            this.ids = new HashSet<>();
+            for (Ngo ngo : ngos) {
+                ids.add(ngo.getId());
+            }
+        }
+
+        static KdTree build(Ngo[] ngos) {
+            double[][] points = new double[ngos.length][];
+            Integer[] order = new Integer[ngos.length];
+            for (int i = 0; i < ngos.length; i++) {
+                points[i] = toUnitVector(ngos[i].getLatitude(), ngos[i].getLongitude());
+                order[i] = i;
+            }
+            arrange(order, points, 0, order.length, 0);
+
+            Ngo[] sortedNgos = new Ngo[ngos.length];
+            double[][] sortedPoints = new double[ngos.length][];
+            for (int i = 0; i < order.length; i++) {
+                sortedNgos[i] = ngos[order[i]];
+                sortedPoints[i] = points[order[i]];
+            }
+            return new KdTree(sortedNgos, sortedPoints);
+        }
+
+        private static void arrange(Integer[] order, double[][] points, int lo, int hi, int axis) {
+            if (hi - lo <= 1) {
+                return;
+            }
+            Arrays.sort(order, lo, hi, Comparator.comparingDouble(i -> points[i][axis]));
+            int mid = (lo + hi) >>> 1;
+            arrange(order, points, lo, mid, (axis + 1) % 3);
+            arrange(order, points, mid + 1, hi, (axis + 1) % 3);
+        }
+
+        int size() {
+            return ngos.length;
+        }
+
+        boolean contains(Long ngoId) {
+            return ids.contains(ngoId);
+        }
+
+        List<Neighbour> withinChord(double[] target, double maxChordSquared) {
+            List<Neighbour> found = new ArrayList<>();
+            collectWithin(0, ngos.length, 0, target, maxChordSquared, found);
+            return found;
+        }
+
+        private void collectWithin(int lo, int hi, int axis, double[] target, double maxSq, List<Neighbour> out) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            double d = squaredDistance(points[mid], target);
+            if (d <= maxSq) {
+                out.add(new Neighbour(ngos[mid], d));
+            }
+            double delta = target[axis] - points[mid][axis];
+            int next = (axis + 1) % 3;
+            if (delta <= 0 || delta * delta <= maxSq) {
+                collectWithin(lo, mid, next, target, maxSq, out);
+            }
+            if (delta >= 0 || delta * delta <= maxSq) {
+                collectWithin(mid + 1, hi, next, target, maxSq, out);
+            }
+        }
+
+        List<Neighbour> nearest(double[] target, int k) {
+            PriorityQueue<Neighbour> best = new PriorityQueue<>(
+                    Comparator.comparingDouble((Neighbour n) -> n.chordSquared).reversed());
+            collectNearest(0, ngos.length, 0, target, k, best);
+
+            List<Neighbour> result = new ArrayList<>(best);
+            result.sort(Comparator.comparingDouble(n -> n.chordSquared));
+            return result;
+        }
+
+        private void collectNearest(int lo, int hi, int axis, double[] target, int k, PriorityQueue<Neighbour> best) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            double d = squaredDistance(points[mid], target);
+            if (best.size() < k) {
+                best.add(new Neighbour(ngos[mid], d));
+            } else if (d < best.peek().chordSquared) {
+                best.poll();
+                best.add(new Neighbour(ngos[mid], d));
+            }
+
+            double delta = target[axis] - points[mid][axis];
+            int next = (axis + 1) % 3;
+            boolean leftFirst = delta < 0;
+            if (leftFirst) {
+                collectNearest(lo, mid, next, target, k, best);
+            } else {
+                collectNearest(mid + 1, hi, next, target, k, best);
+            }
+            if (best.size() < k || delta * delta < best.peek().chordSquared) {
+                if (leftFirst) {
+                    collectNearest(mid + 1, hi, next, target, k, best);
+                } else {
+                    collectNearest(lo, mid, next, target, k, best);
+                }
+            }
+        }
+
+        private static double squaredDistance(double[] a, double[] b) {
+            double dx = a[0] - b[0];
+            double dy = a[1] - b[1];
+            double dz = a[2] - b[2];
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.repository.ArchivedReportRepository;
+import com.example.pashuRakshak.util.ReportCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Hot/cold split for reports. Almost every query is about open reports, while
+ * most rows are resolved ones, so resolved reports older than
+ * app.archiveAfterDays are moved (with their images) into
+ * animal_reports_archive, in batches of app.archiveBatchSize, one transaction
+ * per batch.
+ *
+ * Archived reports are read-only. Tracking lookups and admin listings fall back
+ * to the archive through the read methods here; status history and
+ * idempotency keys stay where they are and still resolve by tracking ID.
+ */
+@Service
+public class ReportArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportArchiveService.class);
+
+    // Newest first, the order of every admin report listing
+    private static final Comparator<ReportResponse> NEWEST_FIRST = Comparator
+            .comparing(ReportResponse::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(ReportResponse::getId, Comparator.reverseOrder());
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    @Autowired
+    private ArchivedReportRepository archivedReportRepository;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long archiveAfterDays;
+    private final int batchSize;
+
+    public ReportArchiveService(PlatformTransactionManager transactionManager,
+                                @Value("${app.archiveEnabled:true}") boolean enabled,
+                                @Value("${app.archiveAfterDays:30}") long archiveAfterDays,
+                                @Value("${app.archiveBatchSize:500}") int batchSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.archiveAfterDays = archiveAfterDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.archiveIntervalMs:3600000}", initialDelayString = "${app.archiveIntervalMs:3600000}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveResolvedReports();
+        }
+    }
+
+    /**
+     * Move every resolved report last updated before the cut-off. Returns how
+     * many were moved.
+     */
+    public int archiveResolvedReports() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveAfterDays);
+        int total = 0;
+        while (true) {
+            int moved = transactionTemplate.execute(status -> moveBatch(cutoff));
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            // Listings (NGO, worker, reporter) lose these rows
+            resourceVersions.reportsChanged();
+            log.info("Archived {} resolved reports last updated before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = reportRepository.lockArchivableIds(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedReportRepository.copyReports(ids, LocalDateTime.now());
+        archivedReportRepository.copyImages(ids);
+        reportRepository.deleteImagesByReportIds(ids);
+        reportRepository.deleteByIds(ids);
+        return ids.size();
+    }
+
+    // ==================== Archive reads ====================
+
+    public Optional<ReportResponse> findByTrackingId(String trackingId) {
+        return archivedReportRepository.findResponseByTrackingId(trackingId)
+                .map(report -> withImages(new ArrayList<>(List.of(report))).get(0));
+    }
+
+    public List<ReportResponse> findByIds(Collection<Long> ids) {
+        return withImages(archivedReportRepository.findResponsesByIdIn(ids));
+    }
+
+    /**
+     * Keyset page over hot and archived reports together. hotWindow must be the
+     * hot table's rows after the same cursor, with images already filled in.
+     */
+    public List<ReportResponse> mergeArchivedWindow(List<ReportResponse> hotWindow, ReportCursor after, int limit) {
+        return merge(hotWindow, withImages(archivedReportRepository.findResponsePage(
+                after.getCreatedAt(), after.getId(), ReportCursor.fetchWindow(limit))), limit);
+    }
+
+    public List<ReportResponse> mergeArchivedWindow(List<ReportResponse> hotWindow, ReportStatus status,
+            ReportCursor after, int limit) {
+        return merge(hotWindow, withImages(archivedReportRepository.findResponsePageByStatus(status,
+                after.getCreatedAt(), after.getId(), ReportCursor.fetchWindow(limit))), limit);
+    }
+
+    public long count() {
+        return archivedReportRepository.count();
+    }
+
+    public long countByStatus(ReportStatus status) {
+        return archivedReportRepository.countByStatus(status);
+    }
+
+    // Both windows hold up to limit + 1 rows after the cursor; the first limit + 1
+    // of their union are the next page plus the has-more probe
+    private static List<ReportResponse> merge(List<ReportResponse> hot, List<ReportResponse> archived, int limit) {
+        List<ReportResponse> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        merged.addAll(archived);
+        merged.sort(NEWEST_FIRST);
+        return merged.size() > limit + 1 ? merged.subList(0, limit + 1) : merged;
+    }
+
+    public List<ReportResponse> withImages(List<ReportResponse> reports) {
+        if (reports.isEmpty()) {
+            return reports;
+        }
+        List<Long> ids = new ArrayList<>(reports.size());
+        for (ReportResponse report : reports) {
+            ids.add(report.getId());
+        }
+        Map<Long, List<String>> imagesByReport = new HashMap<>();
+        for (Object[] row : archivedReportRepository.findImageUrlsByReportIds(ids)) {
+            imagesByReport.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        for (ReportResponse report : reports) {
+            report.setImageUrls(imagesByReport.getOrDefault(report.getId(), new ArrayList<>()));
+        }
+        return reports;
+    }
+}
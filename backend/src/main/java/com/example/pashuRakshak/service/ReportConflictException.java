@@ -0,0 +1,12 @@
+package com.example.pashuRakshak.service;
+
+/**
+ * Thrown when a report changed underneath a request, e.g. another NGO accepted
+ * it first. Controllers map this to 409 Conflict.
+ */
+public class ReportConflictException extends RuntimeException {
+
+    public ReportConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.DispatchOffer;
+import com.example.pashuRakshak.dto.EscalationNotice;
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.service.EscalationTimers.Escalation;
+import com.example.pashuRakshak.service.EscalationTimers.Phase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Acts on the deadlines in EscalationTimers.
+ *
+ * An unclaimed case moves from SUBMITTED to SEARCHING_FOR_HELP and is offered
+ * again through AutoDispatchService, each level out to
+ * app.escalationRadiusFactor times the previous radius (at most
+ * app.escalationMaxRadiusKm) and only to NGOs not offered it before. After
+ * app.escalationMaxLevel rounds it stays in the available list without further
+ * offers. A stalled case (held by an NGO, status unchanged for
+ * app.escalateStalledAfterMinutes) is flagged to that NGO, and again each time
+ * the same period passes. Every escalation is announced to admins on
+ * /topic/escalations.
+ */
+@Service
+public class ReportEscalationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportEscalationService.class);
+
+    public static final String ESCALATIONS_TOPIC = "/topic/escalations";
+    public static final String NGO_ESCALATIONS_TOPIC = "/topic/ngos/%d/escalations";
+
+    @Autowired
+    private EscalationTimers timers;
+
+    @Autowired
+    private AnimalReportService animalReportService;
+
+    @Autowired
+    private AutoDispatchService autoDispatchService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+    private final double radiusFactor;
+    private final double maxRadiusKm;
+    private final int maxLevel;
+
+    private final AtomicLong unclaimedEscalations = new AtomicLong();
+    private final AtomicLong stalledFlags = new AtomicLong();
+
+    public ReportEscalationService(PlatformTransactionManager transactionManager,
+                                   @Value("${app.escalationRadiusFactor:2}") double radiusFactor,
+                                   @Value("${app.escalationMaxRadiusKm:200}") double maxRadiusKm,
+                                   @Value("${app.escalationMaxLevel:3}") int maxLevel) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.radiusFactor = radiusFactor;
+        this.maxRadiusKm = maxRadiusKm;
+        this.maxLevel = maxLevel;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        timers.start(this::escalate);
+    }
+
+    public Map<String, Object> stats() {
+        Map<Phase, Integer> pending = timers.pendingByPhase();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", timers.pendingCount());
+        stats.put("pendingUnclaimed", pending.get(Phase.UNCLAIMED));
+        stats.put("pendingStalled", pending.get(Phase.STALLED));
+        stats.put("unclaimedEscalations", unclaimedEscalations.get());
+        stats.put("stalledFlags", stalledFlags.get());
+        return stats;
+    }
+
+    // On the ticker thread, once per due deadline
+    void escalate(Escalation escalation) {
+        // Off any request, so the lookup needs its own session for the image URLs
+        Optional<ReportResponse> current = transactionTemplate.execute(
+                status -> animalReportService.getReportByTrackingId(escalation.trackingId));
+        // A case that has moved on since had its deadline refiled (or dropped) by that write
+        if (current.isEmpty() || EscalationTimers.phaseOf(current.get()) != escalation.phase) {
+            return;
+        }
+        if (escalation.phase == Phase.UNCLAIMED) {
+            escalateUnclaimed(escalation, current.get());
+        } else if (current.get().getStatus() == escalation.status) {
+            flagStalled(escalation, current.get());
+        }
+    }
+
+    private void escalateUnclaimed(Escalation escalation, ReportResponse report) {
+        if (report.getStatus() == ReportStatus.SUBMITTED) {
+            Optional<ReportResponse> searching = animalReportService.markSearchingForHelp(report.getTrackingId());
+            if (searching.isEmpty()) {
+                return; // claimed in the meantime
+            }
+            report = searching.get();
+        }
+
+        int level = escalation.level + 1;
+        double radiusKm = Math.min(maxRadiusKm,
+                autoDispatchService.getMaxDistanceKm() * Math.pow(radiusFactor, level));
+        Set<Long> offered = new HashSet<>(escalation.offeredNgoIds);
+        if (escalation.level == 0) {
+            // The first round went out when the case was filed; leave those NGOs out
+            for (DispatchOffer offer : autoDispatchService.rank(report)) {
+                offered.add(offer.getNgoId());
+            }
+        }
+        List<DispatchOffer> offers = autoDispatchService.reoffer(report, radiusKm, offered);
+        for (DispatchOffer offer : offers) {
+            offered.add(offer.getNgoId());
+        }
+        if (level < maxLevel) {
+            timers.refile(new Escalation(report.getTrackingId(), Phase.UNCLAIMED, report.getStatus(), level, offered));
+        } else {
+            // Including the deadline the move to SEARCHING_FOR_HELP just filed
+            timers.drop(report.getTrackingId());
+        }
+
+        unclaimedEscalations.incrementAndGet();
+        messagingTemplate.convertAndSend(ESCALATIONS_TOPIC,
+                new EscalationNotice(Phase.UNCLAIMED.name(), level, radiusKm, offered.size(), report));
+        log.info("Report {} unclaimed, escalation {}: offered to {} more NGOs within {} km",
+                report.getTrackingId(), level, offers.size(), radiusKm);
+    }
+
+    private void flagStalled(Escalation escalation, ReportResponse report) {
+        int level = escalation.level + 1;
+        timers.refile(new Escalation(report.getTrackingId(), Phase.STALLED, report.getStatus(), level, Set.of()));
+
+        stalledFlags.incrementAndGet();
+        EscalationNotice notice = new EscalationNotice(Phase.STALLED.name(), level, null, 0, report);
+        if (report.getAssignedNgoId() != null) {
+            messagingTemplate.convertAndSend(String.format(NGO_ESCALATIONS_TOPIC, report.getAssignedNgoId()), notice);
+        }
+        messagingTemplate.convertAndSend(ESCALATIONS_TOPIC, notice);
+        log.info("Report {} stalled in {} (flag {})", report.getTrackingId(), report.getStatus(), level);
+    }
+}
@@ -0,0 +1,380 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.util.Transactions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events fan-out of report changes, one channel per tracking ID.
+ *
+ * Connections are plain async-servlet SseEmitters, so an idle subscriber holds no
+ * request thread. Each channel keeps its last few events so a client reconnecting
+ * with Last-Event-ID gets what it missed; if the gap is too old (or the server
+ * restarted) it gets a fresh snapshot instead.
+ *
+ * Channel locks only guard the emitter list and replay buffer. Writes to the
+ * sockets happen on a small bounded pool, one subscriber at a time and in event
+ * order, so a slow client never holds up the request that changed the report.
+ * A subscriber that falls too far behind, or finds the pool full, is closed and
+ * catches up through Last-Event-ID when it reconnects.
+ */
+@Component
+public class ReportEventStream {
+
+    public static final String EVENT_NAME = "report";
+
+    private static final int REPLAY_SIZE = 16;
+
+    private final long timeoutMs;
+    private final int maxPending;
+
+    private final AtomicLong eventIds = new AtomicLong();
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor sender;
+
+    public ReportEventStream(@Value("${app.sseTimeoutMs:1800000}") long timeoutMs,
+            @Value("${app.sseSendThreads:4}") int sendThreads,
+            @Value("${app.sseSendQueueSize:10000}") int sendQueueSize,
+            @Value("${app.sseMaxPendingEvents:32}") int maxPending) {
+        this.timeoutMs = timeoutMs;
+        this.maxPending = maxPending;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "report-events-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Open a stream for one report. Missed events are replayed from lastEventId
+     * when possible; otherwise the current state from snapshot is sent first.
+     * Returns null if snapshot finds no such report.
+     */
+    public SseEmitter subscribe(String trackingId, String lastEventId, Supplier<Optional<ReportResponse>> snapshot) {
+        Subscriber subscriber = new Subscriber(trackingId, new SseEmitter(timeoutMs));
+        long resumeFrom = parseEventId(lastEventId);
+
+        List<Event> missed;
+        long registeredAt;
+        while (true) {
+            Channel channel = channels.computeIfAbsent(trackingId, id -> new Channel(eventIds.get()));
+            synchronized (channel) {
+                if (channel.closed) {
+                    continue; // lost a race with the last subscriber leaving; take the new channel
+                }
+                // Changes from here on are held by the subscriber until the
+                // replay or snapshot below has gone out ahead of them
+                registeredAt = eventIds.get();
+                missed = channel.since(resumeFrom, registeredAt);
+                channel.subscribers.add(subscriber);
+                break;
+            }
+        }
+        Runnable detach = () -> detach(subscriber);
+        subscriber.emitter.onCompletion(detach);
+        subscriber.emitter.onTimeout(detach);
+        subscriber.emitter.onError(e -> detach.run());
+
+        if (missed != null) {
+            subscriber.release(missed, null);
+            return subscriber.emitter;
+        }
+
+        // Loaded outside the channel lock, so a slow query holds up no writer
+        Optional<ReportResponse> current = snapshot.get();
+        if (current.isEmpty()) {
+            detach(subscriber); // no such report: drop the channel again if nobody else is on it
+            return null;
+        }
+        // Everything up to registeredAt is in the snapshot, so a Last-Event-ID of
+        // it resumes with the held events
+        Event first = new Event(registeredAt, current.get());
+        subscriber.release(List.of(first), first.report);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Push a change to subscribers of that report. Inside a transaction it is held
+     * back until completion (and after earlier-registered cache evictions), and
+     * dropped on rollback.
+     */
+    public void publish(ReportResponse report) {
+        Transactions.afterCommit(() -> broadcast(report));
+    }
+
+    public int subscriberCount() {
+        int count = 0;
+        for (Channel channel : channels.values()) {
+            count += channel.subscribers.size();
+        }
+        return count;
+    }
+
+    // Keeps proxies and load balancers from dropping idle connections, and
+    // flushes out subscribers whose client has gone away
+    @Scheduled(fixedDelayString = "${app.sseHeartbeatMs:15000}")
+    public void heartbeat() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.heartbeat();
+            }
+        }
+    }
+
+    private void broadcast(ReportResponse report) {
+        Channel channel = channels.get(report.getTrackingId());
+        if (channel == null) {
+            return;
+        }
+        Event event;
+        List<Subscriber> targets;
+        synchronized (channel) {
+            event = new Event(eventIds.incrementAndGet(), report);
+            channel.remember(event);
+            targets = List.copyOf(channel.subscribers);
+        }
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(event);
+        }
+    }
+
+    private void detach(Subscriber subscriber) {
+        // Drop empty channels (and their replay buffer) so memory tracks live subscribers
+        channels.computeIfPresent(subscriber.trackingId, (id, channel) -> {
+            synchronized (channel) {
+                channel.subscribers.remove(subscriber);
+                if (channel.subscribers.isEmpty()) {
+                    channel.closed = true;
+                    return null;
+                }
+                return channel;
+            }
+        });
+    }
+
+    private static long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class Event {
+        final long id;
+        final ReportResponse report;
+
+        Event(long id, ReportResponse report) {
+            this.id = id;
+            // Anyone with the tracking ID may subscribe, so no reporter contact details
+            this.report = report.withoutReporterContact();
+        }
+    }
+
+    /**
+     * One connection's outbox. At most one drain task per subscriber is queued
+     * on the sender pool at a time, which keeps its events in order.
+     */
+    private final class Subscriber {
+        final String trackingId;
+        final SseEmitter emitter;
+        // Guarded by this
+        private final Deque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private final List<Event> held = new ArrayList<>();
+        private boolean holding = true;
+        private boolean draining;
+        private boolean dropped;
+
+        Subscriber(String trackingId, SseEmitter emitter) {
+            this.trackingId = trackingId;
+            this.emitter = emitter;
+        }
+
+        void offer(Event event) {
+            boolean drop;
+            synchronized (this) {
+                if (holding) {
+                    held.add(event);
+                    return;
+                }
+                drop = !enqueue(toMessage(event));
+            }
+            dropIf(drop);
+        }
+
+        /**
+         * Send the first events (a replay, or a snapshot), then whatever arrived
+         * while they were being worked out. After a snapshot, changes it already
+         * includes are skipped.
+         */
+        void release(List<Event> first, ReportResponse snapshot) {
+            boolean drop = false;
+            synchronized (this) {
+                holding = false;
+                for (Event event : first) {
+                    drop |= !enqueue(toMessage(event));
+                }
+                for (Event event : held) {
+                    if (snapshot == null || isNewer(event.report, snapshot)) {
+                        drop |= !enqueue(toMessage(event));
+                    }
+                }
+                held.clear();
+            }
+            dropIf(drop);
+        }
+
+        // Only when nothing else is on its way: any event keeps the connection alive too
+        void heartbeat() {
+            boolean drop;
+            synchronized (this) {
+                if (holding || draining || !pending.isEmpty()) {
+                    return;
+                }
+                drop = !enqueue(SseEmitter.event().comment("heartbeat"));
+            }
+            dropIf(drop);
+        }
+
+        // Caller holds the lock. False if the subscriber has to be dropped.
+        private boolean enqueue(SseEmitter.SseEventBuilder message) {
+            if (dropped) {
+                return true;
+            }
+            if (pending.size() >= maxPending) {
+                return false;
+            }
+            pending.addLast(message);
+            if (!draining) {
+                draining = true;
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining = false;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder message;
+                synchronized (this) {
+                    message = pending.pollFirst();
+                    if (message == null || dropped) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    // The container reports the broken connection through onError
+                    synchronized (this) {
+                        dropped = true;
+                        pending.clear();
+                        draining = false;
+                    }
+                    detach(this);
+                    return;
+                }
+            }
+        }
+
+        // Outside the lock, as completing waits for a send in progress. Completing
+        // the emitter detaches it; the client reconnects with its Last-Event-ID.
+        private void dropIf(boolean drop) {
+            if (!drop) {
+                return;
+            }
+            synchronized (this) {
+                if (dropped) {
+                    return;
+                }
+                dropped = true;
+                pending.clear();
+            }
+            emitter.complete();
+        }
+
+        private SseEmitter.SseEventBuilder toMessage(Event event) {
+            return SseEmitter.event()
+                    .id(Long.toString(event.id))
+                    .name(EVENT_NAME)
+                    .data(event.report);
+        }
+
+        private boolean isNewer(ReportResponse event, ReportResponse snapshot) {
+            return event.getUpdatedAt() == null || snapshot.getUpdatedAt() == null
+                    || event.getUpdatedAt().isAfter(snapshot.getUpdatedAt());
+        }
+    }
+
+    private static final class Channel {
+        final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final Deque<Event> recent = new ArrayDeque<>();
+        // Every event for this report with an id above floor is still in recent
+        private long floor;
+        boolean closed;
+
+        Channel(long floor) {
+            this.floor = floor;
+        }
+
+        void remember(Event event) {
+            recent.addLast(event);
+            if (recent.size() > REPLAY_SIZE) {
+                floor = recent.removeFirst().id;
+            }
+        }
+
+        /**
+         * Events after lastEventId, or null if they cannot be replayed and the
+         * caller should send a snapshot instead
+         */
+        List<Event> since(long lastEventId, long latestId) {
+            if (lastEventId < floor || lastEventId > latestId) {
+                return null;
+            }
+            List<Event> missed = new ArrayList<>();
+            for (Event event : recent) {
+                if (event.id > lastEventId) {
+                    missed.add(event);
+                }
+            }
+            return missed;
+        }
+    }
+}
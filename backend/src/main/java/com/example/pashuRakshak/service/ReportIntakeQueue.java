@@ -0,0 +1,510 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.QueuedReport;
+import com.example.pashuRakshak.dto.ReportRequest;
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.repository.ArchivedReportRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Async report intake for surges. A report is validated by the controller, gets
+ * its tracking ID here, is appended to the intake journal and queued, and the
+ * caller gets 202 without waiting for the database. app.intakeWriters
+ * background threads drain the queue in batches of up to app.intakeBatchSize,
+ * one transaction per batch (AnimalReportService.createQueuedReports).
+ *
+ * Backpressure: once app.intakeQueueCapacity reports are waiting, submit throws
+ * IntakeQueueFullException (503 with Retry-After) until writers catch up.
+ *
+ * The journal (app.intakeJournal, one QueuedReport per line; blank to keep the
+ * queue in memory only) is what makes the 202 safe: an entry is forced to disk
+ * before its caller is answered, and entries not yet written are replayed at the
+ * next startup, skipping any that reached the database (hot or archive table).
+ * Concurrent submits share one force (group commit). The journal is split into
+ * segments of app.intakeJournalSegmentEntries entries (files named
+ * {@code <intakeJournal>.<n>}); a full segment is sealed and deleted once every
+ * entry in it has been written, and the current one is truncated whenever it
+ * has nothing outstanding, so the journal stays bounded under steady load.
+ */
+@Service
+public class ReportIntakeQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportIntakeQueue.class);
+
+    private static final long MAX_BACKOFF_MS = 30000;
+
+    @Autowired
+    private AnimalReportService animalReportService;
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    @Autowired
+    private ArchivedReportRepository archivedReportRepository;
+
+    @Autowired
+    private TrackingIdGenerator trackingIdGenerator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final int writerCount;
+    private final long retryAfterSeconds;
+    private final long shutdownTimeoutMs;
+    private final Path journalPath;
+    private final int segmentEntries;
+
+    private final BlockingQueue<QueuedReport> queue = new LinkedBlockingQueue<>();
+    // Accepted but not yet written, by tracking ID, so tracking works in between
+    private final Map<String, QueuedReport> queued = new ConcurrentHashMap<>();
+    // Guards the capacity check and the journal, so queue and journal agree
+    private final Object intakeLock = new Object();
+    // Guards forcing the journal to disk; taken inside intakeLock when a segment is sealed
+    private final Object syncLock = new Object();
+    // The segment being appended to; null when there is no journal
+    private volatile Segment segment;
+    // Accepted and not yet written, by tracking ID: the segment holding each one's entry
+    private final Map<String, Segment> segmentOf = new ConcurrentHashMap<>();
+    private long nextSegmentNumber;
+    // Entries appended so far (under intakeLock) and known to be on disk (under syncLock)
+    private volatile long appended;
+    private long synced;
+    // Accepted and not yet written (or given up on)
+    private final AtomicLong pending = new AtomicLong();
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean accepting;
+    private volatile boolean running;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong totalLagMs = new AtomicLong();
+    private final AtomicLong maxLagMs = new AtomicLong();
+    private volatile long lastLagMs;
+
+    public ReportIntakeQueue(@Value("${app.asyncIntake:true}") boolean enabled,
+                             @Value("${app.intakeQueueCapacity:10000}") int capacity,
+                             @Value("${app.intakeBatchSize:100}") int batchSize,
+                             @Value("${app.intakeWriters:2}") int writerCount,
+                             @Value("${app.intakeRetryAfterSeconds:5}") long retryAfterSeconds,
+                             @Value("${app.intakeShutdownTimeoutMs:10000}") long shutdownTimeoutMs,
+                             @Value("${app.intakeJournal:}") String journal,
+                             @Value("${app.intakeJournalSegmentEntries:1000}") int segmentEntries) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.writerCount = writerCount;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.journalPath = journal.isBlank() ? null : Paths.get(journal).toAbsolutePath();
+        this.segmentEntries = segmentEntries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        replayJournal();
+        running = true;
+        for (int i = 0; i < writerCount; i++) {
+            Thread writer = new Thread(this::drain, "report-intake-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+        accepting = true;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accept a validated report for writing later. Returns the report as it will
+     * be written (tracking ID set, no id yet).
+     */
+    public ReportResponse submit(ReportRequest request) {
+        if (!accepting) {
+            throw new IntakeQueueFullException("Report intake is not accepting reports right now", retryAfterSeconds);
+        }
+        QueuedReport item = new QueuedReport(trackingIdGenerator.nextTrackingId(), LocalDateTime.now(), request);
+        long entry = 0;
+        try {
+            synchronized (intakeLock) {
+                if (queue.size() >= capacity) {
+                    rejected.incrementAndGet();
+                    throw new IntakeQueueFullException("Report intake queue is full", retryAfterSeconds);
+                }
+                if (segment != null) {
+                    entry = append(item);
+                }
+                pending.incrementAndGet();
+                queued.put(item.getTrackingId(), item);
+                queue.add(item);
+            }
+            if (entry > 0) {
+                sync(entry);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal queued report", e);
+        }
+        accepted.incrementAndGet();
+        return animalReportService.queuedResponse(item);
+    }
+
+    /**
+     * A report that was accepted but has not been written yet
+     */
+    public Optional<ReportResponse> findQueued(String trackingId) {
+        return Optional.ofNullable(queued.get(trackingId)).map(animalReportService::queuedResponse);
+    }
+
+    public Map<String, Object> stats() {
+        QueuedReport oldest = queue.peek();
+        long writtenCount = written.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("accepting", accepting);
+        stats.put("depth", queue.size());
+        stats.put("capacity", capacity);
+        stats.put("pending", pending.get());
+        stats.put("accepted", accepted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("written", writtenCount);
+        stats.put("failed", failed.get());
+        stats.put("batches", batches.get());
+        // Lag: how long the oldest waiting report has waited, and receipt-to-commit times
+        stats.put("oldestQueuedAgeMs", oldest == null ? 0 : ageMs(oldest));
+        stats.put("lastCommitLagMs", lastLagMs);
+        stats.put("maxCommitLagMs", maxLagMs.get());
+        stats.put("avgCommitLagMs", writtenCount == 0 ? 0.0 : (double) totalLagMs.get() / writtenCount);
+        stats.put("journal", journalPath == null ? null : journalPath.toString());
+        return stats;
+    }
+
+    /**
+     * Stop accepting and give the writers app.intakeShutdownTimeoutMs to empty the
+     * queue. Whatever is left stays in the journal for the next start.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        accepting = false;
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        while (pending.get() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        running = false;
+        for (Thread writer : writers) {
+            writer.interrupt();
+            writer.join(1000);
+        }
+        if (pending.get() > 0) {
+            log.warn("{} queued reports not written at shutdown; they will be replayed from the journal", pending.get());
+        }
+        synchronized (intakeLock) {
+            if (segment != null) {
+                synchronized (syncLock) {
+                    try {
+                        segment.channel.close();
+                    } catch (IOException e) {
+                        log.warn("Could not close intake journal: {}", e.getMessage());
+                    }
+                }
+                segment = null;
+            }
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            QueuedReport first;
+            try {
+                first = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            List<QueuedReport> batch = new ArrayList<>(batchSize);
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+        }
+    }
+
+    // Retries a batch for as long as the database is unreachable (the queue
+    // filling up is the backpressure). Any other failure splits the batch, so
+    // one bad report does not sink the rest.
+    private void write(List<QueuedReport> batch) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                animalReportService.createQueuedReports(batch);
+                finished(batch, true);
+                return;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    if (batch.size() > 1) {
+                        for (QueuedReport item : batch) {
+                            write(List.of(item));
+                        }
+                    } else {
+                        log.error("Dropping queued report {}: {}", batch.get(0).getTrackingId(), e.getMessage());
+                        finished(batch, false);
+                    }
+                    return;
+                }
+                log.warn("Writing {} queued reports failed, retrying: {}", batch.size(), e.getMessage());
+                try {
+                    Thread.sleep(Math.min(MAX_BACKOFF_MS, 500L << Math.min(attempt, 6)));
+                } catch (InterruptedException interrupted) {
+                    // Shutting down; the batch stays pending in the journal
+                    return;
+                }
+            }
+        }
+    }
+
+    private void finished(List<QueuedReport> batch, boolean success) {
+        for (QueuedReport item : batch) {
+            queued.remove(item.getTrackingId());
+            if (success) {
+                long lag = ageMs(item);
+                lastLagMs = lag;
+                totalLagMs.addAndGet(lag);
+                maxLagMs.accumulateAndGet(lag, Math::max);
+            }
+        }
+        if (success) {
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } else {
+            failed.addAndGet(batch.size());
+        }
+        release(batch);
+        pending.addAndGet(-batch.size());
+    }
+
+    // Append one entry to the current segment, sealing it first if it is full.
+    // Returns the entry's number, for sync. Caller holds intakeLock.
+    private long append(QueuedReport item) throws IOException {
+        if (segment.entries >= segmentEntries) {
+            seal();
+        }
+        ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(item) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            segment.channel.write(line);
+        }
+        segment.entries++;
+        segment.outstanding++;
+        segmentOf.put(item.getTrackingId(), segment);
+        return ++appended;
+    }
+
+    // Force the journal to disk up to the given entry. Whoever gets the lock
+    // first forces everything appended so far, so concurrent submits share it.
+    private void sync(long entry) throws IOException {
+        synchronized (syncLock) {
+            Segment current = segment;
+            if (synced >= entry || current == null) {
+                return;
+            }
+            // Entries in sealed segments were forced when they were sealed
+            long upTo = appended;
+            current.channel.force(false);
+            synced = upTo;
+        }
+    }
+
+    // Close the full current segment and start the next one. Caller holds intakeLock.
+    private void seal() throws IOException {
+        Segment sealed = segment;
+        synchronized (syncLock) {
+            sealed.channel.force(false);
+            synced = appended;
+            sealed.channel.close();
+            segment = openSegment();
+        }
+        if (sealed.outstanding == 0) {
+            Files.deleteIfExists(sealed.path);
+        }
+    }
+
+    // Entries whose reports are written (or given up on) are no longer needed:
+    // delete sealed segments that have none left, truncate the current one
+    private void release(List<QueuedReport> batch) {
+        synchronized (intakeLock) {
+            for (QueuedReport item : batch) {
+                Segment holder = segmentOf.remove(item.getTrackingId());
+                if (holder == null || --holder.outstanding > 0) {
+                    continue;
+                }
+                try {
+                    if (holder == segment) {
+                        holder.channel.truncate(0);
+                        holder.entries = 0;
+                    } else {
+                        Files.deleteIfExists(holder.path);
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not release intake journal segment {}: {}", holder.path, e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Queue whatever the last run accepted but did not write, journal it afresh
+    // in a new segment, then drop the old segments
+    private void replayJournal() throws IOException {
+        if (journalPath == null) {
+            return;
+        }
+        Files.createDirectories(journalPath.getParent());
+        List<Path> previous = previousSegments();
+        List<QueuedReport> replay = new ArrayList<>();
+        for (Path file : previous) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                QueuedReport item;
+                try {
+                    item = objectMapper.readValue(line, QueuedReport.class);
+                } catch (JsonProcessingException e) {
+                    // A line torn by a crash mid-write; its caller never got a 202
+                    log.warn("Skipping unreadable intake journal line: {}", e.getOriginalMessage());
+                    continue;
+                }
+                if (queued.containsKey(item.getTrackingId())
+                        || reportRepository.existsByTrackingId(item.getTrackingId())
+                        || archivedReportRepository.existsByTrackingId(item.getTrackingId())) {
+                    continue;
+                }
+                queued.put(item.getTrackingId(), item);
+                replay.add(item);
+            }
+        }
+        synchronized (intakeLock) {
+            segment = openSegment();
+            for (QueuedReport item : replay) {
+                append(item);
+                pending.incrementAndGet();
+                queue.add(item);
+            }
+        }
+        sync(appended);
+        // Only now that the survivors are safely in the new segment
+        for (Path file : previous) {
+            Files.deleteIfExists(file);
+        }
+        if (!replay.isEmpty()) {
+            log.info("Replaying {} queued reports from {}", replay.size(), journalPath);
+        }
+    }
+
+    // Segments left by the last run, oldest first, plus a pre-segment journal
+    // file at the bare app.intakeJournal path
+    private List<Path> previousSegments() throws IOException {
+        String prefix = journalPath.getFileName() + ".";
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(journalPath.getParent(), prefix + "*")) {
+            for (Path file : files) {
+                long number = segmentNumber(file, prefix);
+                if (number >= 0) {
+                    segments.add(file);
+                    nextSegmentNumber = Math.max(nextSegmentNumber, number + 1);
+                }
+            }
+        }
+        segments.sort(Comparator.comparingLong(file -> segmentNumber(file, prefix)));
+        if (Files.exists(journalPath)) {
+            segments.add(0, journalPath);
+        }
+        return segments;
+    }
+
+    private static long segmentNumber(Path file, String prefix) {
+        String suffix = file.getFileName().toString().substring(prefix.length());
+        return suffix.matches("\\d{1,18}") ? Long.parseLong(suffix) : -1;
+    }
+
+    private Segment openSegment() throws IOException {
+        Path path = journalPath.resolveSibling(journalPath.getFileName() + "." + nextSegmentNumber++);
+        return new Segment(path, FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    private static long ageMs(QueuedReport item) {
+        return Duration.between(item.getReceivedAt(), LocalDateTime.now()).toMillis();
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    // One journal file. Counts are guarded by intakeLock.
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        // Appended since the file was created or last truncated
+        int entries;
+        // Of those, not yet written (or given up on)
+        int outstanding;
+
+        Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+}
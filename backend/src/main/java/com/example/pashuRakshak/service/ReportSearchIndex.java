@@ -0,0 +1,324 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.repository.ArchivedReportRepository;
+import com.example.pashuRakshak.util.Transactions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory inverted index over report text (animalType, address,
+ * injuryDescription, additionalNotes), for admin search. Ranking is BM25 with
+ * per-field weights; every query word must match, and the last one also
+ * matches as a prefix so search-as-you-type works.
+ *
+ * Built from both the hot and archive tables at startup, then kept current
+ * from AnimalReportService's writes once they commit. A report's text is
+ * written once at creation; later writes only change its status, so updates
+ * touch the document entry and never the postings. A rebuild loads a fresh
+ * index off to the side while searches keep using the old one, replays the
+ * writes that arrived meanwhile onto it, and swaps it in.
+ */
+@Component
+public class ReportSearchIndex {
+
+    // BM25 parameters (the usual defaults)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // A short prefix could otherwise fan out over most of the dictionary
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    private static final float ANIMAL_TYPE_WEIGHT = 3.0f;
+    private static final float ADDRESS_WEIGHT = 1.5f;
+    private static final float TEXT_WEIGHT = 1.0f;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "at", "be", "by", "for", "from", "has", "in", "is", "it",
+            "its", "of", "on", "or", "the", "to", "was", "with");
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    @Autowired
+    private ArchivedReportRepository archivedReportRepository;
+
+    private volatile Index current = new Index();
+    // Writes seen while a rebuild is loading, replayed onto the new index; null otherwise
+    private List<ReportResponse> missedByRebuild;
+    private final Object rebuildLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                missedByRebuild = new ArrayList<>();
+            }
+            Index rebuilt = new Index();
+            try {
+                reportRepository.findAllResponses().forEach(rebuilt::put);
+                archivedReportRepository.findAllResponses().forEach(rebuilt::put);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    missedByRebuild = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                // In arrival order, so the last write to a report wins, as it does in put
+                missedByRebuild.forEach(rebuilt::put);
+                missedByRebuild = null;
+                current = rebuilt;
+            }
+        }
+    }
+
+    /**
+     * Index a report that was just written. Inside a transaction this waits for
+     * the commit, so rolled-back reports never become searchable.
+     */
+    public void index(ReportResponse report) {
+        Transactions.afterCommit(() -> put(report));
+    }
+
+    public int size() {
+        return current.docs.size();
+    }
+
+    /**
+     * Reports matching every word of the query, narrowed to the given statuses
+     * (null for any) and creation time range (either end may be null): how many
+     * match, and the ids of matches offset to offset + limit, best match first.
+     * Only the best offset + limit are kept while scoring, never a full ranking.
+     */
+    public Hits search(String query, Collection<ReportStatus> statuses,
+            LocalDateTime createdFrom, LocalDateTime createdTo, int offset, int limit) {
+        Index index = current;
+        Map<String, Map<Long, Float>> postings = index.postings;
+        Map<Long, Doc> docs = index.docs;
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Search query has no searchable words");
+        }
+
+        // Per query word, the dictionary terms it matches
+        List<List<String>> termsPerWord = new ArrayList<>(words.size());
+        for (int i = 0; i < words.size(); i++) {
+            boolean last = i == words.size() - 1;
+            List<String> terms = last ? index.withPrefix(words.get(i)) : List.of(words.get(i));
+            if (terms.isEmpty() || (!last && !postings.containsKey(words.get(i)))) {
+                return Hits.NONE;
+            }
+            termsPerWord.add(terms);
+        }
+
+        double docCount = Math.max(1, docs.size());
+        double avgLength = Math.max(1.0, index.totalLength.get() / docCount);
+
+        Map<Long, Double> scores = null;
+        for (List<String> terms : termsPerWord) {
+            Map<Long, Double> wordScores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Float> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (Map.Entry<Long, Float> entry : posting.entrySet()) {
+                    if (scores != null && !scores.containsKey(entry.getKey())) {
+                        continue; // already failed an earlier word
+                    }
+                    Doc doc = docs.get(entry.getKey());
+                    if (doc == null || !doc.matches(statuses, createdFrom, createdTo)) {
+                        continue;
+                    }
+                    double tf = entry.getValue();
+                    double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * doc.length / avgLength));
+                    // A prefix matching several terms in one report counts once, at its best
+                    wordScores.merge(entry.getKey(), score, Math::max);
+                }
+            }
+            if (scores == null) {
+                scores = wordScores;
+            } else {
+                Map<Long, Double> both = new HashMap<>();
+                for (Map.Entry<Long, Double> entry : wordScores.entrySet()) {
+                    Double previous = scores.get(entry.getKey());
+                    if (previous != null) {
+                        both.put(entry.getKey(), previous + entry.getValue());
+                    }
+                }
+                scores = both;
+            }
+            if (scores.isEmpty()) {
+                return Hits.NONE;
+            }
+        }
+
+        // Bounded heap of the best `keep`, worst on top; ties go to the newer report (higher id)
+        int keep = (int) Math.min((long) offset + limit, scores.size());
+        Comparator<Map.Entry<Long, Double>> worstFirst = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(Math.max(1, keep), worstFirst);
+        if (keep > 0) {
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                if (best.size() < keep) {
+                    best.add(entry);
+                } else if (worstFirst.compare(entry, best.peek()) > 0) {
+                    best.poll();
+                    best.add(entry);
+                }
+            }
+        }
+
+        Long[] ranked = new Long[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = best.poll().getKey();
+        }
+        List<Long> window = offset < ranked.length
+                ? Arrays.asList(ranked).subList(offset, ranked.length)
+                : List.of();
+        return new Hits(scores.size(), window);
+    }
+
+    private synchronized void put(ReportResponse report) {
+        current.put(report);
+        if (missedByRebuild != null) {
+            missedByRebuild.add(report);
+        }
+    }
+
+    private static int addField(Map<String, Float> frequencies, String text, float weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size();
+    }
+
+    // Lower-cased runs of letters and digits, minus stop words and single characters
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = lower.substring(start, i);
+                if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Match count and one window of ranked report ids
+     */
+    public static final class Hits {
+        static final Hits NONE = new Hits(0, List.of());
+
+        private final int total;
+        private final List<Long> ids;
+
+        Hits(int total, List<Long> ids) {
+            this.total = total;
+            this.ids = ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+    }
+
+    // One generation of the index. Written by a single thread at a time (put is
+    // synchronized, a rebuilding index is private until swapped in); read freely.
+    private static final class Index {
+        // term -> (report id -> field-weighted term frequency); sorted for prefix scans
+        final ConcurrentSkipListMap<String, Map<Long, Float>> postings = new ConcurrentSkipListMap<>();
+        final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+        final AtomicLong totalLength = new AtomicLong();
+
+        void put(ReportResponse report) {
+            Doc existing = docs.get(report.getId());
+            if (existing != null) {
+                docs.put(report.getId(), new Doc(report.getStatus(), report.getCreatedAt(), existing.length));
+                return;
+            }
+
+            Map<String, Float> frequencies = new HashMap<>();
+            int length = addField(frequencies, report.getAnimalType(), ANIMAL_TYPE_WEIGHT)
+                    + addField(frequencies, report.getAddress(), ADDRESS_WEIGHT)
+                    + addField(frequencies, report.getInjuryDescription(), TEXT_WEIGHT)
+                    + addField(frequencies, report.getAdditionalNotes(), TEXT_WEIGHT);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(report.getId(), frequency));
+            // Published last, so a search never scores a report whose postings are half in
+            docs.put(report.getId(), new Doc(report.getStatus(), report.getCreatedAt(), length));
+            totalLength.addAndGet(length);
+        }
+
+        List<String> withPrefix(String prefix) {
+            NavigableMap<String, Map<Long, Float>> range =
+                    postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            List<String> terms = new ArrayList<>();
+            for (String term : range.keySet()) {
+                terms.add(term);
+                if (terms.size() >= MAX_PREFIX_TERMS) {
+                    break;
+                }
+            }
+            return terms;
+        }
+    }
+
+    private static final class Doc {
+        final ReportStatus status;
+        final LocalDateTime createdAt;
+        final int length;
+
+        Doc(ReportStatus status, LocalDateTime createdAt, int length) {
+            this.status = status;
+            this.createdAt = createdAt;
+            this.length = length;
+        }
+
+        boolean matches(Collection<ReportStatus> statuses, LocalDateTime from, LocalDateTime to) {
+            return (statuses == null || statuses.contains(status))
+                    && (from == null || (createdAt != null && !createdAt.isBefore(from)))
+                    && (to == null || (createdAt != null && createdAt.isBefore(to)));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.CursorPage;
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.dto.ReportStatusChangeResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.entity.ReportStatusChange;
+import com.example.pashuRakshak.repository.ReportStatusChangeRepository;
+import com.example.pashuRakshak.util.ReportCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Append-only status history of reports, for reporter timelines and for
+ * analytics such as time-to-accept and time-to-rescue.
+ */
+@Service
+public class ReportStatusHistoryService {
+
+    @Autowired
+    private ReportStatusChangeRepository statusChangeRepository;
+
+    /**
+     * Log the status a report was just given. Call inside the transaction that
+     * wrote it, so the entry commits or rolls back with the change.
+     */
+    public void record(ReportResponse report) {
+        LocalDateTime changedAt = report.getUpdatedAt() != null ? report.getUpdatedAt() : LocalDateTime.now();
+        statusChangeRepository.save(new ReportStatusChange(report.getId(), report.getTrackingId(),
+                report.getStatus(), changedAt, report.getAssignedNgoId(), report.getAssignedWorkerId()));
+    }
+
+    public List<ReportStatusChangeResponse> getTimeline(String trackingId) {
+        return statusChangeRepository.findTimeline(trackingId);
+    }
+
+    /**
+     * Status changes with from <= changedAt < to, newest first, optionally only
+     * those into one status
+     */
+    public CursorPage<ReportStatusChangeResponse> getTransitions(LocalDateTime from, LocalDateTime to,
+            ReportStatus status, String cursor, int limit) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        ReportCursor after = ReportCursor.decode(cursor);
+        List<ReportStatusChangeResponse> rows = status == null
+                ? statusChangeRepository.findPageBetween(from, to, after.getCreatedAt(), after.getId(),
+                        ReportCursor.fetchWindow(limit))
+                : statusChangeRepository.findPageBetweenByStatus(status, from, to, after.getCreatedAt(),
+                        after.getId(), ReportCursor.fetchWindow(limit));
+        return ReportCursor.pageOf(rows, limit, row -> new ReportCursor(row.getChangedAt(), row.getId()));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.repository.ArchivedReportRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Full report listings written out while they are read, for admin dumps too
+ * big to build as one list first. Rows come off a database cursor
+ * (AnimalReportRepository.STREAM_FETCH_SIZE rows per round trip), hot reports
+ * and then archived ones, the same order as the list versions. Image URLs are
+ * looked up CHUNK_SIZE rows at a time, so one chunk is all that is ever held.
+ * Also feeds the CSV export (ExportService).
+ *
+ * The cursor keeps a pooled connection for as long as the caller takes to
+ * consume it, so each pass is capped at app.reportStreamMaxSeconds: statements
+ * get the transaction's remaining time, and a pass still running at the
+ * deadline fails with QueryTimeoutException before its next chunk.
+ */
+@Service
+public class ReportStreamService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * Takes one chunk of reports. The list is reused once this returns.
+     */
+    @FunctionalInterface
+    public interface ChunkWriter {
+        void write(List<ReportResponse> chunk) throws IOException;
+    }
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    @Autowired
+    private ArchivedReportRepository archivedReportRepository;
+
+    @Autowired
+    private AnimalReportService animalReportService;
+
+    @Autowired
+    private ReportArchiveService reportArchiveService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxSeconds;
+
+    public ReportStreamService(PlatformTransactionManager transactionManager,
+                               @Value("${app.reportStreamMaxSeconds:300}") int maxSeconds) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout(maxSeconds);
+        this.maxSeconds = maxSeconds;
+    }
+
+    /**
+     * Write every report with the given status (null for all) to out as one
+     * JSON array, the body the list endpoint would return. The opening bracket
+     * goes out before the first query, and each chunk as soon as it is written.
+     * If reading fails part way, the exception propagates with the array left
+     * open, so what was written is never a complete-looking document.
+     */
+    public void writeJsonArray(ReportStatus status, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ReportResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartArray();
+        generator.flush();
+        forEachChunk(status, true, chunk -> {
+            for (ReportResponse report : chunk) {
+                writer.writeValue(generator, report);
+            }
+            generator.flush();
+        });
+        generator.writeEndArray();
+        generator.close();
+    }
+
+    /**
+     * Hand every report with the given status (null for all) to chunkWriter, up
+     * to CHUNK_SIZE at a time, with image URLs filled in if withImageUrls (left
+     * null otherwise). Runs in one read-only transaction, which the cursor needs
+     * open throughout, for at most app.reportStreamMaxSeconds.
+     */
+    public void forEachChunk(ReportStatus status, boolean withImageUrls, ChunkWriter chunkWriter) throws IOException {
+        UnaryOperator<List<ReportResponse>> hotImages =
+                withImageUrls ? animalReportService::withImages : UnaryOperator.identity();
+        UnaryOperator<List<ReportResponse>> archivedImages =
+                withImageUrls ? reportArchiveService::withImages : UnaryOperator.identity();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(maxSeconds);
+        try {
+            readOnlyTransaction.executeWithoutResult(tx -> {
+                try {
+                    if (status == null) {
+                        writeChunks(reportRepository.streamAllResponses(), hotImages, chunkWriter, deadline);
+                        writeChunks(archivedReportRepository.streamAllResponses(), archivedImages, chunkWriter,
+                                deadline);
+                    } else {
+                        writeChunks(reportRepository.streamResponsesByStatusIn(List.of(status)),
+                                hotImages, chunkWriter, deadline);
+                        writeChunks(archivedReportRepository.streamResponsesByStatus(status),
+                                archivedImages, chunkWriter, deadline);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeChunks(Stream<ReportResponse> rows, UnaryOperator<List<ReportResponse>> withImages,
+            ChunkWriter chunkWriter, long deadline) throws IOException {
+        try (rows) {
+            List<ReportResponse> chunk = new ArrayList<>(CHUNK_SIZE);
+            Iterator<ReportResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    checkDeadline(deadline);
+                    chunkWriter.write(withImages.apply(chunk));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                checkDeadline(deadline);
+                chunkWriter.write(withImages.apply(chunk));
+            }
+        }
+    }
+
+    // Slow consumers included: the cursor's connection goes back to the pool either way
+    private void checkDeadline(long deadline) {
+        if (System.nanoTime() - deadline > 0) {
+            throw new QueryTimeoutException("Report stream took longer than " + maxSeconds + "s");
+        }
+    }
+}
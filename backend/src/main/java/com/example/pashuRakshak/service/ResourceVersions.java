@@ -0,0 +1,53 @@
+package com.example.pashuRakshak.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version stamps for collections served with ETags. Writers bump the
+ * stamp; readers build the ETag from it before running any query, so a matching
+ * If-None-Match can be answered with 304 straight away.
+ *
+ * Stamps restart with the process (the boot time is part of the tag), and a bump
+ * inside a transaction is repeated after it completes so a reader cannot tag
+ * pre-commit data with the post-write version.
+ */
+@Component
+public class ResourceVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong reports = new AtomicLong();
+    private final AtomicLong ngos = new AtomicLong();
+
+    public String reportsTag(String scope) {
+        return "\"reports-" + scope + "-" + epoch + "-" + reports.get() + "\"";
+    }
+
+    public String ngosTag(String scope) {
+        return "\"ngos-" + scope + "-" + epoch + "-" + ngos.get() + "\"";
+    }
+
+    public void reportsChanged() {
+        bump(reports);
+    }
+
+    public void ngosChanged() {
+        bump(ngos);
+    }
+
+    private static void bump(AtomicLong version) {
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+}
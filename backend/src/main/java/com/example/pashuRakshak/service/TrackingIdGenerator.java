@@ -0,0 +1,101 @@
+package com.example.pashuRakshak.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.security.SecureRandom;
+
+/**
+ * Issues report tracking IDs such as {@code PR-0J3KZ8QW1C04G-7XK2M9RTV0BQD}.
+ *
+ * The first part is a Snowflake-style 63-bit value (41 bits of milliseconds since
+ * 2024-01-01, 10 bits of node id, 12 bits of per-millisecond sequence) written
+ * as 13 Crockford base32 characters. Fixed width keeps string order equal to
+ * numeric order, so new IDs land at the right-hand edge of the tracking_id index,
+ * and IDs from one node are strictly increasing. IDs are unique across nodes as
+ * long as each node has its own {@code app.trackingIdNodeId}.
+ *
+ * The tracking endpoints need no login, and the Snowflake part alone is easy to
+ * guess from a neighbouring ID, so 64 random bits follow it. They only decide
+ * the order of IDs with the same Snowflake part, which never happens.
+ */
+@Component
+public class TrackingIdGenerator {
+
+    public static final String PREFIX = "PR-";
+
+    private static final long EPOCH_MS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    // Crockford base32: no I, L, O or U, so IDs are easy to read out over the phone
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+    private static final char SEPARATOR = '-';
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${app.trackingIdNodeId:-1}")
+    private long configuredNodeId;
+
+    private long nodeId;
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    @PostConstruct
+    void init() {
+        if (configuredNodeId > MAX_NODE) {
+            throw new IllegalStateException("app.trackingIdNodeId must be between 0 and " + MAX_NODE);
+        }
+        nodeId = configuredNodeId >= 0 ? configuredNodeId : defaultNodeId();
+    }
+
+    public String nextTrackingId() {
+        return PREFIX + encode(nextId()) + SEPARATOR + encode(random.nextLong());
+    }
+
+    /**
+     * Never waits: if the wall clock stalls, steps backwards or the sequence runs
+     * out within a millisecond, the logical timestamp simply moves one tick ahead.
+     */
+    synchronized long nextId() {
+        long now = currentTimeMillis() - EPOCH_MS;
+        if (now > lastTimestamp) {
+            lastTimestamp = now;
+            sequence = 0;
+        } else if (++sequence > MAX_SEQUENCE) {
+            lastTimestamp++;
+            sequence = 0;
+        }
+        return (lastTimestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    // Wall clock; overridden in tests to make it stall or step backwards
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    static String encode(long value) {
+        char[] out = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(out);
+    }
+
+    private static long defaultNodeId() {
+        String identity = ManagementFactory.getRuntimeMXBean().getName(); // pid@host
+        try {
+            identity += InetAddress.getLocalHost().getHostAddress();
+        } catch (Exception e) {
+            // host name alone is good enough for a single-node deployment
+        }
+        return (identity.hashCode() & 0x7fffffff) % (MAX_NODE + 1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL read-through cache for public tracking lookups, keyed by
+ * tracking ID. Backed by Caffeine, so hits take no lock shared with other
+ * readers. Cached responses are shared, so callers must treat them as read-only.
+ *
+ * Writers call {@link #invalidate}. A load that overlaps an invalidation does
+ * not stay cached (tracked with a generation counter), and invalidations issued
+ * inside a transaction are repeated after it completes, so a reader can never
+ * re-cache a row that is about to change.
+ */
+@Component
+public class TrackingLookupCache {
+
+    private final int maxSize;
+    private final Cache<String, ReportResponse> entries;
+    // Bumped before every invalidation; a load started under an older value is dropped
+    private final AtomicLong generation = new AtomicLong();
+
+    public TrackingLookupCache(@Value("${app.trackingCacheMaxSize:10000}") int maxSize,
+                               @Value("${app.trackingCacheTtlSeconds:60}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<ReportResponse> get(String trackingId, Function<String, Optional<ReportResponse>> loader) {
+        ReportResponse cached = entries.getIfPresent(trackingId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long loadGeneration = generation.get();
+        Optional<ReportResponse> loaded = loader.apply(trackingId);
+        // Unknown IDs are not cached, so a later create needs no invalidation
+        loaded.ifPresent(value -> store(trackingId, value, loadGeneration));
+        return loaded;
+    }
+
+    public void invalidate(String trackingId) {
+        if (trackingId == null) {
+            return;
+        }
+        evict(trackingId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(trackingId);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats cacheStats = entries.stats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.estimatedSize());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", cacheStats.hitCount());
+        stats.put("misses", cacheStats.missCount());
+        stats.put("evictions", cacheStats.evictionCount());
+        stats.put("hitRatio", cacheStats.hitRate());
+        return stats;
+    }
+
+    private void store(String trackingId, ReportResponse value, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        entries.put(trackingId, value);
+        // An invalidation racing the put bumps the generation first and removes the
+        // key second: either its removal comes after this put, or this re-check sees the bump
+        if (generation.get() != loadGeneration) {
+            entries.asMap().remove(trackingId, value);
+        }
+    }
+
+    private void evict(String trackingId) {
+        generation.incrementAndGet();
+        entries.invalidate(trackingId);
+    }
+}
@@ -17,15 +17,17 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private boolean enabled;
+    private Long ngoId;
     private Collection<? extends GrantedAuthority> authorities;
 
     public UserPrincipal(Long id, String username, String email, String password,
-            boolean enabled, Collection<? extends GrantedAuthority> authorities) {
+            boolean enabled, Long ngoId, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
         this.enabled = enabled;
+        this.ngoId = ngoId;
         this.authorities = authorities;
     }
 
@@ -40,6 +42,7 @@ public class UserPrincipal implements UserDetails {
                 user.getEmail(),
                 user.getPassword(),
                 user.isEnabled(),
+                user.getNgoId(),
                 authorities);
     }
 
@@ -51,6 +54,16 @@ public class UserPrincipal implements UserDetails {
         return email;
     }
 
+    // NGO the user represents or works for; null for admins and the public
+    public Long getNgoId() {
+        return ngoId;
+    }
+
+    public boolean hasRole(UserRole role) {
+        String authority = "ROLE_" + role.name();
+        return authorities.stream().anyMatch(granted -> authority.equals(granted.getAuthority()));
+    }
+
     @Override
     public String getUsername() {
         return username;
@@ -0,0 +1,81 @@
+package com.example.pashuRakshak.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last known position of every worker that has sent one recently, fed by the
+ * /app/location.update messages. Each update swaps in a new immutable
+ * Position, so reads are a single lock-free map lookup and never see a
+ * half-written one. Positions older than app.workerLocationTtlSeconds count as
+ * unknown and are swept out periodically.
+ */
+@Component
+public class WorkerLocationStore {
+
+    private final Map<Long, Position> positions = new ConcurrentHashMap<>();
+    private final long ttlMs;
+
+    public WorkerLocationStore(@Value("${app.workerLocationTtlSeconds:300}") long ttlSeconds) {
+        this.ttlMs = ttlSeconds * 1000;
+    }
+
+    public void update(Long workerId, double latitude, double longitude) {
+        positions.put(workerId, new Position(latitude, longitude, System.currentTimeMillis()));
+    }
+
+    /**
+     * The worker's position if it is fresh enough, else null
+     */
+    public Position get(Long workerId) {
+        Position position = positions.get(workerId);
+        return position != null && isFresh(position, System.currentTimeMillis()) ? position : null;
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.workerLocationSweepMs:60000}")
+    public void evictStale() {
+        long now = System.currentTimeMillis();
+        // remove(key, value) leaves a position that was refreshed meanwhile alone
+        positions.forEach((workerId, position) -> {
+            if (!isFresh(position, now)) {
+                positions.remove(workerId, position);
+            }
+        });
+    }
+
+    private boolean isFresh(Position position, long now) {
+        return now - position.updatedAtMillis <= ttlMs;
+    }
+
+    public static final class Position {
+        private final double latitude;
+        private final double longitude;
+        private final long updatedAtMillis;
+
+        Position(double latitude, double longitude, long updatedAtMillis) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.updatedAtMillis = updatedAtMillis;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public long getUpdatedAtMillis() {
+            return updatedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.pashuRakshak.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+
+/**
+ * CSV encoder for the admin exports. Fields go straight into the underlying
+ * Writer (give it a buffered one), so a row costs no String.format, no
+ * escaped copies of its values and no line String.
+ *
+ * Text is always quoted, with quotes doubled and line breaks turned into
+ * spaces so every record is one line. Numbers, booleans and timestamps
+ * (yyyy-MM-dd HH:mm:ss) are written bare. A null is an empty field.
+ */
+public class CsvWriter {
+
+    private final Writer out;
+    private final char[] scratch = new char[20];
+    private boolean midRow;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Write a ready-made line, e.g. the header
+     */
+    public CsvWriter line(String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        return this;
+    }
+
+    public CsvWriter text(String value) throws IOException {
+        separator();
+        out.write('"');
+        if (value != null) {
+            int runStart = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\n' || c == '\r') {
+                    out.write(value, runStart, i - runStart);
+                    if (c == '"') {
+                        out.write("\"\"");
+                    } else {
+                        out.write(' ');
+                    }
+                    runStart = i + 1;
+                }
+            }
+            out.write(value, runStart, value.length() - runStart);
+        }
+        out.write('"');
+        return this;
+    }
+
+    public CsvWriter number(Long value) throws IOException {
+        separator();
+        if (value != null) {
+            writeLong(value);
+        }
+        return this;
+    }
+
+    public CsvWriter number(Integer value) throws IOException {
+        separator();
+        if (value != null) {
+            writeLong(value);
+        }
+        return this;
+    }
+
+    public CsvWriter number(Double value) throws IOException {
+        separator();
+        if (value != null) {
+            out.write(Double.toString(value));
+        }
+        return this;
+    }
+
+    public CsvWriter bool(Boolean value) throws IOException {
+        separator();
+        if (value != null) {
+            out.write(value ? "true" : "false");
+        }
+        return this;
+    }
+
+    public CsvWriter dateTime(LocalDateTime value) throws IOException {
+        separator();
+        if (value != null) {
+            char[] c = scratch;
+            pad(c, 0, value.getYear(), 4);
+            c[4] = '-';
+            pad(c, 5, value.getMonthValue(), 2);
+            c[7] = '-';
+            pad(c, 8, value.getDayOfMonth(), 2);
+            c[10] = ' ';
+            pad(c, 11, value.getHour(), 2);
+            c[13] = ':';
+            pad(c, 14, value.getMinute(), 2);
+            c[16] = ':';
+            pad(c, 17, value.getSecond(), 2);
+            out.write(c, 0, 19);
+        }
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        out.write('\n');
+        midRow = false;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void separator() throws IOException {
+        if (midRow) {
+            out.write(',');
+        }
+        midRow = true;
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.write(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            out.write('-');
+            value = -value;
+        }
+        int pos = scratch.length;
+        do {
+            scratch[--pos] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        out.write(scratch, pos, scratch.length - pos);
+    }
+
+    // Zero-padded to width digits (years past 9999 keep only the low four)
+    private static void pad(char[] c, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            c[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.pashuRakshak.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Minimal geohash encoder used to bucket coordinates into indexable grid cells.
+ */
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90.0, maxLat = 90.0;
+        double minLng = -180.0, maxLng = 180.0;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Height of a cell in degrees of latitude at the given precision
+     */
+    public static double cellHeight(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    /**
+     * Width of a cell in degrees of longitude at the given precision
+     */
+    public static double cellWidth(int precision) {
+        int lngBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lngBits);
+    }
+
+    /**
+     * All cells of the given precision that intersect the box, or null if there
+     * would be more than maxCells of them.
+     */
+    public static Set<String> coveringCells(double minLat, double maxLat, double minLng, double maxLng,
+            int precision, int maxCells) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        // One sample per cell step from the min edge, the last clamped to the max edge
+        long rows = (long) Math.ceil((maxLat - minLat) / height) + 1;
+        long cols = (long) Math.ceil((maxLng - minLng) / width) + 1;
+        if (rows * cols > maxCells) {
+            return null;
+        }
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (long r = 0; r < rows; r++) {
+            double lat = Math.min(maxLat, minLat + r * height);
+            for (long c = 0; c < cols; c++) {
+                double lng = Math.min(maxLng, minLng + c * width);
+                cells.add(encode(lat, lng, precision));
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.pashuRakshak.util;
+
+import java.util.List;
+
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    // Length of one degree of latitude (and of longitude at the equator) on the
+    // sphere distanceKm uses, so a box never cuts inside its radius
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Great-circle distance between two points in kilometres (haversine formula)
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Smallest lat/lng boxes containing every point within radiusKm of the centre,
+     * each as {minLat, maxLat, minLng, maxLng}. Usually one box; two when the
+     * area crosses the 180th meridian, one on either side of it. Latitudes are
+     * clamped to the poles, and an area reaching a pole spans every longitude.
+     */
+    public static List<double[]> boundingBoxes(double latitude, double longitude, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90.0, latitude - dLat);
+        double maxLat = Math.min(90.0, latitude + dLat);
+
+        // Longitude degrees shrink towards the poles; use the widest latitude in the box
+        double widestLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        double cos = Math.cos(Math.toRadians(widestLat));
+        double dLng = cos < 1e-6 ? 180.0 : radiusKm / (KM_PER_DEGREE * cos);
+        if (dLng >= 180.0) {
+            return List.of(new double[] { minLat, maxLat, -180.0, 180.0 });
+        }
+
+        double minLng = longitude - dLng;
+        double maxLng = longitude + dLng;
+        if (minLng < -180.0) {
+            return List.of(new double[] { minLat, maxLat, -180.0, maxLng },
+                    new double[] { minLat, maxLat, minLng + 360.0, 180.0 });
+        }
+        if (maxLng > 180.0) {
+            return List.of(new double[] { minLat, maxLat, minLng, 180.0 },
+                    new double[] { minLat, maxLat, -180.0, maxLng - 360.0 });
+        }
+        return List.of(new double[] { minLat, maxLat, minLng, maxLng });
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.pashuRakshak.util;
+
+import com.example.pashuRakshak.dto.CursorPage;
+import com.example.pashuRakshak.dto.ReportResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keyset position in a (createdAt DESC, id DESC) report listing, encoded as an
+ * opaque URL-safe token. Other listings ordered by a (timestamp DESC, id DESC)
+ * key use it too, with the timestamp in createdAt.
+ */
+public final class ReportCursor {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // Sorts after every real row, so the first page needs no special query
+    public static final ReportCursor FIRST = new ReportCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public ReportCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static ReportCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ReportCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Page to request from the repository: one row more than the limit, so we can
+     * tell whether another page follows without a count query
+     */
+    public static Pageable fetchWindow(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public static CursorPage<ReportResponse> toPage(List<ReportResponse> rows, int limit,
+            UnaryOperator<List<ReportResponse>> finisher) {
+        boolean hasMore = rows.size() > limit;
+        int count = hasMore ? limit : rows.size();
+
+        List<ReportResponse> items = finisher.apply(rows.subList(0, count));
+
+        String nextCursor = null;
+        if (hasMore) {
+            ReportResponse last = rows.get(count - 1);
+            nextCursor = new ReportCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Same as toPage, for other row types ordered by a (timestamp DESC, id DESC)
+     * key; position gives a row's key
+     */
+    public static <T> CursorPage<T> pageOf(List<T> rows, int limit, Function<T, ReportCursor> position) {
+        boolean hasMore = rows.size() > limit;
+        int count = hasMore ? limit : rows.size();
+        String nextCursor = hasMore ? position.apply(rows.get(count - 1)).encode() : null;
+        return new CursorPage<>(rows.subList(0, count), nextCursor);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.pashuRakshak.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (as in Kafka's purgatory or Varghese and Lauck's
+ * scheme 7). The bottom wheel has wheelSize buckets of tickMs each; every wheel
+ * above it has buckets as wide as the whole wheel below, added on demand, so a
+ * few levels cover days at one-second resolution.
+ *
+ * Scheduling hashes the deadline to a bucket and cancelling unlinks the timer
+ * from its bucket's doubly-linked list, both O(1) whatever the number of
+ * pending timers. Advancing the clock empties the due bottom bucket and, when a
+ * higher wheel's bucket comes due, re-files its timers one level down. Timers
+ * fire at most one tick early.
+ *
+ * Thread-safe: every method synchronizes on the wheel, and expired payloads
+ * are handed to the caller after the lock is released.
+ */
+public class TimingWheel<T> {
+
+    private final Level<T> bottom;
+    private int size;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.bottom = new Level<>(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * File a timer. A deadline that is already due (or past) fires on the next
+     * tick.
+     */
+    public synchronized Timeout<T> schedule(T payload, long deadlineMs) {
+        Timeout<T> timeout = new Timeout<>(this, payload,
+                Math.max(deadlineMs, bottom.currentTime + bottom.tickMs));
+        bottom.add(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Move the clock up to nowMs, handing every timer that came due to onExpire
+     * (outside the lock, in deadline-bucket order)
+     */
+    public void advance(long nowMs, Consumer<T> onExpire) {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            while (bottom.currentTime + bottom.tickMs <= nowMs) {
+                tick(bottom.currentTime + bottom.tickMs, expired);
+            }
+        }
+        expired.forEach(onExpire);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // One bottom-level tick to time. Clocks are moved first on every level, then
+    // due buckets are emptied top-down so re-filed timers land in the right
+    // lower bucket (or expire) against the new clocks.
+    private void tick(long time, List<T> expired) {
+        List<Level<T>> ticked = new ArrayList<>();
+        for (Level<T> level = bottom; level != null; level = level.overflow) {
+            if (time >= level.currentTime + level.tickMs) {
+                level.currentTime = time - (time % level.tickMs);
+                ticked.add(level);
+            }
+        }
+        for (int i = ticked.size() - 1; i >= 0; i--) {
+            Bucket<T> bucket = ticked.get(i).bucketFor(time);
+            for (Timeout<T> timeout = bucket.drain(); timeout != null; ) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                timeout.prev = null;
+                if (!bottom.add(timeout)) {
+                    size--;
+                    expired.add(timeout.payload);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    private static final class Level<T> {
+        final long tickMs;
+        final int wheelSize;
+        final long interval;
+        final Bucket<T>[] buckets;
+        long currentTime;
+        Level<T> overflow;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        // False when the timer is due within the current tick
+        boolean add(Timeout<T> timeout) {
+            long deadline = timeout.deadlineMs;
+            if (deadline < currentTime + tickMs) {
+                return false;
+            }
+            if (deadline < currentTime + interval) {
+                bucketFor(deadline).add(timeout);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level<>(interval, wheelSize, currentTime);
+            }
+            return overflow.add(timeout);
+        }
+
+        Bucket<T> bucketFor(long time) {
+            return buckets[(int) ((time / tickMs) % wheelSize)];
+        }
+    }
+
+    private static final class Bucket<T> {
+        Timeout<T> head;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        // Detach the whole list; the caller walks it through next
+        Timeout<T> drain() {
+            Timeout<T> first = head;
+            head = null;
+            for (Timeout<T> timeout = first; timeout != null; timeout = timeout.next) {
+                timeout.bucket = null;
+            }
+            return first;
+        }
+    }
+
+    /**
+     * Handle on a filed timer
+     */
+    public static final class Timeout<T> {
+        private final TimingWheel<T> wheel;
+        private final T payload;
+        private final long deadlineMs;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(TimingWheel<T> wheel, T payload, long deadlineMs) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineMs = deadlineMs;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getDeadlineMs() {
+            return deadlineMs;
+        }
+
+        /**
+         * Unfile the timer. False if it had already fired or been cancelled.
+         */
+        public boolean cancel() {
+            synchronized (wheel) {
+                if (bucket == null) {
+                    return false;
+                }
+                bucket.remove(this);
+                wheel.size--;
+                return true;
+            }
+        }
+    }
+}
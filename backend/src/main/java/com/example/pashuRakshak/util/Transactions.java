@@ -0,0 +1,33 @@
+package com.example.pashuRakshak.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Deferring in-memory side effects of a write until its transaction commits.
+ */
+public final class Transactions {
+
+    private Transactions() {
+    }
+
+    /**
+     * Run the action once the current transaction commits, or not at all if it
+     * rolls back. Actions run in the order they were registered. Outside a
+     * transaction the action runs right away.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+-- Baseline schema, matching what Hibernate generated from the entities.
+-- Portable between H2 and PostgreSQL. Unique constraints use Hibernate's own
+-- generated names so ddl-auto=update does not add duplicates next to them.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(20) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255) NOT NULL,
+    phone VARCHAR(255),
+    age INTEGER,
+    gender VARCHAR(255),
+    ngo_id BIGINT,
+    enabled BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    roles VARCHAR(32),
+    CONSTRAINT FKhfh9dx7w3ubf1co1vdev94g3f FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS ngos (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    unique_id VARCHAR(255),
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    address VARCHAR(255) NOT NULL,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    description VARCHAR(500),
+    registration_document_url VARCHAR(255),
+    verification_status VARCHAR(32) NOT NULL,
+    verified_by BIGINT,
+    verified_at TIMESTAMP(6),
+    rejection_reason VARCHAR(500),
+    is_active BOOLEAN,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UKf6ocr31gs6hnewlkuwr6o7j85 UNIQUE (email),
+    CONSTRAINT UK2uf59jbkvcbr2e8he1j2iuxql UNIQUE (unique_id)
+);
+
+CREATE TABLE IF NOT EXISTS animal_reports (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    tracking_id VARCHAR(255) NOT NULL,
+    animal_type VARCHAR(255) NOT NULL,
+    condition VARCHAR(255) DEFAULT 'UNKNOWN' NOT NULL,
+    injury_description VARCHAR(1000) NOT NULL,
+    additional_notes VARCHAR(1000),
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    address VARCHAR(500),
+    geo_cell VARCHAR(12),
+    status VARCHAR(32),
+    reporter_name VARCHAR(255),
+    reporter_phone VARCHAR(255),
+    reporter_email VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    assigned_ngo_id BIGINT,
+    assigned_ngo_name VARCHAR(255),
+    assigned_worker_id BIGINT,
+    assigned_worker_name VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT UK7eiha3ej3anp4wumlreeo55ce UNIQUE (tracking_id)
+);
+
+CREATE TABLE IF NOT EXISTS report_images (
+    report_id BIGINT NOT NULL,
+    image_url VARCHAR(255),
+    CONSTRAINT FK3xwm6u90jaoruurcfx6g1jtg3 FOREIGN KEY (report_id) REFERENCES animal_reports (id)
+);
+
+-- Databases created by Hibernate before geo_cell existed
+ALTER TABLE animal_reports ADD COLUMN IF NOT EXISTS geo_cell VARCHAR(12);
+
+CREATE INDEX IF NOT EXISTS idx_report_geo_cell ON animal_reports (geo_cell);
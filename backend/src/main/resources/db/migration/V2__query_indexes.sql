@@ -0,0 +1,37 @@
+-- Secondary indexes for the columns the repositories filter on.
+-- Report listings filter on one column and order/page on (created_at, id), so
+-- each index leads with the filter column and ends with the sort key.
+
+CREATE INDEX IF NOT EXISTS idx_report_status_created
+    ON animal_reports (status, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_report_ngo_created
+    ON animal_reports (assigned_ngo_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_report_worker_created
+    ON animal_reports (assigned_worker_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_report_reporter_created
+    ON animal_reports (reporter_email, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_report_created
+    ON animal_reports (created_at DESC, id DESC);
+
+-- PostgreSQL does not index foreign key columns on its own
+CREATE INDEX IF NOT EXISTS idx_report_images_report
+    ON report_images (report_id);
+
+CREATE INDEX IF NOT EXISTS idx_user_roles_user
+    ON user_roles (user_id);
+
+CREATE INDEX IF NOT EXISTS idx_user_ngo
+    ON users (ngo_id);
+
+CREATE INDEX IF NOT EXISTS idx_user_enabled
+    ON users (enabled);
+
+CREATE INDEX IF NOT EXISTS idx_ngo_verification
+    ON ngos (verification_status);
+
+CREATE INDEX IF NOT EXISTS idx_ngo_active_verification
+    ON ngos (is_active, verification_status);
@@ -0,0 +1,13 @@
+-- Idempotency-Key -> created report, so a retried POST /api/reports returns the
+-- original report instead of inserting a second one. Rows are purged after
+-- expires_at by a scheduled job.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idem_key VARCHAR(100) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    tracking_id VARCHAR(32) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (idem_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_expires ON idempotency_keys (expires_at);
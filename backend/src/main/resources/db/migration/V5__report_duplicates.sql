@@ -0,0 +1,10 @@
+-- Duplicate-report linking: a report filed for an incident that already has a
+-- recent case nearby points at that case's tracking ID.
+ALTER TABLE animal_reports ADD COLUMN IF NOT EXISTS duplicate_of VARCHAR(32);
+
+CREATE INDEX IF NOT EXISTS idx_report_duplicate_of
+    ON animal_reports (duplicate_of);
+
+-- Duplicate detection looks up recent reports in a handful of geohash cells
+CREATE INDEX IF NOT EXISTS idx_report_geo_cell_created
+    ON animal_reports (geo_cell, created_at);
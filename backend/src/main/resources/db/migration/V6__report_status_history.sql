@@ -0,0 +1,26 @@
+-- Append-only log of report status changes: one row per status set on a report
+-- (creation included), written in the same transaction as the change. Rows are
+-- never updated. tracking_id is copied in so timelines need no join.
+CREATE SEQUENCE IF NOT EXISTS report_status_history_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS report_status_history (
+    id BIGINT NOT NULL,
+    report_id BIGINT NOT NULL,
+    tracking_id VARCHAR(32) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    changed_at TIMESTAMP(6) NOT NULL,
+    assigned_ngo_id BIGINT,
+    assigned_worker_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+-- Per-report timeline
+CREATE INDEX IF NOT EXISTS idx_status_history_tracking
+    ON report_status_history (tracking_id, changed_at, id);
+
+-- Time-range scans for analytics, all transitions or into one status
+CREATE INDEX IF NOT EXISTS idx_status_history_changed
+    ON report_status_history (changed_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_status_history_status_changed
+    ON report_status_history (status, changed_at DESC, id DESC);
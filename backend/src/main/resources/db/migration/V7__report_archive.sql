@@ -0,0 +1,45 @@
+-- Cold storage for resolved reports. ReportArchiveService moves CASE_RESOLVED
+-- reports (and their images) here once they are old enough, keeping the hot
+-- animal_reports table and its indexes small. Rows keep their original ids.
+CREATE TABLE IF NOT EXISTS animal_reports_archive (
+    id BIGINT NOT NULL,
+    tracking_id VARCHAR(255) NOT NULL,
+    animal_type VARCHAR(255) NOT NULL,
+    condition VARCHAR(255) DEFAULT 'UNKNOWN' NOT NULL,
+    injury_description VARCHAR(1000) NOT NULL,
+    additional_notes VARCHAR(1000),
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    address VARCHAR(500),
+    geo_cell VARCHAR(12),
+    status VARCHAR(32),
+    reporter_name VARCHAR(255),
+    reporter_phone VARCHAR(255),
+    reporter_email VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    assigned_ngo_id BIGINT,
+    assigned_ngo_name VARCHAR(255),
+    assigned_worker_id BIGINT,
+    assigned_worker_name VARCHAR(255),
+    duplicate_of VARCHAR(32),
+    archived_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_report_archive_tracking UNIQUE (tracking_id)
+);
+
+CREATE TABLE IF NOT EXISTS report_images_archive (
+    report_id BIGINT NOT NULL,
+    image_url VARCHAR(255),
+    CONSTRAINT fk_report_images_archive FOREIGN KEY (report_id) REFERENCES animal_reports_archive (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_report_images_archive_report
+    ON report_images_archive (report_id);
+
+-- Admin listings over the archive page by (created_at, id) like the hot table
+CREATE INDEX IF NOT EXISTS idx_report_archive_created
+    ON animal_reports_archive (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_report_archive_status_created
+    ON animal_reports_archive (status, created_at DESC, id DESC);
@@ -0,0 +1,237 @@
+package com.example.pashuRakshak.config;
+
+import com.example.pashuRakshak.entity.User;
+import com.example.pashuRakshak.entity.UserRole;
+import com.example.pashuRakshak.repository.NgoRepository;
+import com.example.pashuRakshak.repository.UserRepository;
+import com.example.pashuRakshak.service.WorkerLocationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * STOMP on /ws needs a JWT on CONNECT, and subscriptions are limited to the
+ * topics the user's role and NGO may see. Location updates are recorded for
+ * the session's user, and only NGO workers may send them.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase
+@ActiveProfiles("it")
+class StompAuthorizationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private NgoRepository ngoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private WorkerLocationStore workerLocationStore;
+
+    private WebSocketStompClient stompClient;
+    private Long ngoId;
+
+    @BeforeEach
+    void setUp() {
+        stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        // Text for the topics, JSON for location updates
+        stompClient.setMessageConverter(new CompositeMessageConverter(
+                List.of(new StringMessageConverter(), new MappingJackson2MessageConverter())));
+        ngoId = ngoRepository.findByEmail("contact@pawspune.org").orElseThrow().getId();
+    }
+
+    @Test
+    void connectWithoutTokenIsRejected() {
+        assertThatThrownBy(() -> connect(null, new Events()).get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class);
+    }
+
+    @Test
+    void connectWithBadTokenIsRejected() {
+        assertThatThrownBy(() -> connect("not-a-jwt", new Events()).get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class);
+    }
+
+    @Test
+    void ngoReceivesItsOwnOffers() throws Exception {
+        Events events = new Events();
+        StompSession session = connect(signIn("ngouser", "ngo123"), events).get(10, TimeUnit.SECONDS);
+        String topic = "/topic/ngos/" + ngoId + "/offers";
+        session.subscribe(topic, events);
+
+        assertThat(receive(topic, events)).isEqualTo("offer");
+        assertThat(events.errors).isEmpty();
+    }
+
+    @Test
+    void ngoCannotSubscribeToAnotherNgosTopics() throws Exception {
+        for (String topic : new String[] { "/topic/ngos/" + (ngoId + 1000) + "/offers",
+                "/topic/ngos/" + (ngoId + 1000) + "/escalations", "/topic/escalations" }) {
+            Events events = new Events();
+            StompSession session = connect(signIn("ngouser", "ngo123"), events).get(10, TimeUnit.SECONDS);
+            session.subscribe(topic, events);
+
+            assertThat(events.errors.poll(10, TimeUnit.SECONDS)).as("error for %s", topic).isNotNull();
+        }
+    }
+
+    @Test
+    void clientsCannotPublishToBrokerTopics() throws Exception {
+        Events events = new Events();
+        StompSession session = connect(signIn("ngouser", "ngo123"), events).get(10, TimeUnit.SECONDS);
+        session.send("/topic/ngos/" + ngoId + "/offers", "forged");
+
+        assertThat(events.errors.poll(10, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void adminMaySubscribeToEscalations() throws Exception {
+        Events events = new Events();
+        StompSession session = connect(signIn("admin", "admin123"), events).get(10, TimeUnit.SECONDS);
+        session.subscribe("/topic/escalations", events);
+
+        assertThat(receive("/topic/escalations", events)).isEqualTo("offer");
+        assertThat(events.errors).isEmpty();
+    }
+
+    @Test
+    void locationIsRecordedForTheSessionsWorker() throws Exception {
+        User worker = worker("stomp-worker");
+        Events events = new Events();
+        StompSession session = connect(signIn("stomp-worker", "worker123"), events).get(10, TimeUnit.SECONDS);
+        // Claims to be someone else; the session's user is what counts
+        session.send("/app/location.update", Map.of("workerId", 424242, "latitude", 18.52, "longitude", 73.85));
+
+        for (int attempt = 0; attempt < 50 && workerLocationStore.get(worker.getId()) == null; attempt++) {
+            Thread.sleep(100);
+        }
+        assertThat(workerLocationStore.get(worker.getId())).isNotNull();
+        assertThat(workerLocationStore.get(424242L)).isNull();
+    }
+
+    @Test
+    void nonWorkersCannotSendLocations() throws Exception {
+        Long workerId = worker("stomp-forged").getId();
+        Events events = new Events();
+        StompSession session = connect(signIn("ngouser", "ngo123"), events).get(10, TimeUnit.SECONDS);
+        session.send("/app/location.update", Map.of("workerId", workerId, "latitude", 18.52, "longitude", 73.85));
+
+        Thread.sleep(1000);
+        assertThat(workerLocationStore.get(workerId)).isNull();
+    }
+
+    private User worker(String username) {
+        return userRepository.findByUsername(username).orElseGet(() -> {
+            User worker = new User(username, username + "@example.com", passwordEncoder.encode("worker123"),
+                    "Worker " + username);
+            worker.setRoles(new HashSet<>(Set.of(UserRole.NGO_WORKER)));
+            worker.setNgoId(ngoId);
+            return userRepository.save(worker);
+        });
+    }
+
+    // Publishes until the subscription (registered asynchronously) delivers
+    private String receive(String topic, Events events) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            messagingTemplate.convertAndSend(topic, "offer");
+            String payload = events.payloads.poll(200, TimeUnit.MILLISECONDS);
+            if (payload != null) {
+                return payload;
+            }
+        }
+        return null;
+    }
+
+    private CompletableFuture<StompSession> connect(String token, Events events) {
+        StompHeaders connectHeaders = new StompHeaders();
+        if (token != null) {
+            connectHeaders.add("Authorization", "Bearer " + token);
+        }
+        return stompClient.connectAsync("http://localhost:" + port + "/ws", new WebSocketHttpHeaders(),
+                connectHeaders, events);
+    }
+
+    private String signIn(String username, String password) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> body = restTemplate.postForObject("/api/auth/signin",
+                Map.of("username", username, "password", password), Map.class);
+        return (String) body.get("token");
+    }
+
+    private static final class Events extends StompSessionHandlerAdapter {
+        final BlockingQueue<String> payloads = new LinkedBlockingQueue<>();
+        final BlockingQueue<Object> errors = new LinkedBlockingQueue<>();
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return String.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            if (headers.containsKey("message")) {
+                errors.add(headers.getFirst("message"));
+            } else {
+                payloads.add((String) payload);
+            }
+        }
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            errors.add(exception);
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            errors.add(exception);
+        }
+    }
+}
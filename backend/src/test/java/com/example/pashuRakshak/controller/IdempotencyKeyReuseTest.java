@@ -0,0 +1,97 @@
+package com.example.pashuRakshak.controller;
+
+import com.example.pashuRakshak.dto.ReportRequest;
+import com.example.pashuRakshak.service.IdempotentReportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * A key whose row has expired but not been purged yet is free again: the next
+ * request with it files a new report, and retries of that request replay it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("it")
+class IdempotencyKeyReuseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdempotentReportService idempotentReportService;
+
+    @Test
+    void anExpiredKeyCanBeUsedAgainBeforeItIsPurged() throws Exception {
+        String key = UUID.randomUUID().toString();
+        MockHttpServletResponse first = create(key, request("Dog", -70.6693));
+        assertThat(first.getStatus()).isEqualTo(201);
+
+        // Past its TTL with the purge yet to run, and not in memory, as after a
+        // restart or on another instance
+        jdbcTemplate.update("UPDATE idempotency_keys SET expires_at = ? WHERE idem_key = ?",
+                LocalDateTime.now().minusMinutes(1), key);
+        ((Map<?, ?>) ReflectionTestUtils.getField(idempotentReportService, "entries")).clear();
+
+        MockHttpServletResponse second = create(key, request("Cat", -70.5));
+        assertThat(second.getStatus()).isEqualTo(201);
+        assertThat(second.getHeader(AnimalReportController.IDEMPOTENT_REPLAYED_HEADER)).isNull();
+        assertThat(trackingId(second)).isNotEqualTo(trackingId(first));
+
+        MockHttpServletResponse retry = create(key, request("Cat", -70.5));
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(AnimalReportController.IDEMPOTENT_REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(trackingId(retry)).isEqualTo(trackingId(second));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys WHERE idem_key = ?",
+                Integer.class, key)).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse create(String key, ReportRequest request) throws Exception {
+        return mockMvc.perform(post("/api/reports")
+                        .header(AnimalReportController.IDEMPOTENCY_KEY_HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andReturn().getResponse();
+    }
+
+    private String trackingId(MockHttpServletResponse response) throws Exception {
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        return body.get("trackingId").asText();
+    }
+
+    // Far from other tests' reports and from each other, so duplicate
+    // detection leaves them alone
+    private static ReportRequest request(String animalType, double longitude) {
+        ReportRequest request = new ReportRequest();
+        request.setAnimalType(animalType);
+        request.setCondition("Injured");
+        request.setInjuryDescription("Limping");
+        request.setLatitude(-33.4489);
+        request.setLongitude(longitude);
+        return request;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.pashuRakshak.controller;
+
+import com.example.pashuRakshak.entity.AnimalReport;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.entity.User;
+import com.example.pashuRakshak.entity.UserRole;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.repository.NgoRepository;
+import com.example.pashuRakshak.repository.UserRepository;
+import com.example.pashuRakshak.service.TrackingIdGenerator;
+import com.example.pashuRakshak.service.WorkerLocationStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Worker positions for a case are shown to the NGO holding it and to admins,
+ * not to other NGOs, and only for workers free to take it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("it")
+class NearestWorkersAccessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    @Autowired
+    private NgoRepository ngoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WorkerLocationStore workerLocations;
+
+    @Autowired
+    private TrackingIdGenerator trackingIdGenerator;
+
+    @Test
+    void holdingNgoAndAdminsMayLook() throws Exception {
+        Long ngoId = ngoRepository.findByEmail("contact@pawspune.org").orElseThrow().getId();
+        String trackingId = acceptedBy(ngoId);
+
+        nearestWorkers(trackingId, signIn("ngouser", "ngo123"), status().isOk());
+        nearestWorkers(trackingId, signIn("admin", "admin123"), status().isOk());
+    }
+
+    @Test
+    void otherNgosMayNot() throws Exception {
+        Long ngoId = ngoRepository.findByEmail("contact@pawspune.org").orElseThrow().getId();
+        String trackingId = acceptedBy(ngoId + 1000);
+
+        nearestWorkers(trackingId, signIn("ngouser", "ngo123"), status().isForbidden());
+        nearestWorkers(trackingId, signIn("admin", "admin123"), status().isOk());
+    }
+
+    @Test
+    void workersOutOnAnotherCaseAreLeftOut() throws Exception {
+        Long ngoId = ngoRepository.findByEmail("contact@pawspune.org").orElseThrow().getId();
+        Long near = worker(ngoId, 18.521, 73.851);
+        Long busy = worker(ngoId, 18.5205, 73.8505);
+        Long far = worker(ngoId, 18.60, 73.90);
+        AnimalReport other = reportRepository.findByTrackingId(acceptedBy(ngoId)).orElseThrow();
+        other.setStatus(ReportStatus.TEAM_DISPATCHED);
+        other.setAssignedWorkerId(busy);
+        reportRepository.save(other);
+
+        String body = mockMvc.perform(get("/api/reports/{trackingId}/nearest-workers", acceptedBy(ngoId))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + signIn("admin", "admin123")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Long> workerIds = new ArrayList<>();
+        for (JsonNode worker : objectMapper.readTree(body)) {
+            workerIds.add(worker.get("workerId").asLong());
+        }
+
+        assertThat(workerIds).containsSubsequence(near, far).doesNotContain(busy);
+    }
+
+    private Long worker(Long ngoId, double latitude, double longitude) {
+        String name = "w" + UUID.randomUUID().toString().substring(0, 12);
+        User worker = new User();
+        worker.setUsername(name);
+        worker.setEmail(name + "@example.com");
+        worker.setPassword("unused");
+        worker.setFullName(name);
+        worker.setRoles(Set.of(UserRole.NGO_WORKER));
+        worker.setNgoId(ngoId);
+        worker.setEnabled(true);
+        worker.setCreatedAt(LocalDateTime.now());
+        worker.setUpdatedAt(LocalDateTime.now());
+        Long id = userRepository.save(worker).getId();
+        workerLocations.update(id, latitude, longitude);
+        return id;
+    }
+
+    private String acceptedBy(Long ngoId) {
+        AnimalReport report = new AnimalReport();
+        report.setTrackingId(trackingIdGenerator.nextTrackingId());
+        report.setAnimalType("Dog");
+        report.setCondition("Injured");
+        report.setInjuryDescription("Hit by a scooter");
+        report.setLatitude(18.52);
+        report.setLongitude(73.85);
+        report.setStatus(ReportStatus.HELP_ON_THE_WAY);
+        report.setAssignedNgoId(ngoId);
+        report.setCreatedAt(LocalDateTime.now());
+        return reportRepository.save(report).getTrackingId();
+    }
+
+    private void nearestWorkers(String trackingId, String token, ResultMatcher expected) throws Exception {
+        mockMvc.perform(get("/api/reports/{trackingId}/nearest-workers", trackingId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(expected);
+    }
+
+    private String signIn(String username, String password) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", username, "password", password))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+}
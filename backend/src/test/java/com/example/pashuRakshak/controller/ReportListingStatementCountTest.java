@@ -0,0 +1,128 @@
+package com.example.pashuRakshak.controller;
+
+import com.example.pashuRakshak.entity.AnimalReport;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.repository.NgoRepository;
+import com.example.pashuRakshak.service.TrackingIdGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Paged report listings cost the same number of SQL statements whatever the
+ * page size: one page query plus one batched image lookup, not one query per
+ * report (the N+1 that batch-loading images replaced).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("it")
+class ReportListingStatementCountTest {
+
+    private static final int REPORTS = 60;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    @Autowired
+    private NgoRepository ngoRepository;
+
+    @Autowired
+    private TrackingIdGenerator trackingIdGenerator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long ngoId;
+    private String adminToken;
+
+    @BeforeEach
+    void seedReports() throws Exception {
+        ngoId = ngoRepository.findByEmail("contact@pawspune.org").orElseThrow().getId();
+        if (reportRepository.findByAssignedNgoId(ngoId).size() < REPORTS) {
+            List<AnimalReport> reports = new ArrayList<>();
+            for (int i = 0; i < REPORTS; i++) {
+                AnimalReport report = new AnimalReport();
+                report.setTrackingId(trackingIdGenerator.nextTrackingId());
+                report.setAnimalType("Dog");
+                report.setCondition("Injured");
+                report.setInjuryDescription("Limping, report " + i);
+                report.setLatitude(18.52);
+                report.setLongitude(73.85);
+                report.setImageUrls(List.of("https://example.com/" + i + "-a.jpg", "https://example.com/" + i + "-b.jpg"));
+                report.setStatus(ReportStatus.SUBMITTED);
+                report.setAssignedNgoId(ngoId);
+                report.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+                reports.add(report);
+            }
+            reportRepository.saveAll(reports);
+        }
+        adminToken = signIn("admin", "admin123");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/reports/available",
+            "/api/reports/ngo/{ngoId}",
+            "/api/admin/reports",
+            "/api/admin/reports/status/SUBMITTED"
+    })
+    void statementCountDoesNotGrowWithPageSize(String endpoint) throws Exception {
+        String path = endpoint.replace("{ngoId}", String.valueOf(ngoId));
+        // Warm up: first-request work (caches, version tags) is not what is measured
+        statementsFor(path, 5);
+
+        long small = statementsFor(path, 5);
+        long large = statementsFor(path, 50);
+
+        assertThat(large).as("statements for a page of 50 vs a page of 5 on %s", path).isEqualTo(small);
+        assertThat(small).as("statements for a page on %s", path).isLessThanOrEqualTo(5);
+    }
+
+    private long statementsFor(String path, int limit) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(path).param("limit", String.valueOf(limit))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String signIn(String username, String password) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", username, "password", password))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+}
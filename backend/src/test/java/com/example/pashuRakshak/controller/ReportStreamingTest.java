@@ -0,0 +1,136 @@
+package com.example.pashuRakshak.controller;
+
+import com.example.pashuRakshak.entity.AnimalReport;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.repository.ArchivedReportRepository;
+import com.example.pashuRakshak.service.AnimalReportService;
+import com.example.pashuRakshak.service.TrackingIdGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
+
+/**
+ * The unpaged admin listing is one JSON array streamed over several chunks,
+ * and a failure after the first chunk has gone out aborts the response rather
+ * than ending it normally.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase
+@ActiveProfiles("it")
+class ReportStreamingTest {
+
+    // More than one ReportStreamService chunk
+    private static final int REPORTS = 700;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    @Autowired
+    private ArchivedReportRepository archivedReportRepository;
+
+    @Autowired
+    private TrackingIdGenerator trackingIdGenerator;
+
+    @MockitoSpyBean
+    private AnimalReportService animalReportService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private String adminToken;
+
+    @BeforeEach
+    void seedReports() throws Exception {
+        if (reportRepository.count() < REPORTS) {
+            List<AnimalReport> reports = new ArrayList<>();
+            for (int i = 0; i < REPORTS; i++) {
+                AnimalReport report = new AnimalReport();
+                report.setTrackingId(trackingIdGenerator.nextTrackingId());
+                report.setAnimalType("Dog");
+                report.setCondition("Injured");
+                report.setInjuryDescription("Limping, report " + i);
+                report.setLatitude(18.52);
+                report.setLongitude(73.85);
+                report.setStatus(ReportStatus.SUBMITTED);
+                report.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+                reports.add(report);
+            }
+            reportRepository.saveAll(reports);
+        }
+        adminToken = signIn("admin", "admin123");
+    }
+
+    @Test
+    void fullListingIsOneArray() throws Exception {
+        HttpResponse<String> response = httpClient.send(get("/api/admin/reports"), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        JsonNode reports = objectMapper.readTree(response.body());
+        assertThat(reports.isArray()).isTrue();
+        assertThat(reports.size()).isEqualTo(reportRepository.count() + archivedReportRepository.count());
+    }
+
+    @Test
+    void pagedListingIsStillAPage() throws Exception {
+        HttpResponse<String> response = httpClient.send(get("/api/admin/reports?limit=5"),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(response.body()).get("items")).hasSize(5);
+    }
+
+    @Test
+    void failureMidStreamAbortsTheResponse() {
+        // The first chunk goes out, the database is lost before the second
+        doCallRealMethod()
+                .doThrow(new DataAccessResourceFailureException("Connection lost"))
+                .when(animalReportService).withImages(anyList());
+
+        assertThatThrownBy(() -> httpClient.send(get("/api/admin/reports"), HttpResponse.BodyHandlers.ofString()))
+                .isInstanceOf(IOException.class);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + adminToken)
+                .build();
+    }
+
+    private String signIn(String username, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/signin"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        objectMapper.writeValueAsString(Map.of("username", username, "password", password))))
+                .build();
+        return objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body())
+                .get("token").asText();
+    }
+}
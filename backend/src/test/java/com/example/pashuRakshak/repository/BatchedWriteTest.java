@@ -0,0 +1,72 @@
+package com.example.pashuRakshak.repository;
+
+import com.example.pashuRakshak.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk user writes go out as JDBC batches of hibernate.jdbc.batch_size: the
+ * pooled users_seq hands out ids without a round trip per row, so inserts can
+ * be batched, and order_updates groups the updates. Counts prepared statements,
+ * which is one per batch rather than one per row.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@ActiveProfiles("it")
+class BatchedWriteTest {
+
+    private static final int ROWS = 200;
+    // batch_size in application.properties
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void insertsAndUpdatesAreBatched() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            statistics.clear();
+            List<User> users = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                users.add(new User("batch-" + i, "batch-" + i + "@example.com", "secret", "Batch User " + i));
+            }
+            userRepository.saveAllAndFlush(users);
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+            // ROWS / BATCH_SIZE insert batches, plus a sequence call per allocation block
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * ROWS / BATCH_SIZE + 1);
+
+            statistics.clear();
+            for (User user : users) {
+                user.setFullName(user.getFullName() + " (renamed)");
+            }
+            entityManager.flush();
+            assertThat(statistics.getEntityUpdateCount()).isEqualTo(ROWS);
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(ROWS / BATCH_SIZE);
+        });
+    }
+}
@@ -0,0 +1,319 @@
+package com.example.pashuRakshak.repository;
+
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.entity.VerificationStatus;
+import com.example.pashuRakshak.util.ReportCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The indexed repository queries are planned on their indexes. Each test runs
+ * a repository method, takes the SQL and bind values Hibernate sent for it,
+ * and runs H2's EXPLAIN on exactly that against the schema Flyway builds.
+ */
+@DataJpaTest
+@Import(QueryIndexUsageTest.CaptureStatements.class)
+class QueryIndexUsageTest {
+
+    private static final LocalDateTime CURSOR = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final Pageable PAGE = ReportCursor.fetchWindow(20);
+    private static final List<ReportStatus> OPEN = List.of(ReportStatus.SUBMITTED, ReportStatus.SEARCHING_FOR_HELP);
+
+    // The last query the repositories ran
+    private static volatile Captured last;
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    @Autowired
+    private ArchivedReportRepository archivedReportRepository;
+
+    @Autowired
+    private ReportStatusChangeRepository statusChangeRepository;
+
+    @Autowired
+    private NgoRepository ngoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // With empty tables H2 has no statistics, walks idx_report_duplicate_of for
+    // "duplicate_of IS NULL" and ranks a status as selective as an NGO. Declare
+    // what ANALYZE would find on production data (selectivity is the percentage
+    // of distinct values): duplicate_of is nearly always NULL, and a handful of
+    // statuses are fewer than the NGOs owning cases.
+    @BeforeEach
+    void describeData() {
+        jdbcTemplate.execute("ALTER TABLE animal_reports ALTER COLUMN duplicate_of SELECTIVITY 1");
+        jdbcTemplate.execute("ALTER TABLE animal_reports ALTER COLUMN status SELECTIVITY 2");
+    }
+
+    @Test
+    void keysetPageUsesCreatedIndex() {
+        reportRepository.findResponsePage(CURSOR, 500L, PAGE);
+        assertLastQueryUses("IDX_REPORT_CREATED");
+    }
+
+    @Test
+    void statusPageUsesStatusIndex() {
+        reportRepository.findResponsePageByStatusIn(OPEN, CURSOR, 500L, PAGE);
+        assertLastQueryUses("IDX_REPORT_STATUS_CREATED");
+    }
+
+    @Test
+    void availablePageUsesStatusIndex() {
+        reportRepository.findAvailableResponsePage(OPEN, CURSOR, 500L, PAGE);
+        assertLastQueryUses("IDX_REPORT_STATUS_CREATED");
+    }
+
+    @Test
+    void ngoPageUsesNgoIndex() {
+        reportRepository.findResponsePageByAssignedNgoId(1L, CURSOR, 500L, PAGE);
+        assertLastQueryUses("IDX_REPORT_NGO_CREATED");
+    }
+
+    @Test
+    void workerPageUsesWorkerIndex() {
+        reportRepository.findResponsePageByAssignedWorkerId(1L, CURSOR, 500L, PAGE);
+        assertLastQueryUses("IDX_REPORT_WORKER_CREATED");
+    }
+
+    @Test
+    void reporterPageUsesReporterIndex() {
+        reportRepository.findResponsePageByReporterEmail("a@example.com", CURSOR, 500L, PAGE);
+        assertLastQueryUses("IDX_REPORT_REPORTER_CREATED");
+    }
+
+    @Test
+    void unpagedStatusListingUsesStatusIndex() {
+        reportRepository.findByStatusIn(OPEN);
+        assertLastQueryUses("IDX_REPORT_STATUS_CREATED");
+    }
+
+    @Test
+    void statusCountUsesStatusIndex() {
+        reportRepository.countByStatus(ReportStatus.SUBMITTED);
+        assertLastQueryUses("IDX_REPORT_STATUS_CREATED");
+    }
+
+    @Test
+    void nearbyReportsUseGeoCellIndex() {
+        reportRepository.findNearbyReports(List.of("te7ud", "te7uf"), 18.5, 18.6, 73.8, 73.9);
+        assertLastQueryUses("IDX_REPORT_GEO_CELL");
+    }
+
+    @Test
+    void duplicateCandidatesUseGeoCellCreatedIndex() {
+        reportRepository.findRecentCasesNear(List.of("te7ud", "te7uf"), CURSOR.minusHours(6), OPEN,
+                18.5, 18.6, 73.8, 73.9);
+        assertLastQueryUses("IDX_REPORT_GEO_CELL");
+    }
+
+    @Test
+    void busyWorkersUseNgoIndex() {
+        reportRepository.findBusyWorkerIds(1L, List.of(ReportStatus.TEAM_DISPATCHED));
+        assertLastQueryUses("IDX_REPORT_NGO_CREATED");
+    }
+
+    @Test
+    void imageLookupUsesReportIndex() {
+        reportRepository.findImageUrlsByReportIds(List.of(1L, 2L));
+        // H2 indexes the foreign key on its own, so the join may go through that
+        // index rather than idx_report_images_report; either way, no scan
+        assertThat(explainLastQuery()).contains("/* PUBLIC.PRIMARY_KEY")
+                .contains(": REPORT_ID = AR1_0.ID */").doesNotContain("tableScan");
+    }
+
+    @Test
+    void archivePageUsesCreatedIndex() {
+        archivedReportRepository.findResponsePage(CURSOR, 500L, PAGE);
+        assertLastQueryUses("IDX_REPORT_ARCHIVE_CREATED");
+    }
+
+    @Test
+    void archiveStatusPageUsesStatusIndex() {
+        archivedReportRepository.findResponsePageByStatus(ReportStatus.CASE_RESOLVED, CURSOR, 500L, PAGE);
+        assertLastQueryUses("IDX_REPORT_ARCHIVE_STATUS_CREATED");
+    }
+
+    @Test
+    void timelineUsesTrackingIndex() {
+        statusChangeRepository.findTimeline("PR-TEST");
+        assertLastQueryUses("IDX_STATUS_HISTORY_TRACKING");
+    }
+
+    @Test
+    void historyRangePageUsesChangedIndex() {
+        statusChangeRepository.findPageBetween(CURSOR.minusDays(7), CURSOR, CURSOR, 500L, PAGE);
+        assertLastQueryUses("IDX_STATUS_HISTORY_CHANGED");
+    }
+
+    @Test
+    void historyStatusRangePageUsesStatusIndex() {
+        statusChangeRepository.findPageBetweenByStatus(ReportStatus.CASE_RESOLVED, CURSOR.minusDays(7), CURSOR,
+                CURSOR, 500L, PAGE);
+        assertLastQueryUses("IDX_STATUS_HISTORY_STATUS_CHANGED");
+    }
+
+    @Test
+    void ngoMembersUseNgoIndex() {
+        userRepository.findByNgoId(1L);
+        assertLastQueryUses("IDX_USER_NGO");
+    }
+
+    @Test
+    void enabledCountUsesEnabledIndex() {
+        userRepository.countByEnabled(true);
+        assertLastQueryUses("IDX_USER_ENABLED");
+    }
+
+    @Test
+    void ngosByVerificationUseVerificationIndex() {
+        ngoRepository.findByVerificationStatus(VerificationStatus.PENDING);
+        assertLastQueryUses("IDX_NGO_VERIFICATION");
+    }
+
+    @Test
+    void verificationCountUsesVerificationIndex() {
+        ngoRepository.countByVerificationStatus(VerificationStatus.PENDING);
+        assertLastQueryUses("IDX_NGO_VERIFICATION");
+    }
+
+    @Test
+    void activeVerifiedNgosUseCompositeIndex() {
+        ngoRepository.findByIsActiveTrueAndVerificationStatus(VerificationStatus.APPROVED);
+        assertLastQueryUses("IDX_NGO_ACTIVE_VERIFICATION");
+    }
+
+    @Test
+    void activeCountUsesCompositeIndex() {
+        ngoRepository.countByIsActive(true);
+        assertLastQueryUses("IDX_NGO_ACTIVE_VERIFICATION");
+    }
+
+    private void assertLastQueryUses(String index) {
+        // H2 names the chosen index in a comment after the table: /* PUBLIC.IDX_...: ... */
+        assertThat(explainLastQuery()).as(last.sql).contains("/* PUBLIC." + index);
+    }
+
+    private String explainLastQuery() {
+        Captured query = last;
+        assertThat(query).isNotNull();
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + query.sql)) {
+                query.bind(explain);
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * A query as it reached the driver: its SQL and the setter calls that bound
+     * its parameters, replayed in order onto the EXPLAIN statement.
+     */
+    private static final class Captured {
+
+        final String sql;
+        final List<Method> setters = new ArrayList<>();
+        final List<Object[]> arguments = new ArrayList<>();
+
+        Captured(String sql) {
+            this.sql = sql;
+        }
+
+        void bind(PreparedStatement statement) {
+            for (int i = 0; i < setters.size(); i++) {
+                try {
+                    setters.get(i).invoke(statement, arguments.get(i));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    /** Wraps the test DataSource so every query's SQL and binds are recorded. */
+    @TestConfiguration
+    static class CaptureStatements {
+
+        @Bean
+        static BeanPostProcessor captureQueries() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                            ? proxy(DataSource.class, dataSource, (target, method, args) ->
+                                    method.getName().equals("getConnection")
+                                            ? proxy(Connection.class, (Connection) invoke(target, method, args),
+                                                    QueryIndexUsageTest::onConnection)
+                                            : invoke(target, method, args))
+                            : bean;
+                }
+            };
+        }
+    }
+
+    private static Object onConnection(Object connection, Method method, Object[] args) throws Throwable {
+        Object result = invoke(connection, method, args);
+        if (method.getName().equals("prepareStatement") && args[0] instanceof String sql
+                && sql.trim().toLowerCase().startsWith("select")) {
+            Captured captured = new Captured(sql);
+            return proxy(PreparedStatement.class, (PreparedStatement) result, (statement, call, callArgs) -> {
+                if (call.getName().startsWith("set") && callArgs != null && callArgs.length >= 2
+                        && callArgs[0] instanceof Integer) {
+                    captured.setters.add(call);
+                    captured.arguments.add(callArgs);
+                } else if (call.getName().equals("executeQuery")) {
+                    last = captured;
+                }
+                return invoke(statement, call, callArgs);
+            });
+        }
+        return result;
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler invocationHandler = (p, method, args) -> handler.handle(target, method, args);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, invocationHandler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
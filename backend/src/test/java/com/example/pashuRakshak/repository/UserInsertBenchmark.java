@@ -0,0 +1,83 @@
+package com.example.pashuRakshak.repository;
+
+import com.example.pashuRakshak.PashuRakshakApplication;
+import com.example.pashuRakshak.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk user inserts (ROWS_PER_OP per transaction, ids from the pooled users_seq)
+ * with JDBC batching off (batch_size 1) and at the configured 50. Runs the
+ * application against an in-memory H2 database with the "it" profile, where
+ * the two come out close: what batching saves is a round trip per row, which
+ * only shows against a database across a network (BatchedWriteTest counts the
+ * statements).
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserInsert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserInsertBenchmark {
+
+    private static final int ROWS_PER_OP = 50;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PashuRakshakApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("it")
+                // As arguments, so they win over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:user-insert;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN");
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<User> insertUsers() {
+        List<User> users = new ArrayList<>(ROWS_PER_OP);
+        for (int i = 0; i < ROWS_PER_OP; i++) {
+            long n = next++;
+            users.add(new User("bench-" + n, "bench-" + n + "@example.com", "secret", "Bench User " + n));
+        }
+        return transactionTemplate.execute(status -> userRepository.saveAll(users));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.DispatchOffer;
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.Ngo;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.entity.VerificationStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.repository.NgoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ranking one new report for dispatch among {@code ngos} active NGOs spread
+ * over a 200 km square around Pune, each with a few open cases. The request
+ * budget is low milliseconds; this is the in-memory part of it (k-d tree
+ * lookup, caseload reads, scoring), one report position per operation.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=AutoDispatch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutoDispatchBenchmark {
+
+    private static final double LAT = 18.52;
+    private static final double LNG = 73.85;
+    private static final int POSITIONS = 1024;
+
+    @Param({ "1000", "5000", "20000" })
+    public int ngos;
+
+    private AutoDispatchService service;
+    private ReportResponse[] reports;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        List<Ngo> active = new ArrayList<>(ngos);
+        for (long id = 1; id <= ngos; id++) {
+            Ngo ngo = new Ngo();
+            ngo.setId(id);
+            ngo.setLatitude(LAT + (random.nextDouble() - 0.5) * 1.8);
+            ngo.setLongitude(LNG + (random.nextDouble() - 0.5) * 1.8);
+            ngo.setIsActive(true);
+            ngo.setVerificationStatus(VerificationStatus.APPROVED);
+            active.add(ngo);
+        }
+        NgoRepository ngoRepository = mock(NgoRepository.class);
+        when(ngoRepository.findByIsActiveTrueAndVerificationStatus(VerificationStatus.APPROVED)).thenReturn(active);
+        NgoSpatialIndex spatialIndex = new NgoSpatialIndex();
+        ReflectionTestUtils.setField(spatialIndex, "ngoRepository", ngoRepository);
+        spatialIndex.rebuild();
+
+        List<Object[]> openCases = new ArrayList<>();
+        long reportId = 1;
+        for (long ngoId = 1; ngoId <= ngos; ngoId++) {
+            for (int i = random.nextInt(5); i > 0; i--) {
+                openCases.add(new Object[] { reportId++, ngoId, LocalDateTime.now() });
+            }
+        }
+        AnimalReportRepository reportRepository = mock(AnimalReportRepository.class);
+        when(reportRepository.findOpenCaseOwners(NgoCaseloadCounters.OPEN_CASE_STATUSES)).thenReturn(openCases);
+        NgoCaseloadCounters caseloads = new NgoCaseloadCounters();
+        ReflectionTestUtils.setField(caseloads, "reportRepository", reportRepository);
+        caseloads.rebuild();
+
+        // Defaults from application.properties
+        service = new AutoDispatchService(true, 3, 32, 50, 2);
+        ReflectionTestUtils.setField(service, "ngoSpatialIndex", spatialIndex);
+        ReflectionTestUtils.setField(service, "caseloads", caseloads);
+
+        reports = new ReportResponse[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            ReportResponse report = new ReportResponse();
+            report.setId(-1L - i);
+            report.setStatus(ReportStatus.SUBMITTED);
+            report.setLatitude(LAT + (random.nextDouble() - 0.5) * 1.8);
+            report.setLongitude(LNG + (random.nextDouble() - 0.5) * 1.8);
+            reports[i] = report;
+        }
+    }
+
+    @Benchmark
+    public List<DispatchOffer> rank() {
+        next = (next + 1) & (POSITIONS - 1);
+        return service.rank(reports[next]);
+    }
+}
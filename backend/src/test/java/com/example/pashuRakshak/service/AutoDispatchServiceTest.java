@@ -0,0 +1,138 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.DispatchOffer;
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.Ngo;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.entity.VerificationStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.repository.NgoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dispatch ranking over the real spatial index and caseload counters: nearest
+ * first, open cases pushing a busy NGO down, inactive or unapproved NGOs and
+ * those past the distance limit never offered.
+ */
+class AutoDispatchServiceTest {
+
+    private static final double LAT = 18.52;
+    private static final double LNG = 73.85;
+
+    private final NgoRepository ngoRepository = mock(NgoRepository.class);
+    private final AnimalReportRepository reportRepository = mock(AnimalReportRepository.class);
+    private final NgoSpatialIndex spatialIndex = new NgoSpatialIndex();
+    private final NgoCaseloadCounters caseloads = new NgoCaseloadCounters();
+    // 3 offers, 32 candidates, 50 km, 2 km per open case
+    private final AutoDispatchService service = new AutoDispatchService(true, 3, 32, 50, 2);
+
+    private long nextReportId = 1000;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(spatialIndex, "ngoRepository", ngoRepository);
+        ReflectionTestUtils.setField(caseloads, "reportRepository", reportRepository);
+        ReflectionTestUtils.setField(service, "ngoSpatialIndex", spatialIndex);
+        ReflectionTestUtils.setField(service, "caseloads", caseloads);
+        when(reportRepository.findOpenCaseOwners(NgoCaseloadCounters.OPEN_CASE_STATUSES)).thenReturn(List.of());
+        caseloads.rebuild();
+    }
+
+    @Test
+    void idleNgosRankNearestFirst() {
+        index(ngo(1, 0.05), ngo(2, 0.01), ngo(3, 0.03), ngo(4, 0.07));
+
+        List<DispatchOffer> offers = service.rank(report());
+
+        assertThat(offers).extracting(DispatchOffer::getNgoId).containsExactly(2L, 3L, 1L);
+        assertThat(offers).extracting(DispatchOffer::getRank).containsExactly(1, 2, 3);
+        assertThat(offers.get(0).getDistanceKm()).isLessThan(offers.get(1).getDistanceKm());
+    }
+
+    @Test
+    void openCasesPushABusyNgoBelowAnIdleOneFurtherAway() {
+        // About 1.1, 3.3 and 5.6 km away
+        index(ngo(1, 0.01), ngo(2, 0.03), ngo(3, 0.05));
+        openCases(1, 2); // 1.1 + 2 * 2 = 5.1
+        openCases(3, 1); // 5.6 + 2 = 7.6
+
+        List<DispatchOffer> offers = service.rank(report());
+
+        assertThat(offers).extracting(DispatchOffer::getNgoId).containsExactly(2L, 1L, 3L);
+        assertThat(offers).extracting(DispatchOffer::getOpenCases).containsExactly(0, 2, 1);
+    }
+
+    @Test
+    void onlyActiveApprovedNgosWithinTheLimitAreOffered() {
+        Ngo inactive = ngo(1, 0.001);
+        inactive.setIsActive(false);
+        Ngo pending = ngo(2, 0.002);
+        pending.setVerificationStatus(VerificationStatus.PENDING);
+        Ngo tooFar = ngo(3, 0.6); // about 67 km
+        index(inactive, pending, tooFar, ngo(4, 0.02));
+
+        List<DispatchOffer> offers = service.rank(report());
+
+        assertThat(offers).extracting(DispatchOffer::getNgoId).containsExactly(4L);
+    }
+
+    @Test
+    void anNgoThatStopsBeingActiveDropsOutOfTheRanking() {
+        Ngo nearest = ngo(1, 0.01);
+        index(nearest, ngo(2, 0.02));
+        assertThat(service.rank(report())).extracting(DispatchOffer::getNgoId).containsExactly(1L, 2L);
+
+        nearest.setIsActive(false);
+        spatialIndex.update(nearest);
+
+        assertThat(service.rank(report())).extracting(DispatchOffer::getNgoId).containsExactly(2L);
+    }
+
+    private void index(Ngo... ngos) {
+        when(ngoRepository.findByIsActiveTrueAndVerificationStatus(VerificationStatus.APPROVED))
+                .thenReturn(List.of(ngos));
+        spatialIndex.rebuild();
+    }
+
+    private void openCases(long ngoId, int count) {
+        for (int i = 0; i < count; i++) {
+            ReportResponse accepted = new ReportResponse();
+            accepted.setId(nextReportId++);
+            accepted.setStatus(ReportStatus.HELP_ON_THE_WAY);
+            accepted.setAssignedNgoId(ngoId);
+            accepted.setUpdatedAt(LocalDateTime.now());
+            caseloads.update(accepted);
+        }
+    }
+
+    // Due north of the report by latitudeOffset degrees
+    private static Ngo ngo(long id, double latitudeOffset) {
+        Ngo ngo = new Ngo();
+        ngo.setId(id);
+        ngo.setName("NGO " + id);
+        ngo.setLatitude(LAT + latitudeOffset);
+        ngo.setLongitude(LNG);
+        ngo.setIsActive(true);
+        ngo.setVerificationStatus(VerificationStatus.APPROVED);
+        return ngo;
+    }
+
+    private static ReportResponse report() {
+        ReportResponse report = new ReportResponse();
+        report.setId(1L);
+        report.setTrackingId("PR-TEST");
+        report.setStatus(ReportStatus.SUBMITTED);
+        report.setLatitude(LAT);
+        report.setLongitude(LNG);
+        return report;
+    }
+}
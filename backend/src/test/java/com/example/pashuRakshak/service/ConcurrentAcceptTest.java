@@ -0,0 +1,109 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.AnimalReport;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many NGOs accepting one report at the same moment: the guarded UPDATE in
+ * AnimalReportRepository.claimForNgo lets exactly one through, and every other
+ * caller gets ReportConflictException. The contended phase is timed and its
+ * throughput published through the TestReporter (in the surefire report); a
+ * floor well below what H2 manages catches a claim that started to serialise
+ * on something slow.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@ActiveProfiles("it")
+class ConcurrentAcceptTest {
+
+    private static final int CALLERS = 32;
+    // Accept calls, winners and conflicts alike, settled per second
+    private static final double MIN_ACCEPTS_PER_SECOND = 20;
+
+    @Autowired
+    private AnimalReportService animalReportService;
+
+    @Autowired
+    private AnimalReportRepository reportRepository;
+
+    @Autowired
+    private TrackingIdGenerator trackingIdGenerator;
+
+    @RepeatedTest(5)
+    void exactlyOneConcurrentAcceptWins(TestReporter reporter) throws Exception {
+        String trackingId = openReport();
+
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Optional<ReportResponse>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                long ngoId = 1000 + i;
+                results.add(pool.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    return animalReportService.acceptReportByTrackingId(trackingId, ngoId, "NGO " + ngoId);
+                }));
+            }
+            ready.await();
+            long start = System.nanoTime();
+            go.countDown();
+
+            List<ReportResponse> winners = new ArrayList<>();
+            int conflicts = 0;
+            for (Future<Optional<ReportResponse>> result : results) {
+                try {
+                    winners.add(result.get(30, TimeUnit.SECONDS).orElseThrow());
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ReportConflictException.class);
+                    conflicts++;
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double acceptsPerSecond = CALLERS / seconds;
+            reporter.publishEntry("acceptsPerSecond", String.format("%.0f", acceptsPerSecond));
+            reporter.publishEntry("contendedMillis", String.format("%.1f", seconds * 1000));
+
+            assertThat(winners).hasSize(1);
+            assertThat(conflicts).isEqualTo(CALLERS - 1);
+
+            AnimalReport stored = reportRepository.findByTrackingId(trackingId).orElseThrow();
+            assertThat(stored.getAssignedNgoId()).isEqualTo(winners.get(0).getAssignedNgoId());
+            assertThat(stored.getAssignedNgoName()).isEqualTo("NGO " + stored.getAssignedNgoId());
+            assertThat(acceptsPerSecond).isGreaterThan(MIN_ACCEPTS_PER_SECOND);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private String openReport() {
+        AnimalReport report = new AnimalReport();
+        report.setTrackingId(trackingIdGenerator.nextTrackingId());
+        report.setAnimalType("Dog");
+        report.setCondition("Injured");
+        report.setInjuryDescription("Hit by a bike, cannot stand");
+        report.setLatitude(18.52);
+        report.setLongitude(73.85);
+        return reportRepository.save(report).getTrackingId();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rebuilding the deadlines from the open reports at startup: overdue cases
+ * escalate on the first tick, the rest wait, and cases that are not open on
+ * their own get no deadline.
+ */
+class EscalationTimersTest {
+
+    private final AnimalReportRepository reportRepository = mock(AnimalReportRepository.class);
+    private final BlockingQueue<EscalationTimers.Escalation> escalated = new LinkedBlockingQueue<>();
+    // 10 ms ticks; 10 / 15 / 240 minute deadlines as in application.properties
+    private final EscalationTimers timers = new EscalationTimers(true, 10, 64, 10, 15, 240);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(timers, "reportRepository", reportRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timers.stop();
+    }
+
+    @Test
+    void startupRebuildFilesEveryOpenCaseAndFiresTheOverdueOnes() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        when(reportRepository.findResponsesByStatusIn(anyList())).thenReturn(List.of(
+                report("PR-OVERDUE-SUBMITTED", ReportStatus.SUBMITTED, now.minusMinutes(30), now.minusMinutes(30)),
+                report("PR-OVERDUE-STALLED", ReportStatus.TEAM_DISPATCHED, now.minusHours(6), now.minusHours(5)),
+                report("PR-FRESH-SUBMITTED", ReportStatus.SUBMITTED, now.minusMinutes(1), now.minusMinutes(1)),
+                report("PR-FRESH-SEARCHING", ReportStatus.SEARCHING_FOR_HELP, now.minusHours(1), now.minusMinutes(2)),
+                report("PR-FRESH-HELD", ReportStatus.HELP_ON_THE_WAY, now.minusHours(1), now.minusMinutes(30)),
+                duplicate("PR-DUPLICATE", now.minusHours(2))));
+
+        timers.start(escalated::add);
+
+        EscalationTimers.Escalation first = escalated.poll(5, TimeUnit.SECONDS);
+        EscalationTimers.Escalation second = escalated.poll(5, TimeUnit.SECONDS);
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(List.of(first, second))
+                .extracting(e -> e.trackingId, e -> e.phase, e -> e.level)
+                .containsExactlyInAnyOrder(
+                        tuple("PR-OVERDUE-SUBMITTED", EscalationTimers.Phase.UNCLAIMED, 0),
+                        tuple("PR-OVERDUE-STALLED", EscalationTimers.Phase.STALLED, 0));
+
+        // Nothing else is due for minutes
+        assertThat(escalated.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(timers.pendingCount()).isEqualTo(3);
+        assertThat(timers.pendingByPhase())
+                .containsEntry(EscalationTimers.Phase.UNCLAIMED, 2)
+                .containsEntry(EscalationTimers.Phase.STALLED, 1);
+    }
+
+    @Test
+    void aWriteAfterTheRebuildMovesTheDeadline() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        when(reportRepository.findResponsesByStatusIn(anyList())).thenReturn(List.of(
+                report("PR-HELD", ReportStatus.HELP_ON_THE_WAY, now.minusHours(1), now.minusMinutes(30))));
+        timers.start(escalated::add);
+        assertThat(timers.pendingCount()).isEqualTo(1);
+
+        // Resolved before its deadline: the timer goes and never fires
+        timers.track(report("PR-HELD", ReportStatus.CASE_RESOLVED, now.minusHours(1), now));
+        assertThat(timers.pendingCount()).isZero();
+
+        // A held case last touched long ago is overdue right away
+        timers.track(report("PR-HELD", ReportStatus.TEAM_DISPATCHED, now.minusHours(9), now.minusHours(8)));
+        EscalationTimers.Escalation fired = escalated.poll(5, TimeUnit.SECONDS);
+        assertThat(fired).isNotNull();
+        assertThat(fired.trackingId).isEqualTo("PR-HELD");
+        assertThat(fired.status).isEqualTo(ReportStatus.TEAM_DISPATCHED);
+    }
+
+    private static ReportResponse report(String trackingId, ReportStatus status, LocalDateTime createdAt,
+            LocalDateTime updatedAt) {
+        ReportResponse report = new ReportResponse();
+        report.setTrackingId(trackingId);
+        report.setStatus(status);
+        report.setCreatedAt(createdAt);
+        report.setUpdatedAt(updatedAt);
+        return report;
+    }
+
+    private static ReportResponse duplicate(String trackingId, LocalDateTime createdAt) {
+        ReportResponse report = report(trackingId, ReportStatus.SUBMITTED, createdAt, createdAt);
+        report.setDuplicateOf("PR-ORIGINAL");
+        return report;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NgoCaseloadCountersTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final AnimalReportRepository reportRepository = mock(AnimalReportRepository.class);
+    private final NgoCaseloadCounters counters = new NgoCaseloadCounters();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(counters, "reportRepository", reportRepository);
+    }
+
+    @Test
+    void writesAppliedOutOfCommitOrderKeepTheLatest() {
+        load();
+        ReportResponse accepted = report(1, 7L, ReportStatus.HELP_ON_THE_WAY, T0);
+        ReportResponse resolved = report(1, 7L, ReportStatus.CASE_RESOLVED, T0.plusSeconds(5));
+
+        // The resolve's hook runs before the accept's
+        counters.update(resolved);
+        counters.update(accepted);
+
+        assertThat(counters.openCases(7L)).isZero();
+    }
+
+    @Test
+    void reassignmentMovesTheCaseBetweenNgos() {
+        load(row(1, 7L, T0));
+        counters.update(report(1, 8L, ReportStatus.TEAM_DISPATCHED, T0.plusSeconds(1)));
+
+        assertThat(counters.openCases(7L)).isZero();
+        assertThat(counters.openCases(8L)).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildKeepsWritesThatLandWhileItLoads() {
+        load(row(1, 7L, T0));
+        // The reload query sees report 1 still open and misses report 2, whose
+        // accept commits while the query runs
+        when(reportRepository.findOpenCaseOwners(NgoCaseloadCounters.OPEN_CASE_STATUSES)).thenAnswer(invocation -> {
+            counters.update(report(1, 7L, ReportStatus.CASE_RESOLVED, T0.plusSeconds(5)));
+            counters.update(report(2, 7L, ReportStatus.HELP_ON_THE_WAY, T0.plusSeconds(6)));
+            return List.<Object[]>of(row(1, 7L, T0));
+        });
+
+        counters.rebuild();
+
+        assertThat(counters.openCases(7L)).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildCorrectsDriftFromTheDatabase() {
+        load(row(1, 7L, T0), row(2, 7L, T0));
+        // A write this instance never heard of (another node, a manual fix)
+        load(row(1, 7L, T0));
+
+        assertThat(counters.openCases(7L)).isEqualTo(1);
+    }
+
+    private void load(Object[]... rows) {
+        when(reportRepository.findOpenCaseOwners(NgoCaseloadCounters.OPEN_CASE_STATUSES)).thenReturn(List.of(rows));
+        counters.rebuild();
+    }
+
+    private static Object[] row(long reportId, Long ngoId, LocalDateTime updatedAt) {
+        return new Object[] { reportId, ngoId, updatedAt };
+    }
+
+    private static ReportResponse report(long id, Long ngoId, ReportStatus status, LocalDateTime updatedAt) {
+        ReportResponse report = new ReportResponse();
+        report.setId(id);
+        report.setAssignedNgoId(ngoId);
+        report.setStatus(status);
+        report.setUpdatedAt(updatedAt);
+        return report;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.entity.Ngo;
+import com.example.pashuRakshak.entity.VerificationStatus;
+import com.example.pashuRakshak.repository.NgoRepository;
+import com.example.pashuRakshak.util.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * k-nearest and radius results against a brute-force haversine scan, over NGOs
+ * spread across the globe, before and after a run of single-NGO writes; and a
+ * rebuild that keeps serving the old tree while it loads.
+ */
+class NgoSpatialIndexTest {
+
+    private final NgoRepository ngoRepository = mock(NgoRepository.class);
+    private final NgoSpatialIndex index = new NgoSpatialIndex();
+    private final Random random = new Random(5);
+
+    // What the index should hold, by id
+    private final Map<Long, Ngo> expected = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "ngoRepository", ngoRepository);
+    }
+
+    @Test
+    void matchesABruteForceScanAfterARebuild() {
+        load(2_000);
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertMatchesBruteForce(200);
+    }
+
+    @Test
+    void matchesABruteForceScanAcrossSingleWrites() {
+        load(1_000);
+
+        // Enough writes to fold the patches into the tree several times over,
+        // checking in between folds too
+        for (int i = 0; i < 500; i++) {
+            write(i);
+            if (i % 37 == 0) {
+                assertMatchesBruteForce(10);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertMatchesBruteForce(200);
+    }
+
+    @Test
+    void rebuildServesTheOldTreeWhileItLoadsAndKeepsWritesMadeMeanwhile() {
+        load(100);
+        Ngo moved = copy(expected.get(1L));
+        moved.setLatitude(-33.86);
+        moved.setLongitude(151.21);
+        Ngo added = ngo(10_000, 35.68, 139.69);
+
+        when(ngoRepository.findByIsActiveTrueAndVerificationStatus(VerificationStatus.APPROVED)).thenAnswer(call -> {
+            assertThat(index.size()).isEqualTo(100);
+            // These commit while the rebuild's query runs, which does not see them
+            index.update(moved);
+            index.update(added);
+            index.remove(2L);
+            assertThat(index.size()).isEqualTo(100);
+            return new ArrayList<>(expected.values());
+        });
+        index.rebuild();
+        expected.put(1L, moved);
+        expected.put(added.getId(), added);
+        expected.remove(2L);
+
+        assertThat(index.size()).isEqualTo(100);
+        assertThat(index.findNearest(-33.86, 151.21, 1)).containsExactly(moved);
+        assertThat(index.findNearest(35.68, 139.69, 1)).containsExactly(added);
+        assertMatchesBruteForce(50);
+    }
+
+    private void load(int count) {
+        expected.clear();
+        for (long id = 1; id <= count; id++) {
+            expected.put(id, randomNgo(id));
+        }
+        when(ngoRepository.findByIsActiveTrueAndVerificationStatus(VerificationStatus.APPROVED))
+                .thenReturn(new ArrayList<>(expected.values()));
+        index.rebuild();
+    }
+
+    // A move, a deactivation, a reactivation or a new NGO
+    private void write(int i) {
+        long id = 1 + random.nextInt(expected.size() + 50);
+        Ngo ngo = expected.containsKey(id) ? copy(expected.get(id)) : randomNgo(id);
+        switch (i % 4) {
+            case 0 -> {
+                ngo.setLatitude(randomLatitude());
+                ngo.setLongitude(randomLongitude());
+            }
+            case 1 -> ngo.setIsActive(false);
+            case 2 -> ngo.setVerificationStatus(VerificationStatus.PENDING);
+            default -> {
+                ngo.setIsActive(true);
+                ngo.setVerificationStatus(VerificationStatus.APPROVED);
+            }
+        }
+        index.update(ngo);
+        if (Boolean.TRUE.equals(ngo.getIsActive()) && ngo.getVerificationStatus() == VerificationStatus.APPROVED) {
+            expected.put(id, ngo);
+        } else {
+            expected.remove(id);
+        }
+    }
+
+    private void assertMatchesBruteForce(int queries) {
+        for (int q = 0; q < queries; q++) {
+            double lat = randomLatitude();
+            double lng = randomLongitude();
+            List<Ngo> byDistance = new ArrayList<>(expected.values());
+            byDistance.sort(Comparator.comparingDouble(n -> distance(n, lat, lng)));
+
+            int k = 1 + random.nextInt(20);
+            assertThat(ids(index.findNearest(lat, lng, k))).as("%d nearest to %f,%f", k, lat, lng)
+                    .isEqualTo(ids(byDistance.subList(0, Math.min(k, byDistance.size()))));
+
+            double radiusKm = 50 + random.nextDouble() * 2_000;
+            List<Ngo> within = new ArrayList<>();
+            for (Ngo ngo : byDistance) {
+                if (distance(ngo, lat, lng) <= radiusKm) {
+                    within.add(ngo);
+                }
+            }
+            assertThat(ids(index.findWithinRadius(lat, lng, radiusKm))).as("within %f km of %f,%f", radiusKm, lat, lng)
+                    .isEqualTo(ids(within));
+        }
+    }
+
+    private static double distance(Ngo ngo, double lat, double lng) {
+        return GeoUtils.distanceKm(lat, lng, ngo.getLatitude(), ngo.getLongitude());
+    }
+
+    private static List<Long> ids(List<Ngo> ngos) {
+        return ngos.stream().map(Ngo::getId).toList();
+    }
+
+    // A quarter near the poles or the antimeridian, where lat/lng boxes go wrong
+    private double randomLatitude() {
+        return random.nextInt(8) == 0
+                ? Math.copySign(80 + random.nextDouble() * 10, random.nextDouble() - 0.5)
+                : random.nextDouble() * 180 - 90;
+    }
+
+    private double randomLongitude() {
+        return random.nextInt(8) == 0
+                ? Math.copySign(170 + random.nextDouble() * 10, random.nextDouble() - 0.5)
+                : random.nextDouble() * 360 - 180;
+    }
+
+    private Ngo randomNgo(long id) {
+        return ngo(id, randomLatitude(), randomLongitude());
+    }
+
+    private static Ngo ngo(long id, double latitude, double longitude) {
+        Ngo ngo = new Ngo();
+        ngo.setId(id);
+        ngo.setName("NGO " + id);
+        ngo.setLatitude(latitude);
+        ngo.setLongitude(longitude);
+        ngo.setIsActive(true);
+        ngo.setVerificationStatus(VerificationStatus.APPROVED);
+        return ngo;
+    }
+
+    // Saved NGOs come back as new objects; never mutate one the index holds
+    private static Ngo copy(Ngo from) {
+        Ngo ngo = ngo(from.getId(), from.getLatitude(), from.getLongitude());
+        ngo.setIsActive(from.getIsActive());
+        ngo.setVerificationStatus(from.getVerificationStatus());
+        return ngo;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.QueuedReport;
+import com.example.pashuRakshak.dto.ReportRequest;
+import com.example.pashuRakshak.dto.ReportResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A burst of reports of one incident drained from the intake queue in a single
+ * batch: the first becomes the case and the rest link to it, though none of
+ * them is in the database while the batch is checked.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@ActiveProfiles("it")
+class QueuedReportDuplicatesTest {
+
+    // Somewhere no other test files reports
+    private static final double LAT = -12.0463;
+    private static final double LNG = -77.0428;
+
+    @Autowired
+    private AnimalReportService animalReportService;
+
+    @Autowired
+    private TrackingIdGenerator trackingIdGenerator;
+
+    @Test
+    void reportsOfOneIncidentInOneBatchBecomeOneCase() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReportResponse> written = animalReportService.createQueuedReports(List.of(
+                queued("Cow", LAT, LNG, now),
+                queued("cow ", LAT + 0.0005, LNG, now.plusSeconds(2)),    // ~55 m
+                queued("Dog", LAT + 0.0005, LNG, now.plusSeconds(3)),     // another animal
+                queued("Cow", LAT, LNG + 0.001, now.plusSeconds(4)),      // ~110 m
+                queued("Cow", LAT + 0.01, LNG, now.plusSeconds(5))));     // ~1.1 km, another incident
+
+        String caseId = written.get(0).getTrackingId();
+        assertThat(written).extracting(ReportResponse::getDuplicateOf)
+                .containsExactly(null, caseId, null, caseId, null);
+    }
+
+    @Test
+    void laterBatchesStillLinkToTheCase() {
+        LocalDateTime now = LocalDateTime.now();
+        String caseId = animalReportService.createQueuedReports(List.of(
+                queued("Goat", LAT - 0.2, LNG, now))).get(0).getTrackingId();
+
+        List<ReportResponse> written = animalReportService.createQueuedReports(List.of(
+                queued("Goat", LAT - 0.2, LNG + 0.0005, now.plusSeconds(10)),
+                queued("Goat", LAT - 0.2 + 0.0005, LNG, now.plusSeconds(11))));
+
+        assertThat(written).extracting(ReportResponse::getDuplicateOf).containsExactly(caseId, caseId);
+    }
+
+    private QueuedReport queued(String animalType, double latitude, double longitude, LocalDateTime receivedAt) {
+        ReportRequest request = new ReportRequest();
+        request.setAnimalType(animalType);
+        request.setCondition("Injured");
+        request.setInjuryDescription("Hit by a vehicle");
+        request.setLatitude(latitude);
+        request.setLongitude(longitude);
+        return new QueuedReport(trackingIdGenerator.nextTrackingId(), receivedAt, request);
+    }
+}
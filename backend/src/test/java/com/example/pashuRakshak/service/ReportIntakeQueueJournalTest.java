@@ -0,0 +1,125 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.QueuedReport;
+import com.example.pashuRakshak.dto.ReportRequest;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.repository.ArchivedReportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The intake journal: segments are released once their reports are written,
+ * and a restart replays only reports that reached neither table.
+ */
+class ReportIntakeQueueJournalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AnimalReportService animalReportService = mock(AnimalReportService.class);
+    private final AnimalReportRepository reportRepository = mock(AnimalReportRepository.class);
+    private final ArchivedReportRepository archivedReportRepository = mock(ArchivedReportRepository.class);
+    private final List<String> writtenIds = new CopyOnWriteArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    private ReportIntakeQueue queue;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void writtenSegmentsAreReleased() throws Exception {
+        queue = start(5);
+        for (int i = 0; i < 23; i++) {
+            queue.submit(request());
+        }
+        awaitWritten(23);
+
+        // Sealed segments deleted; the current one emptied
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> left = files.toList();
+            assertThat(left).hasSize(1);
+            assertThat(Files.size(left.get(0))).isZero();
+        }
+    }
+
+    @Test
+    void replaySkipsReportsInEitherTable() throws Exception {
+        Path journal = dir.resolve("intake.journal");
+        Files.write(dir.resolve("intake.journal.3"), List.of(line("PR-HOT"), line("PR-PENDING-1")),
+                StandardCharsets.UTF_8);
+        Files.write(dir.resolve("intake.journal.7"), List.of(line("PR-ARCHIVED"), "{\"torn", line("PR-PENDING-2")),
+                StandardCharsets.UTF_8);
+        when(reportRepository.existsByTrackingId("PR-HOT")).thenReturn(true);
+        when(archivedReportRepository.existsByTrackingId("PR-ARCHIVED")).thenReturn(true);
+
+        queue = start(5);
+        awaitWritten(2);
+
+        assertThat(writtenIds).containsExactlyInAnyOrder("PR-PENDING-1", "PR-PENDING-2");
+        assertThat(journal.resolveSibling("intake.journal.3")).doesNotExist();
+        assertThat(journal.resolveSibling("intake.journal.7")).doesNotExist();
+        assertThat(journal.resolveSibling("intake.journal.8")).exists();
+    }
+
+    private ReportIntakeQueue start(int segmentEntries) throws Exception {
+        doAnswer(invocation -> {
+            List<QueuedReport> batch = invocation.getArgument(0);
+            batch.forEach(item -> writtenIds.add(item.getTrackingId()));
+            return List.of();
+        }).when(animalReportService).createQueuedReports(anyList());
+        TrackingIdGenerator trackingIdGenerator = new TrackingIdGenerator();
+        trackingIdGenerator.init();
+
+        ReportIntakeQueue intake = new ReportIntakeQueue(true, 100, 10, 1, 5, 2000,
+                dir.resolve("intake.journal").toString(), segmentEntries);
+        ReflectionTestUtils.setField(intake, "animalReportService", animalReportService);
+        ReflectionTestUtils.setField(intake, "reportRepository", reportRepository);
+        ReflectionTestUtils.setField(intake, "archivedReportRepository", archivedReportRepository);
+        ReflectionTestUtils.setField(intake, "trackingIdGenerator", trackingIdGenerator);
+        ReflectionTestUtils.setField(intake, "objectMapper", objectMapper);
+        intake.start();
+        return intake;
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while ((writtenIds.size() < count || (Long) queue.stats().get("pending") > 0)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(writtenIds).hasSize(count);
+        assertThat(queue.stats().get("pending")).isEqualTo(0L);
+    }
+
+    private String line(String trackingId) throws Exception {
+        return objectMapper.writeValueAsString(new QueuedReport(trackingId, LocalDateTime.now(), request()));
+    }
+
+    private static ReportRequest request() {
+        ReportRequest request = new ReportRequest();
+        request.setAnimalType("Dog");
+        return request;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.pashuRakshak.service;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import com.example.pashuRakshak.repository.AnimalReportRepository;
+import com.example.pashuRakshak.repository.ArchivedReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportSearchIndexTest {
+
+    private final AnimalReportRepository reportRepository = mock(AnimalReportRepository.class);
+    private final ArchivedReportRepository archivedReportRepository = mock(ArchivedReportRepository.class);
+    private final ReportSearchIndex index = new ReportSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "reportRepository", reportRepository);
+        ReflectionTestUtils.setField(index, "archivedReportRepository", archivedReportRepository);
+        when(archivedReportRepository.findAllResponses()).thenReturn(List.of());
+    }
+
+    @Test
+    void pagesMatchTheFullRanking() {
+        List<ReportResponse> reports = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            // Varying term frequency gives varying scores; equal ones tie-break on id
+            String notes = "injured dog".repeat((int) (id % 4) + 1);
+            reports.add(report(id, "Dog", "injured " + notes, ReportStatus.SUBMITTED));
+        }
+        when(reportRepository.findAllResponses()).thenReturn(reports);
+        index.rebuild();
+
+        List<Long> all = index.search("injured dog", null, null, null, 0, 100).getIds();
+        assertThat(all).hasSize(40);
+
+        List<Long> paged = new ArrayList<>();
+        for (int offset = 0; offset < 40; offset += 7) {
+            ReportSearchIndex.Hits hits = index.search("injured dog", null, null, null, offset, 7);
+            assertThat(hits.getTotal()).isEqualTo(40);
+            paged.addAll(hits.getIds());
+        }
+        assertThat(paged).isEqualTo(all);
+        assertThat(index.search("injured dog", null, null, null, 40, 7).getIds()).isEmpty();
+    }
+
+    @Test
+    void writesDuringRebuildSurviveTheSwap() {
+        ReportResponse stale = report(1L, "Cat", "hit by a car", ReportStatus.SUBMITTED);
+        ReportResponse fresh = report(1L, "Cat", "hit by a car", ReportStatus.HELP_ON_THE_WAY);
+        ReportResponse created = report(2L, "Cat", "stuck on a roof", ReportStatus.SUBMITTED);
+        when(reportRepository.findAllResponses()).thenAnswer(invocation -> {
+            // Committed after the rebuild's read started
+            index.index(fresh);
+            index.index(created);
+            return List.of(stale);
+        });
+
+        index.rebuild();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("car", List.of(ReportStatus.HELP_ON_THE_WAY), null, null, 0, 10).getIds())
+                .containsExactly(1L);
+        assertThat(index.search("roof", null, null, null, 0, 10).getIds()).containsExactly(2L);
+    }
+
+    private static ReportResponse report(Long id, String animalType, String description, ReportStatus status) {
+        ReportResponse report = new ReportResponse();
+        report.setId(id);
+        report.setAnimalType(animalType);
+        report.setInjuryDescription(description);
+        report.setStatus(status);
+        report.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id));
+        return report;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.pashuRakshak.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracking ID generation against the random-UUID IDs it replaced, alone and
+ * with callers contending for the generator's lock.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=TrackingIdGenerator
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackingIdGeneratorBenchmark {
+
+    private TrackingIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new TrackingIdGenerator();
+        generator.init();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return generator.nextTrackingId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String timeOrderedContended() {
+        return generator.nextTrackingId();
+    }
+
+    // The previous scheme: eight hex characters of a random UUID
+    @Benchmark
+    public String randomUuidPrefix() {
+        return TrackingIdGenerator.PREFIX + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String randomUuidPrefixContended() {
+        return TrackingIdGenerator.PREFIX + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
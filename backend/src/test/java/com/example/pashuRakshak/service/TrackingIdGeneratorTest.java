@@ -0,0 +1,140 @@
+package com.example.pashuRakshak.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrackingIdGeneratorTest {
+
+    private static final long EPOCH_MS = 1704067200000L;
+
+    @Test
+    void idsFromManyThreadsAreUniqueAndIncreasingPerThread() throws Exception {
+        TrackingIdGenerator generator = generator();
+        int threads = 16;
+        int perThread = 20_000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<String[]>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                Callable<String[]> task = () -> {
+                    go.await();
+                    String[] ids = new String[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = generator.nextTrackingId();
+                    }
+                    return ids;
+                };
+                results.add(pool.submit(task));
+            }
+            go.countDown();
+
+            Set<String> all = new HashSet<>();
+            for (Future<String[]> result : results) {
+                String[] ids = result.get(60, TimeUnit.SECONDS);
+                for (int i = 0; i < ids.length; i++) {
+                    assertThat(all.add(ids[i])).as("duplicate %s", ids[i]).isTrue();
+                    if (i > 0) {
+                        assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                    }
+                }
+            }
+            assertThat(all).hasSize(threads * perThread);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void clockSteppingBackwardsNeverRepeatsOrReordersIds() {
+        long[] clock = { EPOCH_MS + 10_000 };
+        TrackingIdGenerator generator = generator(clock);
+
+        long before = generator.nextId();
+        clock[0] -= 5_000;
+        long afterStep = generator.nextId();
+        long next = generator.nextId();
+        clock[0] += 5_000;
+        long caughtUp = generator.nextId();
+
+        assertThat(afterStep).isGreaterThan(before);
+        assertThat(next).isGreaterThan(afterStep);
+        assertThat(caughtUp).isGreaterThan(next);
+        // While the clock is behind, IDs keep the last timestamp seen
+        assertThat(timestampOf(afterStep)).isEqualTo(timestampOf(before));
+    }
+
+    @Test
+    void exhaustedSequenceMovesToTheNextMillisecondWithoutWaiting() {
+        long[] clock = { EPOCH_MS + 10_000 };
+        TrackingIdGenerator generator = generator(clock);
+
+        long previous = generator.nextId();
+        // Three milliseconds' worth of sequence numbers while the clock stands still
+        for (int i = 0; i < 3 * 4096; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        assertThat(timestampOf(previous)).isEqualTo(10_000 + 3);
+    }
+
+    @Test
+    void trackingIdsCarryARandomPartAfterTheTimeOrderedPart() {
+        long[] clock = { EPOCH_MS + 10_000 };
+        TrackingIdGenerator generator = generator(clock);
+
+        String first = generator.nextTrackingId();
+        String second = generator.nextTrackingId();
+
+        assertThat(first).matches("PR-[0-9A-HJKMNP-TV-Z]{13}-[0-9A-HJKMNP-TV-Z]{13}");
+        // Neighbouring IDs share a timestamp but not a guessable suffix
+        assertThat(second.substring(3, 16)).isGreaterThan(first.substring(3, 16));
+        assertThat(second.substring(17)).isNotEqualTo(first.substring(17));
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    void encodingKeepsNumericOrder() {
+        long[] values = { 0, 1, 31, 32, 1L << 40, (1L << 62) - 1, Long.MAX_VALUE };
+        for (int i = 1; i < values.length; i++) {
+            String previous = TrackingIdGenerator.encode(values[i - 1]);
+            String current = TrackingIdGenerator.encode(values[i]);
+            assertThat(current).hasSize(13).isGreaterThan(previous);
+        }
+    }
+
+    private static long timestampOf(long id) {
+        return id >>> 22;
+    }
+
+    private static TrackingIdGenerator generator() {
+        TrackingIdGenerator generator = new TrackingIdGenerator();
+        generator.init();
+        return generator;
+    }
+
+    private static TrackingIdGenerator generator(long[] clock) {
+        TrackingIdGenerator generator = new TrackingIdGenerator() {
+            @Override
+            long currentTimeMillis() {
+                return clock[0];
+            }
+        };
+        generator.init();
+        return generator;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.pashuRakshak.util;
+
+import com.example.pashuRakshak.dto.ReportResponse;
+import com.example.pashuRakshak.entity.ReportStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The reports CSV export row encoding, CsvWriter against the String.format and
+ * escapeCsv encoding it replaced. Each invocation encodes ROWS reports and
+ * scores are per row: rows/s, and with the benchmark profile's gc profiler,
+ * bytes allocated per row (gc.alloc.rate.norm). The legacy encoding is
+ * measured both into a discarding stream (encoding alone) and into a
+ * ByteArrayOutputStream (the whole file in memory, as the old export built it).
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CsvWriter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(CsvWriterBenchmark.ROWS)
+public class CsvWriterBenchmark {
+
+    static final int ROWS = 1000;
+
+    private static final String HEADER = "Tracking ID,Animal Type,Condition,Injury Description,Address,Latitude,"
+            + "Longitude,Status,Reporter Name,Reporter Phone,Reporter Email,Assigned NGO,Assigned Worker,"
+            + "Created At,Updated At";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private List<ReportResponse> reports;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        reports = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            ReportResponse report = new ReportResponse();
+            report.setTrackingId("PR-0J3KZ8QW1C" + i);
+            report.setAnimalType("Dog");
+            report.setCondition("Injured");
+            // Quotes and a line break, so both encoders take their escaping path
+            report.setInjuryDescription("Hit by a \"car\" near the\nmarket, back leg bleeding " + i);
+            report.setAddress("Lane " + i + ", Kothrud, Pune");
+            report.setLatitude(18 + random.nextDouble());
+            report.setLongitude(73 + random.nextDouble());
+            report.setStatus(ReportStatus.SUBMITTED);
+            report.setReporterName("Asha Kulkarni");
+            report.setReporterPhone("9876543210");
+            report.setReporterEmail("asha@example.com");
+            report.setAssignedNgoName("Paws Pune");
+            report.setAssignedWorkerName("Ravi Patil");
+            report.setCreatedAt(LocalDateTime.of(2025, 3, 14, 9, 26, 53).plusMinutes(i));
+            report.setUpdatedAt(LocalDateTime.of(2025, 3, 15, 17, 5, 8).plusMinutes(i));
+            reports.add(report);
+        }
+    }
+
+    @Benchmark
+    public void csvWriter() throws IOException {
+        // As ExportService.csvWriter builds it
+        CsvWriter csv = new CsvWriter(new BufferedWriter(
+                new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8), 64 * 1024));
+        csv.line(HEADER);
+        for (ReportResponse report : reports) {
+            csv.text(report.getTrackingId())
+                    .text(report.getAnimalType())
+                    .text(report.getCondition())
+                    .text(report.getInjuryDescription())
+                    .text(report.getAddress())
+                    .number(report.getLatitude())
+                    .number(report.getLongitude())
+                    .text(report.getStatus() != null ? report.getStatus().name() : null)
+                    .text(report.getReporterName())
+                    .text(report.getReporterPhone())
+                    .text(report.getReporterEmail())
+                    .text(report.getAssignedNgoName())
+                    .text(report.getAssignedWorkerName())
+                    .dateTime(report.getCreatedAt())
+                    .dateTime(report.getUpdatedAt())
+                    .endRow();
+        }
+        csv.flush();
+    }
+
+    @Benchmark
+    public void legacyFormat() {
+        legacy(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public byte[] legacyFormatInMemory() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        legacy(out);
+        return out.toByteArray();
+    }
+
+    // The previous ExportService.exportReportsToCsv row encoding
+    private void legacy(OutputStream out) {
+        PrintWriter writer = new PrintWriter(out);
+        writer.println(HEADER);
+        for (ReportResponse report : reports) {
+            writer.println(String.format(
+                    "\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%s,%s,\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\"",
+                    escapeCsv(report.getTrackingId()),
+                    escapeCsv(report.getAnimalType()),
+                    escapeCsv(report.getCondition()),
+                    escapeCsv(report.getInjuryDescription()),
+                    escapeCsv(report.getAddress()),
+                    report.getLatitude(),
+                    report.getLongitude(),
+                    report.getStatus() != null ? report.getStatus().name() : "",
+                    escapeCsv(report.getReporterName()),
+                    escapeCsv(report.getReporterPhone()),
+                    escapeCsv(report.getReporterEmail()),
+                    escapeCsv(report.getAssignedNgoName()),
+                    escapeCsv(report.getAssignedWorkerName()),
+                    report.getCreatedAt() != null ? report.getCreatedAt().format(DATE_FORMATTER) : "",
+                    report.getUpdatedAt() != null ? report.getUpdatedAt().format(DATE_FORMATTER) : ""));
+        }
+        writer.flush();
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\"", "\"\"").replace("\n", " ").replace("\r", " ");
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.pashuRakshak.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Field encoding: quoted text with doubled quotes and line breaks as spaces,
+ * bare numbers, booleans and timestamps, and empty fields for nulls.
+ */
+class CsvWriterTest {
+
+    private final StringWriter out = new StringWriter();
+    private final CsvWriter csv = new CsvWriter(out);
+
+    @Test
+    void textIsQuotedWithQuotesDoubled() throws IOException {
+        csv.text("plain").text("say \"hi\"").text("\"").text("").endRow();
+
+        assertThat(out.toString()).isEqualTo("\"plain\",\"say \"\"hi\"\"\",\"\"\"\",\"\"\n");
+    }
+
+    @Test
+    void lineBreaksBecomeSpaces() throws IOException {
+        csv.text("one\ntwo\r\nthree\rfour\n").endRow();
+
+        assertThat(out.toString()).isEqualTo("\"one two  three four \"\n");
+    }
+
+    @Test
+    void nullsAreEmptyFields() throws IOException {
+        csv.text(null).number((Long) null).number((Integer) null).number((Double) null)
+                .bool(null).dateTime(null).endRow();
+
+        assertThat(out.toString()).isEqualTo("\"\",,,,,\n");
+    }
+
+    @Test
+    void numbersAreWrittenBare() throws IOException {
+        csv.number(0L).number(-42L).number(Long.MAX_VALUE).number(Long.MIN_VALUE)
+                .number(-7).number(Integer.MIN_VALUE).number(-18.5204).number(73.8567).endRow();
+
+        assertThat(out.toString()).isEqualTo("0,-42,9223372036854775807,-9223372036854775808,"
+                + "-7,-2147483648,-18.5204,73.8567\n");
+    }
+
+    @Test
+    void timestampsAreZeroPaddedToTheSecond() throws IOException {
+        csv.dateTime(LocalDateTime.of(2025, 3, 4, 5, 6, 7, 890_000_000))
+                .dateTime(LocalDateTime.of(999, 12, 31, 23, 59, 59))
+                .bool(true).bool(false).endRow();
+
+        assertThat(out.toString()).isEqualTo("2025-03-04 05:06:07,0999-12-31 23:59:59,true,false\n");
+    }
+
+    @Test
+    void rowsStartWithoutASeparator() throws IOException {
+        csv.line("A,B");
+        csv.text("a").number(1L).endRow();
+        csv.text("b").number(2L).endRow();
+
+        assertThat(out.toString()).isEqualTo("A,B\n\"a\",1\n\"b\",2\n");
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.pashuRakshak.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Covering cells against every cell found by sweeping the box finely, for
+ * boxes reaching the poles and split at the 180th meridian, plus the cell
+ * limit counting the cells the loop would visit.
+ */
+class GeoHashTest {
+
+    private static final int PRECISION = 5;
+
+    @Test
+    void coversAreasReachingThePoles() {
+        for (double[] centre : new double[][] { { 89.9, 10 }, { -89.95, -120 }, { 89.85, 179.9 } }) {
+            for (double[] box : GeoUtils.boundingBoxes(centre[0], centre[1], 20)) {
+                assertThat(box[0] == -90.0 || box[1] == 90.0).isTrue();
+                assertCoversExactly(box);
+            }
+        }
+    }
+
+    @Test
+    void coversAreasSplitAtTheAntimeridian() {
+        for (double[] centre : new double[][] { { 0, 179.99 }, { -45, -179.95 }, { 64.8, 179.9 } }) {
+            List<double[]> boxes = GeoUtils.boundingBoxes(centre[0], centre[1], 15);
+            assertThat(boxes).hasSize(2);
+
+            Set<String> cells = new HashSet<>();
+            for (double[] box : boxes) {
+                cells.addAll(assertCoversExactly(box));
+            }
+            // Both sides of the meridian, down to the cell the centre is in
+            assertThat(cells).contains(GeoHash.encode(centre[0], centre[1], PRECISION),
+                    GeoHash.encode(centre[0], 179.999, PRECISION),
+                    GeoHash.encode(centre[0], -179.999, PRECISION));
+        }
+    }
+
+    @Test
+    void coversABoxAlignedToCellEdgesWithoutSpillingOver() {
+        double height = GeoHash.cellHeight(PRECISION);
+        double width = GeoHash.cellWidth(PRECISION);
+        // Exactly 3 x 4 cells, the max edges on the next cells' boundaries
+        double minLat = height * 400;
+        double minLng = width * 900;
+        double[] box = { minLat, minLat + 3 * height, minLng, minLng + 4 * width };
+
+        Set<String> cells = assertCoversExactly(box);
+
+        // The boundary rows and columns the max edges touch, and nothing past them
+        assertThat(cells).hasSize(4 * 5);
+    }
+
+    @Test
+    void cellLimitCountsTheCellsTheLoopVisits() {
+        double height = GeoHash.cellHeight(PRECISION);
+        double width = GeoHash.cellWidth(PRECISION);
+        // Mid-cell edges: 3 rows and 4 columns of cells
+        double minLat = height * 400.5;
+        double minLng = width * 900.5;
+        double maxLat = minLat + 2 * height;
+        double maxLng = minLng + 3 * width;
+
+        assertThat(GeoHash.coveringCells(minLat, maxLat, minLng, maxLng, PRECISION, 12)).hasSize(12);
+        assertThat(GeoHash.coveringCells(minLat, maxLat, minLng, maxLng, PRECISION, 11)).isNull();
+    }
+
+    private static Set<String> assertCoversExactly(double[] box) {
+        Set<String> cells = GeoHash.coveringCells(box[0], box[1], box[2], box[3], PRECISION, 100_000);
+        // Set equality: the pole boxes run to tens of thousands of cells
+        assertThat(cells).as("cells for %s", Arrays.toString(box)).isEqualTo(sweep(box));
+        return cells;
+    }
+
+    // Every cell hit by a grid four times finer than a cell, edges included
+    private static Set<String> sweep(double[] box) {
+        double latStep = GeoHash.cellHeight(PRECISION) / 4;
+        double lngStep = GeoHash.cellWidth(PRECISION) / 4;
+        Set<String> cells = new HashSet<>();
+        for (double lat = box[0]; ; lat = Math.min(box[1], lat + latStep)) {
+            for (double lng = box[2]; ; lng = Math.min(box[3], lng + lngStep)) {
+                cells.add(GeoHash.encode(lat, lng, PRECISION));
+                if (lng == box[3]) {
+                    break;
+                }
+            }
+            if (lat == box[1]) {
+                break;
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.pashuRakshak.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Small ticks and a small wheel, so random deadlines spread over four or five
+ * levels and most timers are re-filed down at least once before firing.
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 16;
+    private static final long START = 1_000_003; // not on a tick boundary
+
+    @Test
+    void randomTimersFireOnceWithinOneTickOfTheirDeadline() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, START);
+        Random random = new Random(7);
+        int timers = 50_000;
+        long[] deadlines = new long[timers];
+        for (int i = 0; i < timers; i++) {
+            // Up to TICK * 16^4, four levels above the bottom one
+            deadlines[i] = START + TICK + (long) (random.nextDouble() * TICK * 65_536);
+            wheel.schedule(i, deadlines[i]);
+        }
+        assertThat(wheel.size()).isEqualTo(timers);
+
+        Map<Integer, Long> firedAt = new HashMap<>();
+        long last = deadlines[0];
+        for (long deadline : deadlines) {
+            last = Math.max(last, deadline);
+        }
+        // One tick per call, so a timer fired during a call fired at that tick
+        for (long now = START; now <= last + TICK; now += TICK) {
+            long time = now - now % TICK;
+            wheel.advance(now, i -> assertThat(firedAt.put(i, time)).as("timer %d fired twice", i).isNull());
+        }
+
+        assertThat(firedAt).hasSize(timers);
+        assertThat(wheel.size()).isZero();
+        for (int i = 0; i < timers; i++) {
+            assertThat(firedAt.get(i)).as("timer %d, deadline %d", i, deadlines[i])
+                    .isGreaterThan(deadlines[i] - TICK)
+                    .isLessThanOrEqualTo(deadlines[i]);
+        }
+    }
+
+    @Test
+    void timersFiledHighUpAreMovedDownAndFireOnTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, START);
+        // One each for the bottom wheel and the three above it
+        long[] offsets = { 55, 55 * 16, 55 * 256, 55 * 4096 };
+        for (long offset : offsets) {
+            wheel.schedule("+" + offset, START + offset);
+        }
+
+        List<String> fired = new ArrayList<>();
+        for (long offset : offsets) {
+            long deadline = START + offset;
+            // Nothing one tick before its bucket comes due...
+            wheel.advance(deadline - TICK - deadline % TICK, fired::add);
+            assertThat(fired).doesNotContain("+" + offset);
+            // ...and fired by the tick that covers its deadline
+            wheel.advance(deadline, fired::add);
+            assertThat(fired).endsWith("+" + offset);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, START);
+        Random random = new Random(11);
+        int timers = 50_000;
+        List<TimingWheel.Timeout<Integer>> timeouts = new ArrayList<>();
+        for (int i = 0; i < timers; i++) {
+            timeouts.add(wheel.schedule(i, START + TICK + (long) (random.nextDouble() * TICK * 65_536)));
+        }
+
+        Set<Integer> cancelled = new HashSet<>();
+        for (TimingWheel.Timeout<Integer> timeout : timeouts) {
+            if (random.nextBoolean()) {
+                assertThat(timeout.cancel()).isTrue();
+                assertThat(timeout.cancel()).isFalse();
+                cancelled.add(timeout.getPayload());
+            }
+        }
+        assertThat(wheel.size()).isEqualTo(timers - cancelled.size());
+
+        // Half way, cancel some more; some of them will have fired already
+        Set<Integer> fired = new HashSet<>();
+        wheel.advance(START + TICK * 32_768, fired::add);
+        for (TimingWheel.Timeout<Integer> timeout : timeouts) {
+            if (!cancelled.contains(timeout.getPayload()) && random.nextInt(4) == 0) {
+                boolean wasPending = timeout.cancel();
+                assertThat(wasPending).isNotEqualTo(fired.contains(timeout.getPayload()));
+                if (wasPending) {
+                    cancelled.add(timeout.getPayload());
+                }
+            }
+        }
+        wheel.advance(START + TICK * 65_537, fired::add);
+
+        assertThat(fired).doesNotContainAnyElementsOf(cancelled);
+        assertThat(fired.size() + cancelled.size()).isEqualTo(timers);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void overdueDeadlinesFireOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, START);
+        long now = START - START % TICK + TICK * 1000;
+        wheel.advance(now, s -> { });
+
+        wheel.schedule("long overdue", now - TICK * 5000);
+        wheel.schedule("due now", now);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(now + TICK - 1, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advance(now + TICK, fired::add);
+        assertThat(fired).containsExactlyInAnyOrder("long overdue", "due now");
+    }
+
+    @Test
+    void aLargeClockJumpFiresEverythingDueAndNothingElse() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, START);
+        for (long offset = 100; offset <= 200_000; offset += 100) {
+            wheel.schedule(offset, START + offset);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(START + 100_000, fired::add);
+
+        assertThat(fired).hasSize(1000).allMatch(offset -> offset <= 100_000);
+        assertThat(wheel.size()).isEqualTo(1000);
+    }
+}
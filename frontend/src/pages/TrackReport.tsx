@@ -164,9 +164,9 @@ const TrackReport: React.FC = () => {
       toast.success(`Case assigned to ${selectedWorker.fullName}`);
       closeAssignModal();
       fetchReports();
-    } catch (error) {
+    } catch (error: any) {
       console.error('Failed to assign worker:', error);
-      toast.error('Failed to assign worker to case');
+      toast.error(error.response?.data?.error || 'Failed to assign worker to case');
     } finally {
       setIsAssigning(false);
     }
@@ -313,6 +313,11 @@ const TrackReport: React.FC = () => {
                             <p className="text-xs text-slate-400 mt-0.5 truncate max-w-[250px]">
                               {report.condition || getStatusText(report.status)}
                             </p>
+                            {report.duplicateOf && (
+                              <p className="text-xs text-amber-600 mt-0.5">
+                                Linked to case {report.duplicateOf}
+                              </p>
+                            )}
                           </div>
                         </div>
 
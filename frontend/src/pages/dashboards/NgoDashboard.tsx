@@ -1,5 +1,5 @@
 
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import {
   CheckCircle,
   AlertTriangle,
@@ -12,7 +12,7 @@ import LoadingSpinner from '../../components/common/LoadingSpinner';
 import { useAuth } from '../../context/AuthContext';
 import { reportsAPI, ngoAPI } from '../../utils/api';
 import toast from 'react-hot-toast';
-import type { AnimalReport, NGO } from '../../types';
+import type { AnimalReport, AvailableReportDelta, NGO } from '../../types';
 import { MapContainer, TileLayer, Marker, Popup, ZoomControl, Polyline } from 'react-leaflet';
 import 'leaflet/dist/leaflet.css';
 import L from 'leaflet';
@@ -63,6 +63,8 @@ const NgoDashboard: React.FC = () => {
   });
   const [ngoInfo, setNgoInfo] = useState<NGO | null>(null);
   const [acceptingReportId, setAcceptingReportId] = useState<number | null>(null);
+  // Sequence of the last available-reports delta applied (or of the snapshot)
+  const availableSequence = useRef<number | null>(null);
 
   // Draggable panel state - default at 30% top, 40% left
   const [panelPosition, setPanelPosition] = useState({ x: 0.4, y: 0.3 });
@@ -112,6 +114,48 @@ const NgoDashboard: React.FC = () => {
     };
   }, [inProgressReports]);
 
+  // Keep the available list live from the shared delta feed instead of re-polling it
+  useEffect(() => {
+    if (loading || !socketService.isConnected()) {
+      return;
+    }
+
+    const sub = socketService.subscribe('/topic/reports/available', (delta: AvailableReportDelta) => {
+      const seen = availableSequence.current;
+      if (seen === null || delta.sequence <= seen) {
+        return; // already part of the snapshot
+      }
+      if (delta.sequence > seen + 1) {
+        // Missed a delta: resync from a fresh snapshot, ignoring deltas until it lands
+        availableSequence.current = null;
+        loadDashboardData();
+        return;
+      }
+      availableSequence.current = delta.sequence;
+      setAvailableReports(prev => {
+        if (!delta.report) {
+          return prev.filter(r => r.id !== delta.reportId);
+        }
+        const updated = delta.report;
+        return prev.some(r => r.id === updated.id)
+          ? prev.map(r => (r.id === updated.id ? updated : r))
+          : [updated, ...prev];
+      });
+    });
+
+    return () => {
+      try {
+        sub?.unsubscribe();
+      } catch (e) {
+        // Ignore unsubscribe errors
+      }
+    };
+  }, [loading]);
+
+  useEffect(() => {
+    setStats(prev => ({ ...prev, available: availableReports.length }));
+  }, [availableReports]);
+
   useEffect(() => {
     if (user) {
       loadDashboardData();
@@ -131,11 +175,13 @@ const NgoDashboard: React.FC = () => {
         }
       }
 
-      const [available, assigned] = await Promise.all([
-        reportsAPI.getAvailableReports(),
+      const [snapshot, assigned] = await Promise.all([
+        reportsAPI.getAvailableReportsSnapshot(),
         user?.ngoId ? reportsAPI.getReportsByNgo(user.ngoId) : Promise.resolve([]),
       ]);
 
+      const available = snapshot.reports;
+      availableSequence.current = snapshot.sequence;
       setAvailableReports(available);
 
       // Filter resolved cases
@@ -187,9 +233,15 @@ const NgoDashboard: React.FC = () => {
       toast.success(`Case #${report.trackingId} accepted! Go to Track My Cases to assign a worker.`);
       // Refresh dashboard data
       loadDashboardData();
-    } catch (error) {
+    } catch (error: any) {
       console.error('Failed to accept case:', error);
-      toast.error('Failed to accept case');
+      if (error.response?.status === 409) {
+        // Someone else claimed it first; refresh so the card disappears
+        toast.error(error.response?.data?.error || 'Case is no longer available');
+        loadDashboardData();
+      } else {
+        toast.error('Failed to accept case');
+      }
     } finally {
       setAcceptingReportId(null);
     }
@@ -64,9 +64,14 @@ const WorkerDashboard: React.FC = () => {
                 (position) => {
                     const { latitude, longitude } = position.coords;
                     setWorkerLocation({ lat: latitude, lng: longitude });
-                    tasks.filter(t => t.status !== 'CASE_RESOLVED').forEach(task => {
+                    const openTasks = tasks.filter(t => t.status !== 'CASE_RESOLVED');
+                    if (openTasks.length === 0) {
+                        // No case to follow, but the NGO can still see who is nearest for the next one
+                        socketService.send('/app/location.update', { latitude, longitude });
+                    }
+                    openTasks.forEach(task => {
                         socketService.send('/app/location.update', {
-                            trackingId: task.trackingId, workerId: user.id, latitude, longitude
+                            trackingId: task.trackingId, latitude, longitude
                         });
                     });
                 },
@@ -70,6 +70,8 @@ export interface AnimalReport {
     assignedNgo?: string;
     assignedWorkerId?: number;
     assignedWorkerName?: string;
+    // Set when the report was linked to an existing case for the same incident
+    duplicateOf?: string;
 }
 
 export type ReportStatus =
@@ -80,6 +82,50 @@ export type ReportStatus =
     | 'ANIMAL_RESCUED'
     | 'CASE_RESOLVED';
 
+// One status transition of a report, as listed by /reports/track/{trackingId}/timeline
+export interface ReportStatusChange {
+    id: number;
+    trackingId: string;
+    status: ReportStatus;
+    statusDisplayName: string;
+    changedAt: string;
+    assignedNgoId?: number;
+    assignedWorkerId?: number;
+}
+
+// Snapshot of reports open for NGOs; apply AvailableReportDelta with a higher sequence on top
+export interface AvailableReportsSnapshot {
+    sequence: number;
+    reports: AnimalReport[];
+}
+
+// A worker with a recent known position, from /reports/{trackingId}/nearest-workers
+export interface NearbyWorker {
+    workerId: number;
+    name: string;
+    latitude: number;
+    longitude: number;
+    distanceKm: number;
+    lastSeenAt: string;
+}
+
+// A new case offered to one NGO on /topic/ngos/{ngoId}/offers; rank 1 is the best placed
+export interface DispatchOffer {
+    ngoId: number;
+    rank: number;
+    distanceKm: number;
+    openCases: number;
+    report: AnimalReport;
+}
+
+export interface AvailableReportDelta {
+    sequence: number;
+    type: 'ADDED' | 'UPDATED' | 'REMOVED';
+    reportId: number;
+    trackingId: string;
+    report: AnimalReport | null;
+}
+
 export interface ReportRequest {
     animalType: string;
     condition: string;
@@ -5,7 +5,10 @@ import type {
   JwtResponse,
 
   AnimalReport,
+  AvailableReportsSnapshot,
   ReportRequest,
+  ReportStatusChange,
+  NearbyWorker,
   NGO,
   UpdateUserRequest,
   ChangePasswordRequest,
@@ -138,10 +141,21 @@ export const userAPI = {
 
 // Reports API
 export const reportsAPI = {
-  createReport: async (data: ReportRequest): Promise<AnimalReport> => {
+  // Sent with an Idempotency-Key, so if the connection drops before the answer
+  // arrives the retry returns the report already filed instead of a duplicate
+  createReport: async (data: ReportRequest, idempotencyKey: string = crypto.randomUUID()): Promise<AnimalReport> => {
     console.log(data);
-    const response = await api.post('/reports', data);
-    return response.data;
+    const config = { headers: { 'Idempotency-Key': idempotencyKey } };
+    try {
+      const response = await api.post('/reports', data, config);
+      return response.data;
+    } catch (error: any) {
+      if (error.response) {
+        throw error;
+      }
+      const response = await api.post('/reports', data, config);
+      return response.data;
+    }
   },
 
   trackReport: async (trackingId: string): Promise<AnimalReport> => {
@@ -149,6 +163,21 @@ export const reportsAPI = {
     return response.data;
   },
 
+  getReportTimeline: async (trackingId: string): Promise<ReportStatusChange[]> => {
+    const response = await api.get(`/reports/track/${trackingId}/timeline`);
+    return response.data;
+  },
+
+  // Live updates instead of polling trackReport. EventSource reconnects on its
+  // own and resumes from the last event id; call close() on the result when done.
+  subscribeToReport: (trackingId: string, onUpdate: (report: AnimalReport) => void): EventSource => {
+    const source = new EventSource(`${API_BASE_URL}/reports/track/${trackingId}/events`);
+    source.addEventListener('report', (event) => {
+      onUpdate(JSON.parse((event as MessageEvent).data));
+    });
+    return source;
+  },
+
   getAllReports: async (): Promise<AnimalReport[]> => {
     const response = await api.get('/reports');
     return response.data;
@@ -159,6 +188,12 @@ export const reportsAPI = {
     return response.data;
   },
 
+  // Available reports plus the sequence of the /topic/reports/available delta feed
+  getAvailableReportsSnapshot: async (): Promise<AvailableReportsSnapshot> => {
+    const response = await api.get('/reports/available/snapshot');
+    return response.data;
+  },
+
   getReportsByNgo: async (ngoId: number): Promise<AnimalReport[]> => {
     const response = await api.get(`/reports/ngo/${ngoId}`);
     return response.data;
@@ -180,6 +215,12 @@ export const reportsAPI = {
     return response.data;
   },
 
+  // The handling NGO's workers, nearest to the report first by last known position
+  getNearestWorkers: async (trackingId: string, limit: number = 5): Promise<NearbyWorker[]> => {
+    const response = await api.get(`/reports/${trackingId}/nearest-workers?limit=${limit}`);
+    return response.data;
+  },
+
   getWorkerTasks: async (workerId: number): Promise<AnimalReport[]> => {
     const response = await api.get(`/reports/worker/${workerId}/tasks`);
     return response.data;
@@ -210,8 +251,13 @@ export const ngoAPI = {
     return response.data;
   },
 
-  getNearbyNgos: async (latitude: number, longitude: number, radius?: number): Promise<NGO[]> => {
-    const response = await api.get(`/ngos/nearby?latitude=${latitude}&longitude=${longitude}&radius=${radius || 0.1}`);
+  getNearbyNgos: async (latitude: number, longitude: number, radiusKm?: number): Promise<NGO[]> => {
+    const response = await api.get(`/ngos/nearby?latitude=${latitude}&longitude=${longitude}&radiusKm=${radiusKm || 10}`);
+    return response.data;
+  },
+
+  getNearestNgos: async (latitude: number, longitude: number, k?: number): Promise<NGO[]> => {
+    const response = await api.get(`/ngos/nearest?latitude=${latitude}&longitude=${longitude}&k=${k || 5}`);
     return response.data;
   },
 
@@ -309,6 +355,11 @@ export const adminAPI = {
     return response.data;
   },
 
+  searchReports: async (q: string, params?: { status?: string; from?: string; to?: string; page?: number; size?: number }): Promise<any> => {
+    const response = await api.get('/admin/reports/search', { params: { q, ...params } });
+    return response.data;
+  },
+
   // NGO Representative Management
   approveNgoRepresentative: async (userId: number): Promise<{ message: string }> => {
     const response = await api.post(`/admin/users/${userId}/approve-ngo`);
@@ -1,5 +1,6 @@
 import { Client, type StompSubscription } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
+import { getAuthToken } from './auth';
 
 // Use SockJS fallback if native WebSocket is not available or for better compatibility
 // Note: You might need to install sockjs-client: npm install sockjs-client @types/sockjs-client
@@ -17,6 +18,12 @@ class SocketService {
             reconnectDelay: 5000,
             heartbeatIncoming: 4000,
             heartbeatOutgoing: 4000,
+            // The server authenticates the STOMP CONNECT frame; read the token on every
+            // (re)connect so a fresh login is picked up
+            beforeConnect: () => {
+                const token = getAuthToken();
+                this.client.connectHeaders = token ? { Authorization: `Bearer ${token}` } : {};
+            },
         });
 
         this.client.onConnect = () => {